@@ -0,0 +1,117 @@
+package disjointset;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark that measures the throughput of {@link DisjointSet#find(int)} and
+ * {@link DisjointSet#combine(int, int)} for sets of 10^4 to 10^7 elements. The elements are
+ * combined along the edges of a random tree, in a random order, which is how the sets are used
+ * when a perfect maze is generated.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DisjointSetBenchmark {
+
+  private static final int FIND_OPERATIONS = 1 << 16;
+
+  @Param({"10000", "100000", "1000000", "10000000"})
+  public int size;
+
+  private int[] leftCells;
+
+  private int[] rightCells;
+
+  private int[] findCells;
+
+  private DisjointSet combinedSet;
+
+  /**
+   * Creates the edges of a random tree over all the elements and a set in which all of them
+   * have been combined.
+   */
+  @Setup
+  public void setUp() {
+    Random random = new Random(size);
+    int[] order = new int[size];
+    for (int ii = 0; ii < size; ii++) {
+      order[ii] = ii;
+    }
+    for (int ii = size - 1; ii > 0; ii--) {
+      int swapIndex = random.nextInt(ii + 1);
+      int temp = order[ii];
+      order[ii] = order[swapIndex];
+      order[swapIndex] = temp;
+    }
+    this.leftCells = new int[size - 1];
+    this.rightCells = new int[size - 1];
+    for (int ii = 1; ii < size; ii++) {
+      this.leftCells[ii - 1] = order[ii];
+      this.rightCells[ii - 1] = order[random.nextInt(ii)];
+    }
+    for (int ii = size - 2; ii > 0; ii--) {
+      int swapIndex = random.nextInt(ii + 1);
+      int temp = this.leftCells[ii];
+      this.leftCells[ii] = this.leftCells[swapIndex];
+      this.leftCells[swapIndex] = temp;
+      temp = this.rightCells[ii];
+      this.rightCells[ii] = this.rightCells[swapIndex];
+      this.rightCells[swapIndex] = temp;
+    }
+    this.findCells = new int[FIND_OPERATIONS];
+    for (int ii = 0; ii < FIND_OPERATIONS; ii++) {
+      this.findCells[ii] = random.nextInt(size);
+    }
+    this.combinedSet = combineAll();
+  }
+
+  private DisjointSet combineAll() {
+    DisjointSet disjointSet = new DisjointSet(size);
+    for (int ii = 0; ii < this.leftCells.length; ii++) {
+      disjointSet.combine(this.leftCells[ii], this.rightCells[ii]);
+    }
+    return disjointSet;
+  }
+
+  /**
+   * Finds the parent of random elements in a set in which all the elements are combined.
+   * @return sum of the parents found
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @OperationsPerInvocation(FIND_OPERATIONS)
+  public long find() {
+    long sum = 0;
+    for (int cell : this.findCells) {
+      sum += this.combinedSet.find(cell);
+    }
+    return sum;
+  }
+
+  /**
+   * Combines all the elements of a new set into a single set, which takes one call to
+   * {@link DisjointSet#combine(int, int)} for every element but one.
+   * @return the set with all elements combined
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public DisjointSet combine() {
+    return combineAll();
+  }
+}
@@ -0,0 +1,41 @@
+package driver;
+
+import java.io.IOException;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks with the GC profiler, so the memory allocated by every operation is
+ * reported next to its time. The arguments are the usual JMH arguments, for example a pattern
+ * matching the names of the benchmarks to run, or {@code -p size=100} to run them on one size.
+ * Arguments that only list or describe, such as {@code -l} or {@code -h}, are handled by JMH
+ * itself and run no benchmark.
+ */
+public class BenchmarkDriver {
+
+  /**
+   * Runs the benchmarks.
+   * @param args arguments passed on to JMH
+   * @throws CommandLineOptionException thrown when the arguments are not valid JMH arguments
+   * @throws RunnerException thrown when a benchmark fails
+   * @throws IOException thrown when JMH can't write a listing
+   */
+  public static void main(String[] args) throws CommandLineOptionException, RunnerException,
+          IOException {
+    CommandLineOptions options = new CommandLineOptions(args);
+    if (options.shouldHelp() || options.shouldList() || options.shouldListWithParams()
+            || options.shouldListProfilers() || options.shouldListResultFormats()) {
+      Main.main(args);
+      return;
+    }
+    new Runner(new OptionsBuilder()
+            .parent(options)
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+  }
+}
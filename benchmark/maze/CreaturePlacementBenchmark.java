@@ -0,0 +1,111 @@
+package maze;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mazecreatures.CreatureType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import player.PlayerKilledException;
+
+/**
+ * JMH benchmark that measures the time taken to place the Wumpus, bats, pits and the player in
+ * a maze of up to 10^6 rooms. Placing creatures changes the maze, so every iteration places
+ * them once in a new maze whose walls are already removed. The benchmark {@code removeFromList}
+ * picks the same number of cells by removing them from a list one at a time, which is how the
+ * cells were picked before, for comparison.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CreaturePlacementBenchmark {
+
+  @Param({"100", "1000"})
+  public int size;
+
+  @Param({"10", "50", "90"})
+  public int percentage;
+
+  private Map<CreatureType, Integer> percentages;
+
+  private PlacementMaze maze;
+
+  private List<Cell> availableCells;
+
+  private Random generator;
+
+  /**
+   * A maze whose walls are removed without adding creatures, so that the creatures can be
+   * added by the benchmark.
+   */
+  private static final class PlacementMaze extends AbstractMaze {
+
+    private PlacementMaze(int size) {
+      super(new Random(size), new Random(size + 1), new Random(size + 2), size, size, 1);
+      initWallsForMaze();
+    }
+  }
+
+  /**
+   * Creates a new maze, removes its walls and copies its cells that are not tunnels.
+   * @throws PlayerKilledException never, no creatures are added
+   */
+  @Setup(Level.Iteration)
+  public void setUp() throws PlayerKilledException {
+    this.percentages = new LinkedHashMap<>();
+    this.percentages.put(CreatureType.BAT, percentage);
+    this.percentages.put(CreatureType.PIT, percentage);
+    this.maze = new PlacementMaze(size);
+    this.maze.removeWalls(null, 1);
+    this.availableCells = new ArrayList<>(this.maze.getNonTunnelCells());
+    this.generator = new Random(size);
+  }
+
+  /**
+   * Adds the creatures and the player to the maze.
+   * @return the maze
+   */
+  @Benchmark
+  public IMaze addCreatures() {
+    try {
+      this.maze.addCreaturesToCells(this.percentages, 1);
+    } catch (PlayerKilledException exception) {
+      // The player was placed, which is all that is measured.
+    }
+    return this.maze;
+  }
+
+  /**
+   * Picks as many cells as there are bats and pits by removing them from a copy of the list of
+   * the cells for every type of creature.
+   * @return the last cell picked
+   */
+  @Benchmark
+  public Cell removeFromList() {
+    Cell chosenCell = null;
+    for (int creaturePercentage : this.percentages.values()) {
+      List<Cell> cells = new ArrayList<>(this.availableCells);
+      int count = cells.size() * creaturePercentage / MazeUtils.MAX_PERCENT;
+      for (int ii = 0; ii < count; ii++) {
+        chosenCell = cells.remove(this.generator.nextInt(cells.size()));
+      }
+    }
+    return chosenCell;
+  }
+}
@@ -0,0 +1,117 @@
+package maze;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark that compares the maze generation algorithms on square grids. Every invocation
+ * generates a new perfect maze and counts the openings of every cell. Besides the time taken,
+ * the benchmark reports the number of cells and the number of those cells that are tunnels, which
+ * are the cells with exactly two openings, so the tunnel density of an algorithm is
+ * {@code tunnelCells / cells}. The allocation rate is measured by running the benchmark with
+ * the GC profiler, {@code -prof gc}.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MazeGeneratorBenchmark {
+
+  @Param({"kruskal", "backtracker", "wilson", "sidewinder"})
+  public String algorithm;
+
+  @Param({"100", "1000"})
+  public int size;
+
+  private IMazeGenerator generator;
+
+  private Random wallGenerator;
+
+  private int[] cellOpenings;
+
+  /**
+   * The cells counted in an iteration, reported next to the time taken.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class TunnelCounters {
+
+    public long cells;
+
+    public long tunnelCells;
+
+    /**
+     * Clears the counts before every iteration.
+     */
+    @Setup(Level.Iteration)
+    public void clear() {
+      this.cells = 0;
+      this.tunnelCells = 0;
+    }
+  }
+
+  /**
+   * Creates the generator of the algorithm benchmarked.
+   */
+  @Setup
+  public void setUp() {
+    switch (algorithm) {
+      case "kruskal":
+        this.generator = new KruskalMazeGenerator();
+        break;
+      case "backtracker":
+        this.generator = new RecursiveBacktrackerMazeGenerator();
+        break;
+      case "wilson":
+        this.generator = new WilsonMazeGenerator();
+        break;
+      case "sidewinder":
+        this.generator = new SidewinderMazeGenerator();
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown algorithm " + algorithm);
+    }
+    this.wallGenerator = new Random(size);
+    this.cellOpenings = new int[size * size];
+  }
+
+  /**
+   * Generates a perfect maze and counts its tunnels.
+   * @param counters counts of the cells and the tunnels generated
+   * @return the openings of every cell
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int[] generate(TunnelCounters counters) {
+    int[] openings = this.cellOpenings;
+    Arrays.fill(openings, 0);
+    this.generator.generateMaze(size, size, this.wallGenerator, wall -> {
+      int cell = AbstractMazeGenerator.getWallCellIndex(size, size, wall);
+      openings[cell] += 1;
+      openings[AbstractMazeGenerator.isVerticalWall(size, size, wall) ? cell + 1
+              : cell + size] += 1;
+    });
+    for (int cellOpening : openings) {
+      if (cellOpening == 2) {
+        counters.tunnelCells += 1;
+      }
+    }
+    counters.cells += openings.length;
+    return openings;
+  }
+}
@@ -0,0 +1,120 @@
+package maze;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mazecreatures.CreatureType;
+import mazeexceptions.RecoverableException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import player.PlayerKilledException;
+
+/**
+ * JMH benchmark that measures the checks made on every turn of a game and the movement of the
+ * player. The maze has no bats or pits, and the player never moves into the room of the Wumpus,
+ * so the game goes on for as long as the benchmark runs. Shooting arrows is measured by
+ * {@link ShootArrowBenchmark}.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlayerActionBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int size;
+
+  private IMaze maze;
+
+  private Random generator;
+
+  private int[] rooms;
+
+  private int checkedRoom;
+
+  /**
+   * Generates a maze in which the player can move away from the first room without meeting the
+   * Wumpus, and finds the rooms of the maze.
+   */
+  @Setup(Level.Iteration)
+  public void setUp() {
+    Map<CreatureType, Integer> percentages = new LinkedHashMap<>();
+    percentages.put(CreatureType.BAT, 0);
+    percentages.put(CreatureType.PIT, 0);
+    for (long seed = 0; this.maze == null; seed++) {
+      MazeSpec spec = new MazeSpec(size, size, (size - 1) * (size - 1) / 10, 0, 1, percentages,
+              3, seed, seed + 1, seed + 2);
+      GeneratedMaze generated = MazeFactory.generateMaze(spec);
+      if (generated.isPlayerKilled()) {
+        continue;
+      }
+      IMaze candidate = generated.getMaze();
+      int cell = candidate.getActivePlayerCellIndex();
+      if (candidate.getValidDirectionsForMovement().stream().anyMatch(direction ->
+              !candidate.resultingCellHasCreature(cell, direction, CreatureType.WUMPUS, 2))) {
+        this.maze = candidate;
+      }
+    }
+    this.rooms = this.maze.getNonTunnelCells().stream().mapToInt(room ->
+            room.getRowPosition() * size + room.getColumnPosition()).toArray();
+    this.generator = new Random(size);
+    this.checkedRoom = 0;
+  }
+
+  /**
+   * Forgets the maze so that a new one is generated for the next iteration.
+   */
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    this.maze = null;
+  }
+
+  /**
+   * Moves the player to a room next to the current room that does not have the Wumpus. There is
+   * always such a room, since the player can walk back to the room it came from.
+   * @return the position of the player
+   * @throws PlayerKilledException never, the player does not meet the Wumpus
+   * @throws RecoverableException never, the player only walks in valid directions
+   */
+  @Benchmark
+  public int move() throws PlayerKilledException, RecoverableException {
+    List<Direction> directions = this.maze.getValidDirectionsForMovement();
+    int cell = this.maze.getActivePlayerCellIndex();
+    int first = this.generator.nextInt(directions.size());
+    for (int ii = 0; ii < directions.size(); ii++) {
+      Direction direction = directions.get((first + ii) % directions.size());
+      if (!this.maze.resultingCellHasCreature(cell, direction, CreatureType.WUMPUS, 2)) {
+        this.maze.movePlayerInDirection(direction);
+        break;
+      }
+    }
+    return this.maze.getActivePlayerCellIndex();
+  }
+
+  /**
+   * Checks whether the rooms next to a room have the Wumpus, going through every room of the
+   * maze in turn, the way the smell of the Wumpus is checked on every turn.
+   * @return true if the Wumpus is next to the room
+   */
+  @Benchmark
+  public boolean checkAdjacentCells() {
+    int room = this.rooms[this.checkedRoom];
+    this.checkedRoom = (this.checkedRoom + 1) % this.rooms.length;
+    return this.maze.checkCreatureInAdjacentCells(room, CreatureType.WUMPUS, null);
+  }
+}
@@ -0,0 +1,81 @@
+package maze;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mazecreatures.CreatureType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import player.PlayerKilledException;
+
+/**
+ * JMH benchmark that measures the time taken by {@link IMaze#removeWalls(Map, int)} on square
+ * grids, which generates the perfect maze, removes the extra walls and adds the creatures and
+ * the player. Walls can be removed only once from a maze, so every iteration removes them from a
+ * new maze created during the setup. A tenth of the walls left in the perfect maze are removed
+ * as extra walls, so the maze has rooms as well as tunnels.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RemoveWallsBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int size;
+
+  @Param({"false", "true"})
+  public boolean wrapping;
+
+  private Map<CreatureType, Integer> percentages;
+
+  private IMaze maze;
+
+  private int iteration;
+
+  /**
+   * Creates the maze whose walls are removed in the next iteration.
+   */
+  @Setup(Level.Iteration)
+  public void setUp() {
+    this.percentages = new LinkedHashMap<>();
+    this.percentages.put(CreatureType.BAT, 20);
+    this.percentages.put(CreatureType.PIT, 10);
+    int extraWalls = (size - 1) * (size - 1) / 10;
+    this.iteration++;
+    if (wrapping) {
+      this.maze = new WrappingRoomMaze(new Random(iteration), new Random(iteration + 1),
+              new Random(iteration + 2), size, size, extraWalls, size, 1);
+    } else {
+      this.maze = new NonWrappingRoomMaze(new Random(iteration), new Random(iteration + 1),
+              new Random(iteration + 2), size, size, extraWalls, 1);
+    }
+  }
+
+  /**
+   * Removes the walls of the maze and adds the creatures and the player to it.
+   * @return the maze
+   */
+  @Benchmark
+  public IMaze removeWalls() {
+    try {
+      this.maze.removeWalls(this.percentages, 3);
+    } catch (PlayerKilledException exception) {
+      // The walls were removed and the player was placed, which is all that is measured.
+    }
+    return this.maze;
+  }
+}
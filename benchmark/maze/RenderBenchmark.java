@@ -0,0 +1,90 @@
+package maze;
+
+import java.awt.Image;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import graph.MazePoint;
+import mazecreatures.CreatureType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import player.MazePlayer;
+
+/**
+ * JMH benchmark that measures the time taken to render a whole maze, as ASCII art by
+ * {@link MazeUtils#render(int, java.util.function.IntFunction, List, boolean, Appendable)} and
+ * as images by {@link MazeUtils#renderImages(Cell[][], boolean, IMaze, List)}. The maze has bats
+ * and pits, and every cell is rendered with its creatures shown. The ASCII art is written into
+ * the same builder every time, so only the memory allocated by the rendering is counted by the
+ * GC profiler.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RenderBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int size;
+
+  private Cell[][] cells;
+
+  private IMaze maze;
+
+  private List<MazePlayer> players;
+
+  private StringBuilder text;
+
+  /**
+   * Generates the maze rendered and places a player in the first room of its player.
+   */
+  @Setup
+  public void setUp() {
+    Map<CreatureType, Integer> percentages = new LinkedHashMap<>();
+    percentages.put(CreatureType.BAT, 20);
+    percentages.put(CreatureType.PIT, 10);
+    MazeSpec spec = new MazeSpec(size, size, (size - 1) * (size - 1) / 10, 0, 1, percentages, 3,
+            size, size + 1, size + 2);
+    this.maze = MazeFactory.generateMaze(spec).getMaze();
+    this.cells = ((AbstractMaze) this.maze).cells;
+    MazePoint position = this.maze.getActivePlayerCoordinates();
+    this.players = Collections.singletonList(new MazePlayer(position.getXCoordinate(),
+            position.getYCoordinate(), 3, 0));
+    this.text = new StringBuilder();
+  }
+
+  /**
+   * Renders the maze as ASCII art.
+   * @return the builder the maze was written into
+   * @throws IOException never, the maze is written into a builder
+   */
+  @Benchmark
+  public StringBuilder render() throws IOException {
+    this.text.setLength(0);
+    MazeUtils.render(this.cells.length, row -> this.cells[row], this.players, true, this.text);
+    return this.text;
+  }
+
+  /**
+   * Renders the maze as images.
+   * @return the images of the cells
+   */
+  @Benchmark
+  public Image[][] renderImages() {
+    return MazeUtils.renderImages(this.cells, true, this.maze, this.players);
+  }
+}
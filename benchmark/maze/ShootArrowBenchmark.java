@@ -0,0 +1,102 @@
+package maze;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import mazecreatures.CreatureType;
+import mazeexceptions.RecoverableException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import player.PlayerKilledException;
+import player.PlayerKillsWumpusException;
+
+/**
+ * JMH benchmark that measures the time taken to shoot an arrow with different powers. The arrow
+ * travels through as many rooms as its power, following the tunnels on the way. The arrows are
+ * shot from the first room of the player in the directions in which they miss the Wumpus, so the
+ * game goes on for as long as the benchmark runs. The player is given more arrows than can be
+ * shot in an iteration, and a new maze is generated for every iteration.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ShootArrowBenchmark {
+
+  @Param({"100", "1000"})
+  public int size;
+
+  @Param({"1", "3", "5"})
+  public int power;
+
+  private IMaze maze;
+
+  private Direction[] directions;
+
+  private int shotCount;
+
+  /**
+   * Generates a maze in which the player can shoot an arrow with the power benchmarked from the
+   * first room without killing the Wumpus.
+   */
+  @Setup(Level.Iteration)
+  public void setUp() {
+    Map<CreatureType, Integer> percentages = new LinkedHashMap<>();
+    percentages.put(CreatureType.BAT, 0);
+    percentages.put(CreatureType.PIT, 0);
+    for (long seed = 0; this.maze == null; seed++) {
+      MazeSpec spec = new MazeSpec(size, size, (size - 1) * (size - 1) / 10, 0, 1, percentages,
+              Integer.MAX_VALUE, seed, seed + 1, seed + 2);
+      GeneratedMaze generated = MazeFactory.generateMaze(spec);
+      if (generated.isPlayerKilled()) {
+        continue;
+      }
+      IMaze candidate = generated.getMaze();
+      int cell = candidate.getActivePlayerCellIndex();
+      Direction[] missingDirections = candidate.getValidDirectionsForMovement().stream()
+              .filter(direction -> !candidate.resultingCellHasCreature(cell, direction,
+                      CreatureType.WUMPUS, power + 1)).toArray(Direction[]::new);
+      if (missingDirections.length > 0) {
+        this.maze = candidate;
+        this.directions = missingDirections;
+      }
+    }
+    this.shotCount = 0;
+  }
+
+  /**
+   * Forgets the maze so that a new one is generated for the next iteration.
+   */
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    this.maze = null;
+  }
+
+  /**
+   * Shoots an arrow from the room of the player in one of the directions that miss the Wumpus.
+   * @return true if the Wumpus was killed, which never happens
+   * @throws PlayerKilledException never, the player has enough arrows
+   * @throws PlayerKillsWumpusException never, the arrows miss the Wumpus
+   * @throws RecoverableException never, the arrows are only shot in valid directions
+   */
+  @Benchmark
+  public boolean shoot() throws PlayerKilledException, PlayerKillsWumpusException,
+          RecoverableException {
+    Direction direction = this.directions[this.shotCount];
+    this.shotCount = (this.shotCount + 1) % this.directions.length;
+    return this.maze.shootArrow(this.maze.getActivePlayerCellIndex(), direction, power);
+  }
+}
@@ -8,6 +8,8 @@ public class DisjointSet {
 
   private final int[] cellParent;
 
+  private int unsetParentCellCount;
+
   /**
    * Creates an object which stores the relationship between a node and the group that is belongs
    * to in Kruskal's modified perfect maze generation algorithm.
@@ -23,52 +25,61 @@ public class DisjointSet {
     for (int i = 0; i < k; i++) {
       this.cellParent[i] = -1;
     }
+    this.unsetParentCellCount = k;
   }
 
   /**
-   * Returns number of cells with no parents.
+   * Returns number of cells with no parents, which is the number of disjoint sets. The count is
+   * kept up to date as sets are combined.
    * @return number of cells without parents
    */
   public int getUnsetParentCellCount() {
-    int count = 0;
-    for (int i = 0; i < this.cellParent.length; i++) {
-      if (this.cellParent[i] < 0) {
-        count++;
-      }
-    }
-    return count;
+    return this.unsetParentCellCount;
   }
 
   /**
-   * Finds a parent of a particular node in the maze.
+   * Finds a parent of a particular node in the maze. Every node on the way to the parent is
+   * linked directly to the parent, so later calls for these nodes take a single step.
    * @param i the node whose parent has to be found
-   * @return
+   * @return the node without a parent which the given node belongs to
    */
   public int find(int i) {
-    if (this.cellParent[i] < 0) {
-      return i;
+    int root = i;
+    while (this.cellParent[root] >= 0) {
+      root = this.cellParent[root];
+    }
+    while (this.cellParent[i] >= 0) {
+      int parent = this.cellParent[i];
+      this.cellParent[i] = root;
+      i = parent;
     }
-    this.cellParent[i] = this.find(this.cellParent[i]);
-    return this.cellParent[i];
+    return root;
   }
 
   /**
-   * Combines two disjoint cells to have a same parent.
+   * Combines two disjoint cells to have a same parent. The parent of the smaller set is set to
+   * the parent of the larger set.
    * @param leftCell the first node to be combined
    * @param rightCell the second node to be combined
+   * @return true if the cells belonged to different sets, false if they already had the same
+   *         parent
    */
-  public void combine(int leftCell, int rightCell) {
+  public boolean combine(int leftCell, int rightCell) {
     int leftRootCell = this.find(leftCell);
     int rightRootCell = this.find(rightCell);
+    if (leftRootCell == rightRootCell) {
+      return false;
+    }
     int leftWeight = this.cellParent[leftRootCell];
     int rightWeight = this.cellParent[rightRootCell];
     if (leftWeight < rightWeight) {
-      this.cellParent[leftRootCell] = rightRootCell;
-      this.cellParent[rightRootCell] += leftWeight;
-    } else {
       this.cellParent[rightRootCell] = leftRootCell;
       this.cellParent[leftRootCell] += rightWeight;
+    } else {
+      this.cellParent[leftRootCell] = rightRootCell;
+      this.cellParent[rightRootCell] += leftWeight;
     }
+    this.unsetParentCellCount -= 1;
+    return true;
   }
 }
-
@@ -1,21 +1,39 @@
 package driver;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Random;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 import gamecontrollerdefault.IMazeController;
 import guicontroller.IMazeGUIController;
 import guicontroller.MazeGUIController;
+import textgamecontroller.BatchMazeController;
 import textgamecontroller.MazeController;
 import gamemodel.GameModel;
 import gamemodel.IGameModel;
 import maze.IMaze;
+import maze.MazeImageCache;
+import maze.MazeSpec;
 import maze.MazeUtils;
 import maze.NonWrappingRoomMaze;
 import maze.WrappingRoomMaze;
+import mazecreatures.CreatureType;
+import simulator.GameSimulator;
+import simulator.IAgentPolicy;
+import simulator.RandomAgentPolicy;
+import simulator.SensingAgentPolicy;
+import simulator.SimulationStats;
 import view.GUIView;
 import view.IView;
 
@@ -25,6 +43,10 @@ import view.IView;
  */
 public class Driver {
 
+  private static final String SIMULATION_USAGE = "Options of --simulate, all optional: "
+          + "rows=10 columns=10 internalWalls=10 borderWalls=0 pits=10 bats=20 arrows=3 "
+          + "games=10000 turns=500 policy=sensing|random shoot=10 threads=<processors> seed=1";
+
   private  Map<String, Runnable> commandLineMap;
 
   private static int readInt() {
@@ -66,17 +88,124 @@ public class Driver {
     }
   }
 
+  /**
+   * Plays the game in a script without prompts and writes the summary of the game. The turns are
+   * written as CSV in a file when one is given.
+   * @param script path of the script
+   * @param turnFile path of the CSV file of the turns, null when the turns are not written
+   */
+  private void executeBatchActions(String script, String turnFile) {
+    try (BufferedReader input = Files.newBufferedReader(Paths.get(script));
+         Writer turnLog = turnFile == null ? null
+                 : Files.newBufferedWriter(Paths.get(turnFile))) {
+      IMazeController controller = new BatchMazeController(input, System.out, turnLog,
+              new GameModel());
+      controller.start();
+    } catch (IOException exception) {
+      System.err.println("Batch run failed: " + exception);
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Plays many games of a maze configuration with an agent policy and prints their stats, which
+   * helps tuning the percentages of pits and bats. The options are given as name=value, the
+   * options left out take their default values shown in {@link #SIMULATION_USAGE}.
+   * @param options the options of the simulation
+   */
+  private void executeSimulationActions(String[] options) {
+    Map<String, String> values = new HashMap<>();
+    for (String option : options) {
+      int separator = option.indexOf('=');
+      if (separator <= 0) {
+        System.err.println("Invalid option " + option + "\n" + SIMULATION_USAGE);
+        System.exit(1);
+      }
+      values.put(option.substring(0, separator), option.substring(separator + 1));
+    }
+    try {
+      Map<CreatureType, Integer> percentages = new LinkedHashMap<>();
+      percentages.put(CreatureType.BAT, getOption(values, "bats", 20));
+      percentages.put(CreatureType.PIT, getOption(values, "pits", 10));
+      MazeSpec configuration = new MazeSpec(getOption(values, "rows", 10),
+              getOption(values, "columns", 10), getOption(values, "internalWalls", 10),
+              getOption(values, "borderWalls", 0), 1, percentages,
+              getOption(values, "arrows", 3), 0, 0, 0);
+      String policy = values.containsKey("policy") ? values.remove("policy") : "sensing";
+      Supplier<IAgentPolicy> policies;
+      if ("sensing".equals(policy)) {
+        policies = SensingAgentPolicy::new;
+      } else if ("random".equals(policy)) {
+        int shootPercentage = getOption(values, "shoot", 10);
+        // Checks the percentage before any game is played.
+        new RandomAgentPolicy(shootPercentage);
+        policies = () -> new RandomAgentPolicy(shootPercentage);
+      } else {
+        throw new IllegalArgumentException("Unknown policy " + policy);
+      }
+      int threads = getOption(values, "threads", Runtime.getRuntime().availableProcessors());
+      if (threads < 1) {
+        throw new IllegalArgumentException("Thread count can't be less than one");
+      }
+      int maxTurns = getOption(values, "turns", 500);
+      int gameCount = getOption(values, "games", 10000);
+      int firstSeed = getOption(values, "seed", 1);
+      if (!values.isEmpty()) {
+        throw new IllegalArgumentException("Unknown options " + values.keySet());
+      }
+      GameSimulator simulator = new GameSimulator(configuration, policies, maxTurns);
+      ForkJoinPool pool = new ForkJoinPool(threads);
+      try {
+        SimulationStats stats = simulator.simulate(firstSeed, gameCount, pool);
+        System.out.println(configuration);
+        System.out.println(stats);
+      } finally {
+        pool.shutdown();
+      }
+    } catch (IllegalArgumentException exception) {
+      System.err.println("Simulation failed: " + exception.getMessage() + "\n"
+              + SIMULATION_USAGE);
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Removes an option from the options given and returns its value.
+   * @param values the options given
+   * @param name the name of the option
+   * @param defaultValue value of the option when it is not given
+   * @return the value of the option
+   * @throws IllegalArgumentException thrown when the value is not a number
+   */
+  private static int getOption(Map<String, String> values, String name, int defaultValue)
+          throws IllegalArgumentException {
+    String value = values.remove(name);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException exception) {
+      throw new IllegalArgumentException("Option " + name + " is not a number: " + value);
+    }
+  }
+
   private void executeGUIActions() {
+    MazeImageCache.preloadImages();
     IGameModel model = new GameModel();
     IMazeGUIController controller = new MazeGUIController(model);
     IView view = new GUIView("Hunt the Wumpus Game", controller);
     controller.setView(view);
   }
 
-  private void initCommandLineMapper() {
+  private void initCommandLineMapper(String[] args) {
     commandLineMap = new HashMap<>();
     commandLineMap.put("--text", this::executeTextActions);
     commandLineMap.put("--gui", this::executeGUIActions);
+    commandLineMap.put("--batch", () -> executeBatchActions(args[1],
+            args.length > 2 ? args[2] : null));
+    commandLineMap.put("--simulate", () -> executeSimulationActions(
+            Arrays.copyOfRange(args, 1, args.length)));
   }
 
   private void execute(String action) {
@@ -92,12 +221,21 @@ public class Driver {
    * @param args the argument for the function
    */
   public static void main(String[] args) {
-    if (args != null && (args.length != 1)) {
-      System.err.println("Specify --text or --gui as the only argument for the program");
+    String mode = args != null && args.length > 0 ? args[0] : null;
+    boolean valid;
+    if ("--batch".equals(mode)) {
+      valid = args.length == 2 || args.length == 3;
+    } else {
+      valid = "--simulate".equals(mode) || (mode != null && args.length == 1);
+    }
+    if (!valid) {
+      System.err.println("Specify --text or --gui as the only argument for the program, "
+              + "--batch followed by a script and optionally a CSV file for the turns, or "
+              + "--simulate followed by its options");
       System.exit(1);
     }
     Driver driver = new Driver();
-    driver.initCommandLineMapper();
+    driver.initCommandLineMapper(args);
     driver.execute(args[0]);
   }
 }
@@ -1,12 +1,14 @@
 package gamemodel;
 
 import java.awt.Image;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
 import graph.MazePoint;
 import maze.Direction;
 import maze.IMaze;
+import maze.MazeViewport;
 import mazecreatures.CreatureType;
 import mazeexceptions.RecoverableException;
 import player.PlayerKilledException;
@@ -56,10 +58,46 @@ public class GameModel implements IGameModel {
     return this.maze.printMaze(showBarriers);
   }
 
+  @Override
+  public void printMaze(boolean showBarriers, Appendable out) throws IllegalStateException,
+          IOException {
+    if (isMazeNull()) {
+      throw new IllegalStateException("Maze is null in printMaze");
+    }
+    this.maze.printMaze(showBarriers, out);
+  }
+
+  @Override
+  public void printMaze(boolean showBarriers, MazeViewport viewport, Appendable out)
+          throws IllegalStateException, IOException {
+    if (isMazeNull()) {
+      throw new IllegalStateException("Maze is null in printMaze");
+    }
+    this.maze.printMaze(showBarriers, viewport, out);
+  }
+
   public Image[][] getImagesToDisplayInCells(boolean showBarriers) {
     return maze.getImagesToDisplayInCells(showBarriers);
   }
 
+  @Override
+  public Image[][] getImagesToDisplayInCells(boolean showBarriers, MazeViewport viewport)
+          throws IllegalStateException {
+    if (isMazeNull()) {
+      throw new IllegalStateException("Maze is null in getImagesToDisplayInCells");
+    }
+    return maze.getImagesToDisplayInCells(showBarriers, viewport);
+  }
+
+  @Override
+  public Map<MazePoint, Image> getChangedCellImages(boolean showBarriers)
+          throws IllegalStateException {
+    if (isMazeNull()) {
+      throw new IllegalStateException("Maze is null in getChangedCellImages");
+    }
+    return maze.getChangedCellImages(showBarriers);
+  }
+
   @Override
   public void removeWalls(Map<CreatureType, Integer> percentages, int totalPlayerArrows)
           throws UnsupportedOperationException, IllegalArgumentException,
@@ -92,8 +130,8 @@ public class GameModel implements IGameModel {
     if (isMazeNull()) {
       throw new IllegalStateException("Maze is null in checkCreatureInAdjacentCells");
     }
-    MazePoint playerPos = getActivePlayerCoordinates();
-    return this.maze.checkCreatureInAdjacentCells(playerPos, creatureType, null);
+    return this.maze.checkCreatureInAdjacentCells(maze.getActivePlayerCellIndex(), creatureType,
+            null);
   }
 
   @Override
@@ -102,8 +140,7 @@ public class GameModel implements IGameModel {
     if (isMazeNull()) {
       throw new IllegalStateException("Maze is null in shootArrow");
     }
-    MazePoint playerPos = getActivePlayerCoordinates();
-    return maze.shootArrow(playerPos, dir, power);
+    return maze.shootArrow(maze.getActivePlayerCellIndex(), dir, power);
   }
 
   @Override
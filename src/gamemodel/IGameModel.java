@@ -1,12 +1,14 @@
 package gamemodel;
 
 import java.awt.Image;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
 import graph.MazePoint;
 import maze.Direction;
 import maze.IMaze;
+import maze.MazeViewport;
 import mazecreatures.CreatureType;
 import mazeexceptions.RecoverableException;
 import player.PlayerKilledException;
@@ -31,6 +33,24 @@ public interface IGameModel {
    */
   String printMaze(boolean showBarriers);
 
+  /**
+   * Function that writes the maze along with the position of bats, pits & wumpus row by row.
+   * @param showBarriers show wumpus, bats, pit etc
+   * @param out where the view of maze is written
+   * @throws IOException thrown when writing fails
+   */
+  void printMaze(boolean showBarriers, Appendable out) throws IOException;
+
+  /**
+   * Function that writes the part of the maze inside a viewport row by row.
+   * @param showBarriers show wumpus, bats, pit etc
+   * @param viewport the part of the maze to be printed
+   * @param out where the view of maze is written
+   * @throws IOException thrown when writing fails
+   */
+  void printMaze(boolean showBarriers, MazeViewport viewport, Appendable out)
+          throws IOException;
+
   /**
    * Function used to generate a perfect maze by keeping only those edges that are necessary to make
    * the maze perfect.
@@ -121,6 +141,21 @@ public interface IGameModel {
    */
   Image[][] getImagesToDisplayInCells(boolean showBarriers);
 
+  /**
+   * Returns the images to be displayed at the cells inside a viewport.
+   * @param showBarriers shows pits, bats, wumpus in the cells if true
+   * @param viewport the part of the maze to be displayed
+   * @return images to be displayed at the cells in the viewport.
+   */
+  Image[][] getImagesToDisplayInCells(boolean showBarriers, MazeViewport viewport);
+
+  /**
+   * Returns the images of the cells that have changed since the images were last fetched.
+   * @param showBarriers shows pits, bats, wumpus in the cells if true
+   * @return images of the changed cells mapped by the position of the cell.
+   */
+  Map<MazePoint, Image> getChangedCellImages(boolean showBarriers);
+
   /**
    * Function returns true if game is complete. Game is complete when all players are dead
    * or wumpus is killed.
@@ -1,6 +1,7 @@
 package guicontroller;
 
 import maze.Direction;
+import replay.GameLog;
 import view.IView;
 
 /**
@@ -57,4 +58,10 @@ public interface IMazeGUIController {
    */
   void shootPlayerInDirection(Direction direction, int arrowPower);
 
+  /**
+   * Returns the log of the game being played, which records the commands carried out so far.
+   * @return the log of the game, null if no maze was created yet
+   */
+  GameLog getGameLog();
+
 }
@@ -1,49 +1,94 @@
 package guicontroller;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import javax.swing.SwingUtilities;
 
 import gamemodel.IGameModel;
 import maze.Direction;
-import maze.IMaze;
-import maze.NonWrappingRoomMaze;
-import maze.WrappingRoomMaze;
+import maze.GeneratedMaze;
+import maze.MazeFactory;
+import maze.MazeSpec;
 import mazecreatures.CreatureType;
+import replay.GameLog;
 import view.IView;
 
 /**
  * Class that is used to handle functionalities related to the controller that works with the view
  * that supports GUI and has a maze model. The controller offers various operations to the players
- * by using the view in MVC.
+ * by using the view in MVC. Mazes are generated by a {@link MazeFactory} away from the event
+ * thread and shown once they are ready.
+ *
+ * <p>Every game is recorded in a {@link GameLog}, which is written to a new file in the game log
+ * directory when the game ends, or when a new maze is shown before a game that was played
+ * ended.
  */
 public class MazeGUIController implements IMazeGUIController {
 
   private static final int MAX_ROWS_AND_COLUMNS = 30;
 
+  private static final DateTimeFormatter LOG_NAME_FORMAT =
+          DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
   private final IGameModel model;
 
-  private long wallGenerator;
+  private final MazeFactory mazeFactory;
 
-  private long adversaryGenerator;
+  private final Path gameLogDirectory;
 
-  private long batMovementGenerator;
+  private MazeSpec previousMazeSpec;
 
   private IView view;
 
+  private boolean mazeDisplayed;
+
+  private GameLog gameLog;
+
+  private boolean gameLogSaved;
+
+  private CompletableFuture<GeneratedMaze> requestedMaze;
+
   /**
-   * Initializes the controller for the GUI version of the hunt the wumpus game.
+   * Initializes the controller for the GUI version of the hunt the wumpus game. The seeds of
+   * new mazes are picked at random from the whole range of {@code long}, and the logs of the
+   * games are written to {@code .hunt-the-wumpus/games} in the home directory of the user.
    * @param model the model for this game
    */
   public MazeGUIController(IGameModel model) {
+    this(model, new MazeFactory(), Paths.get(System.getProperty("user.home"),
+            ".hunt-the-wumpus", "games"));
+  }
+
+  /**
+   * Initializes the controller for the GUI version of the hunt the wumpus game.
+   * @param model the model for this game
+   * @param mazeFactory the factory that generates the mazes for this game
+   * @param gameLogDirectory the directory the logs of the games are written to, which is
+   *                         created when needed, null when the logs are not written
+   */
+  public MazeGUIController(IGameModel model, MazeFactory mazeFactory, Path gameLogDirectory) {
     if (model == null) {
       throw new IllegalArgumentException("Null model passed to controller");
     }
+    if (mazeFactory == null) {
+      throw new IllegalArgumentException("Null maze factory passed to controller");
+    }
     this.model = model;
-    this.wallGenerator = 0;
-    this.adversaryGenerator = 0;
-    this.batMovementGenerator = 0;
+    this.mazeFactory = mazeFactory;
+    this.gameLogDirectory = gameLogDirectory;
+    this.previousMazeSpec = null;
   }
 
   @Override
@@ -65,30 +110,59 @@ public class MazeGUIController implements IMazeGUIController {
   public void createMaze(int rows, int columns, int internalWalls, int externalWalls,
                          int playerCount, int pitPercentage, int batPercentage, int arrowCount,
                          boolean usePast) {
-    IMaze maze;
-    if (!usePast || (batMovementGenerator == 0 && adversaryGenerator == 0
-            && wallGenerator == 0)) {
-      wallGenerator =  Math.round(Math.random());
-      adversaryGenerator = Math.round(Math.random());
-      batMovementGenerator = Math.round(Math.random());
-    }
-    if (externalWalls > 0) {
-      maze = new WrappingRoomMaze(new Random(wallGenerator), new Random(adversaryGenerator),
-              new Random(batMovementGenerator), columns, rows, internalWalls, externalWalls,
-              playerCount);
+    Map<CreatureType, Integer> data = new LinkedHashMap<>();
+    data.put(CreatureType.BAT, batPercentage);
+    data.put(CreatureType.PIT, pitPercentage);
+    MazeSpec spec = new MazeSpec(rows, columns, internalWalls, externalWalls, playerCount, data,
+            arrowCount, 0, 0, 0);
+    CompletableFuture<GeneratedMaze> maze;
+    if (usePast && previousMazeSpec != null) {
+      maze = mazeFactory.createMaze(spec.withSeeds(previousMazeSpec.getWallSeed(),
+              previousMazeSpec.getAdversarySeed(), previousMazeSpec.getBatMovementSeed()));
     } else {
-      maze = new NonWrappingRoomMaze(new Random(wallGenerator), new Random(adversaryGenerator),
-              new Random(batMovementGenerator), columns, rows, internalWalls, playerCount);
+      maze = mazeFactory.createNewMaze(spec);
+    }
+    if (requestedMaze != null) {
+      requestedMaze.cancel(false);
+    }
+    requestedMaze = maze;
+    maze.whenComplete((generated, error) ->
+            SwingUtilities.invokeLater(() -> showGeneratedMaze(maze, generated, error)));
+  }
+
+  /**
+   * Shows a maze generated by the maze factory, unless another maze was asked for since. Runs
+   * on the event thread.
+   */
+  private void showGeneratedMaze(CompletableFuture<GeneratedMaze> maze, GeneratedMaze generated,
+                                 Throwable error) {
+    if (maze != requestedMaze) {
+      return;
+    }
+    requestedMaze = null;
+    if (error != null) {
+      Throwable cause = error instanceof CompletionException && error.getCause() != null
+              ? error.getCause() : error;
+      view.showErrorMessage("Cannot create maze : " + cause.getMessage());
+      return;
+    }
+    if (gameLog != null && gameLog.getCommandCount() > 0) {
+      saveGameLog();
     }
-    model.setMaze(maze);
+    previousMazeSpec = generated.getSpec();
+    gameLog = new GameLog(generated.getSpec());
+    gameLogSaved = false;
+    model.setMaze(generated.getMaze());
+    mazeDisplayed = false;
     view.hideInputScreen();
     view.showMaze();
     view.showGameStatusMessage("GAME ACTIVE");
-    Map<CreatureType, Integer> data = new LinkedHashMap<>();
-    data.put(CreatureType.BAT, batPercentage);
-    data.put(CreatureType.PIT, pitPercentage);
-    IMazeGUICommand command = new RemoveWallsGuiCommand(model, data, arrowCount);
-    executeAction(command);
+    if (generated.isPlayerKilled()) {
+      showCommandOutput(new CommandOutputMessage(true, generated.getPlayerKilledMessage(),
+              true, false));
+    } else {
+      showCommandOutput(new CommandOutputMessage(true, "", false, false));
+    }
   }
 
   private void sendPlayerTurnMessage() {
@@ -108,29 +182,39 @@ public class MazeGUIController implements IMazeGUIController {
     view.showValidDirectionsMessage(builder.toString());
   }
 
-  private void executeAction(IMazeGUICommand command) {
-    CommandOutputMessage outputMessage = command.execute();
+  private void sendCellImages(boolean showBarriers) {
+    if (mazeDisplayed) {
+      view.sendChangedCellImagesToView(model.getChangedCellImages(showBarriers));
+    } else {
+      view.sendCellImagesToView(model.getImagesToDisplayInCells(showBarriers));
+      mazeDisplayed = true;
+    }
+  }
+
+  private void showCommandOutput(CommandOutputMessage outputMessage) {
     if (!outputMessage.isSuccess()) {
       view.showErrorMessage(outputMessage.getStatusMessage());
-      view.sendCellImagesToView(model.getImagesToDisplayInCells(false));
+      sendCellImages(false);
     } else if (outputMessage.isPlayerKilled()) {
       if (model.isGameComplete()) {
         view.endGameWithMessage("Player " + (model.lastKilledPlayerIndex() + 1) + " has lost!\n");
-        view.sendCellImagesToView(model.getImagesToDisplayInCells(true));
+        saveGameLog();
+        sendCellImages(true);
         view.showPlayerTurnMessage(outputMessage.getStatusMessage());
       } else {
         view.showGameStatusMessage("Player " + (model.lastKilledPlayerIndex() + 1)
                 + " has lost!\n");
-        view.sendCellImagesToView(model.getImagesToDisplayInCells(false));
+        sendCellImages(false);
         this.sendPlayerTurnMessage();
         this.sendValidDirectionsMessage();
       }
     } else if (outputMessage.isWumpusKilled()) {
-      view.sendCellImagesToView(model.getImagesToDisplayInCells(true));
+      sendCellImages(true);
       view.endGameWithMessage("Player " + (model.getActivePlayerIndex() + 1) + " has won!\n");
+      saveGameLog();
       view.showPlayerTurnMessage(outputMessage.getStatusMessage());
     } else {
-      view.sendCellImagesToView(model.getImagesToDisplayInCells(false));
+      sendCellImages(false);
       if (outputMessage.getStatusMessage() != null
               && !outputMessage.getStatusMessage().isEmpty()) {
         view.showErrorMessage(outputMessage.getStatusMessage());
@@ -143,12 +227,47 @@ public class MazeGUIController implements IMazeGUIController {
   @Override
   public void movePlayerInDirection(Direction direction) {
     IMazeGUICommand command = new MoveGUICommand(model, direction);
-    executeAction(command);
+    CommandOutputMessage outputMessage = command.execute();
+    if (outputMessage.isSuccess() && gameLog != null) {
+      gameLog.recordMove(direction);
+    }
+    showCommandOutput(outputMessage);
   }
 
   @Override
   public void shootPlayerInDirection(Direction direction, int arrowPower) {
     IMazeGUICommand command = new ShootGuiCommand(model, direction, arrowPower);
-    executeAction(command);
+    CommandOutputMessage outputMessage = command.execute();
+    if (outputMessage.isSuccess() && gameLog != null) {
+      gameLog.recordShot(direction, arrowPower);
+    }
+    showCommandOutput(outputMessage);
+  }
+
+  /**
+   * Writes the log of the game to a new file in the game log directory, once per game. The name
+   * of the file holds the time it was written and the wall seed of the maze.
+   */
+  private void saveGameLog() {
+    if (gameLog == null || gameLogSaved || gameLogDirectory == null) {
+      return;
+    }
+    gameLogSaved = true;
+    Path file = gameLogDirectory.resolve("game-" + LocalDateTime.now().format(LOG_NAME_FORMAT)
+            + "-" + Long.toHexString(gameLog.getSpec().getWallSeed()) + ".htwr");
+    try {
+      Files.createDirectories(gameLogDirectory);
+      try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file,
+              StandardOpenOption.CREATE_NEW))) {
+        gameLog.writeTo(out);
+      }
+    } catch (IOException exception) {
+      view.showErrorMessage("Cannot save the game log: " + exception.getMessage());
+    }
+  }
+
+  @Override
+  public GameLog getGameLog() {
+    return gameLog;
   }
 }
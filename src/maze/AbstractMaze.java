@@ -1,14 +1,18 @@
 package maze;
 
 import java.awt.Image;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import disjointset.DisjointSet;
 import graph.MazePoint;
 import mazecreatures.BatAction;
 import mazecreatures.CreatureType;
@@ -27,6 +31,8 @@ import player.PlayerKilledException;
  */
 public abstract class AbstractMaze implements IMaze {
 
+  private static final Direction[] DIRECTIONS = Direction.values();
+
   protected final Cell[][] cells;
 
   protected final Random wallGenerator;
@@ -35,6 +41,8 @@ public abstract class AbstractMaze implements IMaze {
 
   private final Random movementGenerator;
 
+  private final IMazeGenerator mazeGenerator;
+
   private boolean wallsRemoved;
 
   protected final Wall[] walls;
@@ -49,6 +57,22 @@ public abstract class AbstractMaze implements IMaze {
 
   private boolean wumpusKilled;
 
+  private final BitSet changedCells;
+
+  private MazePoint[] points;
+
+  private Map<CreatureType, BitSet> creatureAdjacentCells;
+
+  private List<Cell> nonTunnelCells;
+
+  private int[] roomExits;
+
+  private byte[] roomExitDirections;
+
+  private int[] roomExitTunnelCells;
+
+  private BitSet visitedRoomExits;
+
   /**
    * Constructor that accepts random number generators, rows, column count in maze, start &
    * end co-ordinates. Initializes the number of cells in the maze as specified by rows and
@@ -66,6 +90,30 @@ public abstract class AbstractMaze implements IMaze {
   protected AbstractMaze(Random wallGenerator, Random adversaryGenerator,
                          Random movementGenerator, int totalColumns, int totalRows, int playerCount)
           throws IllegalArgumentException {
+    this(wallGenerator, adversaryGenerator, movementGenerator, totalColumns, totalRows,
+            playerCount, new KruskalMazeGenerator());
+  }
+
+  /**
+   * Constructor that accepts random number generators, rows, column count in maze and the
+   * algorithm used to generate the perfect maze. Initializes the number of cells in the maze as
+   * specified by rows and columns.
+   * @param wallGenerator random number generator used by the maze generator
+   * @param movementGenerator  random number generator to help with bat moving a player
+   *                            to random cell
+   * @param totalColumns number of columns in maze
+   * @param totalRows number of rows in maze
+   * @param playerCount number of players in the game.
+   * @param mazeGenerator the algorithm that picks the walls removed to make a perfect maze
+   * @throws IllegalArgumentException thrown when invalid null generators, total rows & columns
+   *        are used and when player count is less than 1
+   */
+  protected AbstractMaze(Random wallGenerator, Random adversaryGenerator,
+                         Random movementGenerator, int totalColumns, int totalRows, int playerCount,
+                         IMazeGenerator mazeGenerator) throws IllegalArgumentException {
+    if (mazeGenerator == null) {
+      throw new IllegalArgumentException("Maze generator can't be null");
+    }
     if (totalColumns <= 0 || totalRows <= 0) {
       throw new IllegalArgumentException("Number of rows and columns in a maze can't be negative");
     }
@@ -78,6 +126,7 @@ public abstract class AbstractMaze implements IMaze {
     this.wallGenerator = wallGenerator;
     this.adversaryGenerator = adversaryGenerator;
     this.movementGenerator = movementGenerator;
+    this.mazeGenerator = mazeGenerator;
     this.cells = new Cell[totalRows][totalColumns];
     this.walls = new Wall[this.minimumWallsToRemove()];
     this.wallsRemoved = false;
@@ -86,14 +135,86 @@ public abstract class AbstractMaze implements IMaze {
     this.nextPlayerIndex = 0;
     this.killedPlayers = new ArrayList<>();
     this.wumpusKilled = false;
+    this.changedCells = new BitSet();
     initCells();
   }
 
+  /**
+   * Constructor that restores a maze from a snapshot, whose cells already have their walls and
+   * creatures. The walls of the maze are not built, since they can't be removed again.
+   * @param wallGenerator random number generator used by the maze generator
+   * @param adversaryGenerator random number generator to add pits, bats to cells
+   * @param movementGenerator random number generator to help with bat moving a player to random
+   *                          cell
+   * @param cells the cells of the maze, by row
+   * @param playerCount number of players in the game
+   * @throws IllegalArgumentException thrown when the generators are null, there are no cells
+   *        or the player count is less than 1
+   */
+  AbstractMaze(Random wallGenerator, Random adversaryGenerator, Random movementGenerator,
+               Cell[][] cells, int playerCount) throws IllegalArgumentException {
+    if (cells.length == 0 || cells[0].length == 0) {
+      throw new IllegalArgumentException("Number of rows and columns in a maze can't be negative");
+    }
+    if (wallGenerator == null || adversaryGenerator == null || movementGenerator == null) {
+      throw new IllegalArgumentException("Bat, adversary or movement Generators can't be null\n");
+    }
+    if (playerCount < 1) {
+      throw new IllegalArgumentException("Number of players can't be less than one");
+    }
+    this.wallGenerator = wallGenerator;
+    this.adversaryGenerator = adversaryGenerator;
+    this.movementGenerator = movementGenerator;
+    this.mazeGenerator = null;
+    this.cells = cells;
+    this.walls = new Wall[0];
+    this.wallsRemoved = true;
+    this.players = new ArrayList<>(playerCount);
+    this.playerCount = playerCount;
+    this.nextPlayerIndex = 0;
+    this.killedPlayers = new ArrayList<>();
+    this.wumpusKilled = false;
+    this.changedCells = new BitSet();
+  }
+
   @Override
   public String printMaze(boolean showBarriers) {
     return MazeUtils.render(cells, players, showBarriers);
   }
 
+  @Override
+  public void printMaze(boolean showBarriers, Appendable out) throws IOException {
+    MazeUtils.render(getTotalRows(), row -> this.cells[row], players, showBarriers, out);
+  }
+
+  @Override
+  public void printMaze(boolean showBarriers, MazeViewport viewport, Appendable out)
+          throws IOException, IllegalArgumentException {
+    Cell[][] grid = getViewportCells(viewport);
+    MazeUtils.render(grid.length, row -> grid[row], players, showBarriers, out);
+  }
+
+  /**
+   * Returns the cells inside a viewport. The cells are not copied.
+   * @param viewport the part of the maze
+   * @return the cells in the viewport
+   * @throws IllegalArgumentException thrown when the viewport is null or outside the maze
+   */
+  private Cell[][] getViewportCells(MazeViewport viewport) throws IllegalArgumentException {
+    if (viewport == null) {
+      throw new IllegalArgumentException("Viewport can't be null");
+    }
+    int[] rows = viewport.getRows(getTotalRows(), isWrappingMaze());
+    int[] columns = viewport.getColumns(getTotalColumns(), isWrappingMaze());
+    Cell[][] grid = new Cell[rows.length][columns.length];
+    for (int ii = 0; ii < rows.length; ii++) {
+      for (int jj = 0; jj < columns.length; jj++) {
+        grid[ii][jj] = this.cells[rows[ii]][columns[jj]];
+      }
+    }
+    return grid;
+  }
+
   private void initCells() {
     int rows = getTotalRows();
     int columns = getTotalColumns();
@@ -144,9 +265,124 @@ public abstract class AbstractMaze implements IMaze {
   }
 
   public Image[][] getImagesToDisplayInCells(boolean showBarriers) {
+    this.changedCells.clear();
     return MazeUtils.renderImages(cells, showBarriers, this, players);
   }
 
+  @Override
+  public Image[][] getImagesToDisplayInCells(boolean showBarriers, MazeViewport viewport)
+          throws IllegalArgumentException {
+    return MazeUtils.renderImages(getViewportCells(viewport), showBarriers, this, players);
+  }
+
+  @Override
+  public Map<MazePoint, Image> getChangedCellImages(boolean showBarriers) {
+    Map<MazePoint, Image> cellImages = new LinkedHashMap<>();
+    for (int ii = this.changedCells.nextSetBit(0); ii >= 0;
+         ii = this.changedCells.nextSetBit(ii + 1)) {
+      cellImages.put(getPoint(ii), MazeUtils.renderCellImage(getCell(ii), showBarriers, this,
+              players));
+    }
+    this.changedCells.clear();
+    return cellImages;
+  }
+
+  @Override
+  public void markCellChanged(MazePoint point) {
+    this.changedCells.set(getCellIndex(point));
+  }
+
+  @Override
+  public void markCellChanged(int cellIndex) {
+    this.changedCells.set(checkCellIndex(cellIndex));
+  }
+
+  private void markHiddenCellsChanged() {
+    int totalCells = getTotalRows() * getTotalColumns();
+    for (int ii = 0; ii < totalCells; ii++) {
+      if (!getCell(ii).isVisible()) {
+        this.changedCells.set(ii);
+      }
+    }
+  }
+
+  /**
+   * The positions are created the first time they are asked for and are kept in a table with
+   * an entry for every cell, so a position is never created twice.
+   */
+  @Override
+  public MazePoint getPoint(int cellIndex) throws IllegalArgumentException {
+    checkCellIndex(cellIndex);
+    if (this.points == null) {
+      this.points = new MazePoint[getTotalRows() * getTotalColumns()];
+    }
+    MazePoint point = this.points[cellIndex];
+    if (point == null) {
+      int columns = getTotalColumns();
+      point = new MazePoint(cellIndex / columns, cellIndex % columns);
+      this.points[cellIndex] = point;
+    }
+    return point;
+  }
+
+  @Override
+  public int getCellIndex(MazePoint point) throws IllegalArgumentException {
+    if (point == null) {
+      throw new IllegalArgumentException("Point can't be null");
+    }
+    return getCellIndex(point.getXCoordinate(), point.getYCoordinate());
+  }
+
+  /**
+   * Returns the index of the cell at a row and a column. Rows and columns beyond the border of
+   * a wrapping maze are wrapped around.
+   * @param row row of the cell
+   * @param column column of the cell
+   * @return index of the cell
+   * @throws IllegalArgumentException thrown when the row or the column is beyond the border of
+   *        a non-wrapping maze
+   */
+  private int getCellIndex(int row, int column) throws IllegalArgumentException {
+    int rows = getTotalRows();
+    int columns = getTotalColumns();
+    if (isWrappingMaze()) {
+      row = Math.floorMod(row, rows);
+      column = Math.floorMod(column, columns);
+    } else if (column < 0 || column >= columns) {
+      throw new IllegalArgumentException("Column beyond maze maximum column size while walking");
+    } else if (row < 0 || row >= rows) {
+      throw new IllegalArgumentException("Row beyond maze maximum row size while walking");
+    }
+    return row * columns + column;
+  }
+
+  private int checkCellIndex(int cellIndex) throws IllegalArgumentException {
+    if (cellIndex < 0 || cellIndex >= getTotalRows() * getTotalColumns()) {
+      throw new IllegalArgumentException("Cell index beyond the cells of the maze");
+    }
+    return cellIndex;
+  }
+
+  private Cell getCell(int cellIndex) {
+    int columns = getTotalColumns();
+    return this.cells[cellIndex / columns][cellIndex % columns];
+  }
+
+  /**
+   * Returns the index of the cell next to a cell in a direction.
+   * @param cellIndex index of the cell
+   * @param direction direction of the next cell
+   * @return index of the next cell
+   * @throws IllegalArgumentException thrown when walking beyond the border of a non-wrapping
+   *        maze
+   */
+  private int getNeighbourIndex(int cellIndex, Direction direction)
+          throws IllegalArgumentException {
+    int columns = getTotalColumns();
+    return getCellIndex(cellIndex / columns + direction.getRowOffset(),
+            cellIndex % columns + direction.getColumnOffset());
+  }
+
   /**
    * Gets the next index for a given column. If the maze is wrapping then modulus is used.
    * @param column current index of column
@@ -183,6 +419,9 @@ public abstract class AbstractMaze implements IMaze {
       nextCell.removeWallInDirection(Direction.NORTH);
     }
     wallToBreak.removeWall();
+    this.creatureAdjacentCells = null;
+    this.roomExits = null;
+    this.nonTunnelCells = null;
   }
 
   private void initPlayerPosition(int arrowCount) throws IllegalStateException,
@@ -192,18 +431,27 @@ public abstract class AbstractMaze implements IMaze {
     }
     int totalRow = getTotalRows();
     int totalCol = getTotalColumns();
+    List<Cell> nonTunnelCells = getNonTunnelCells();
+    int availableCellCount = 0;
+    for (Cell cell : nonTunnelCells) {
+      if (!Cell.canCellKillPlayer(cell)) {
+        availableCellCount += 1;
+      }
+    }
+    if (availableCellCount <= 0) {
+      throw new IllegalStateException("No cells present to place a player without killing"
+              + " them");
+    }
 
     for (int iPlayerTurn = 0; iPlayerTurn < this.playerCount; iPlayerTurn++) {
-      List<Cell> availableCells = getNonTunnelCells().stream()
-              .filter(cell -> !Cell.canCellKillPlayer(cell))
-              .collect(Collectors.toList());
-      if (availableCells.size() <= 0) {
-        throw new IllegalStateException("No cells present to place a player without killing"
-                + " them");
+      int randomCellIndex = this.movementGenerator.nextInt(availableCellCount);
+      Cell playerCell = null;
+      for (Cell cell : nonTunnelCells) {
+        if (!Cell.canCellKillPlayer(cell) && randomCellIndex-- == 0) {
+          playerCell = cell;
+          break;
+        }
       }
-
-      int randomCellIndex = this.movementGenerator.nextInt(availableCells.size());
-      Cell playerCell = availableCells.get(randomCellIndex);
       int playerStartX = playerCell.getRowPosition();
       int playerStartY = playerCell.getColumnPosition();
 
@@ -226,17 +474,172 @@ public abstract class AbstractMaze implements IMaze {
     changePlayerTurn();
   }
 
+  @Override
   public boolean checkCreatureInAdjacentCells(MazePoint point, CreatureType creatureType,
                                               Direction exclude)
           throws IllegalStateException, IllegalArgumentException {
-    return this.cellTraverseHelper(point, creatureType, exclude);
+    return checkCreatureInAdjacentCells(getCellIndex(point), creatureType, exclude);
   }
 
-  private boolean cellTraverseHelper(MazePoint point, CreatureType creatureType,
+  @Override
+  public boolean checkCreatureInAdjacentCells(int cellIndex, CreatureType creatureType,
+                                              Direction exclude)
+          throws IllegalStateException, IllegalArgumentException {
+    checkCellIndex(cellIndex);
+    if (exclude != null) {
+      return this.cellTraverseHelper(cellIndex, creatureType, exclude);
+    }
+    if (getCell(cellIndex).isTunnel()) {
+      throw new IllegalArgumentException("Checking daft/smell through a tunnel without excluding "
+              + "default direction");
+    }
+    return getCreatureAdjacentCells(creatureType).get(cellIndex);
+  }
+
+  /**
+   * Returns the cells which are next to a creature of the given type, either directly or through
+   * tunnels. The walls and creatures don't change once they are placed, so the cells are found
+   * only once for every type of creature and are found again only if a wall is removed or a
+   * creature is added later.
+   * @param creatureType the type of creature
+   * @return the cells next to the creature marked by their index in the maze
+   */
+  private BitSet getCreatureAdjacentCells(CreatureType creatureType) {
+    if (this.creatureAdjacentCells == null) {
+      int totalDirections = DIRECTIONS.length;
+      int[] exits = getRoomExits();
+      Map<CreatureType, BitSet> adjacentCells = new EnumMap<>(CreatureType.class);
+      for (CreatureType type : CreatureType.values()) {
+        adjacentCells.put(type, new BitSet(getTotalRows() * getTotalColumns()));
+      }
+      for (int exit = 0; exit < exits.length; exit++) {
+        if (exits[exit] < 0) {
+          continue;
+        }
+        Cell adjacentRoom = getCell(exits[exit]);
+        for (CreatureType type : CreatureType.values()) {
+          if (adjacentRoom.hasCreature(type)) {
+            adjacentCells.get(type).set(exit / totalDirections);
+          }
+        }
+      }
+      this.creatureAdjacentCells = adjacentCells;
+    }
+    return this.creatureAdjacentCells.get(creatureType);
+  }
+
+  /**
+   * Returns the graph of rooms in the maze. Every room that is not a tunnel is linked, for every
+   * direction without a wall, to the room that is reached by walking through the tunnels in
+   * that direction. The walls don't change once they are removed, so the graph is built only
+   * once and is built again only if a wall is removed later.
+   */
+  private void buildNavigationGraph() throws IllegalStateException {
+    int totalCells = getTotalRows() * getTotalColumns();
+    int totalDirections = DIRECTIONS.length;
+    int[] exits = new int[totalCells * totalDirections];
+    byte[] exitDirections = new byte[totalCells * totalDirections];
+    int[] exitTunnelCells = new int[totalCells * totalDirections];
+    Arrays.fill(exits, -1);
+    for (int cellIndex = 0; cellIndex < totalCells; cellIndex++) {
+      Cell cell = getCell(cellIndex);
+      if (cell.isTunnel()) {
+        continue;
+      }
+      for (Direction dir : cell.getSuggestionsForMovement()) {
+        int currentIndex = cellIndex;
+        Direction walkDirection = dir;
+        int tunnelCells = 0;
+        while (true) {
+          try {
+            currentIndex = getNeighbourIndex(currentIndex, walkDirection);
+          } catch (IllegalArgumentException excep) {
+            throw new IllegalStateException("Exception while walking through tunnel:: "
+                    + excep.getMessage());
+          }
+          Cell currentCell = getCell(currentIndex);
+          if (!currentCell.isTunnel()) {
+            break;
+          }
+          if (++tunnelCells >= totalCells) {
+            throw new IllegalStateException("Tunnel does not end in a cell");
+          }
+          walkDirection = getTunnelExit(currentCell, walkDirection);
+        }
+        int exit = cellIndex * totalDirections + dir.ordinal();
+        exits[exit] = currentIndex;
+        exitDirections[exit] = (byte) walkDirection.ordinal();
+        exitTunnelCells[exit] = tunnelCells;
+      }
+    }
+    this.roomExits = exits;
+    this.roomExitDirections = exitDirections;
+    this.roomExitTunnelCells = exitTunnelCells;
+    this.visitedRoomExits = new BitSet(exits.length);
+  }
+
+  /**
+   * Returns the direction in which a tunnel is left when it is entered walking in a direction.
+   * @param tunnel the tunnel cell
+   * @param walkDirection the direction of walking when entering the tunnel
+   * @return the direction in which the tunnel is left
+   */
+  private static Direction getTunnelExit(Cell tunnel, Direction walkDirection) {
+    Direction entryDirection = Direction.getInverseDirection(walkDirection);
+    for (Direction nextDir : tunnel.getSuggestionsForMovement()) {
+      if (nextDir != entryDirection) {
+        return nextDir;
+      }
+    }
+    throw new IllegalStateException("Too many or too less direction present to continue "
+            + "movement through tunnel");
+  }
+
+  private int[] getRoomExits() {
+    if (this.roomExits == null) {
+      buildNavigationGraph();
+    }
+    return this.roomExits;
+  }
+
+  /**
+   * Marks the tunnel cells and the room at the end of a room exit as visited. The cells of an
+   * exit are walked only the first time the exit is used, since they stay visible after that.
+   * @param exit index of the room exit in the navigation graph
+   */
+  private void markRoomExitVisited(int exit) {
+    if (this.visitedRoomExits.get(exit)) {
+      return;
+    }
+    int totalDirections = DIRECTIONS.length;
+    int cellIndex = exit / totalDirections;
+    Direction walkDirection = DIRECTIONS[exit % totalDirections];
+    for (int ii = 0; ii <= this.roomExitTunnelCells[exit]; ii++) {
+      cellIndex = getNeighbourIndex(cellIndex, walkDirection);
+      Cell currentCell = getCell(cellIndex);
+      markCellVisited(currentCell, cellIndex);
+      if (currentCell.isTunnel()) {
+        walkDirection = getTunnelExit(currentCell, walkDirection);
+      }
+    }
+    Direction returnDirection = Direction.getInverseDirection(
+            DIRECTIONS[this.roomExitDirections[exit]]);
+    this.visitedRoomExits.set(exit);
+    this.visitedRoomExits.set(this.roomExits[exit] * totalDirections
+            + returnDirection.ordinal());
+  }
+
+  private void markCellVisited(Cell cell, int cellIndex) {
+    if (!cell.isVisible()) {
+      cell.markVisible();
+      this.changedCells.set(cellIndex);
+    }
+  }
+
+  private boolean cellTraverseHelper(int cellIndex, CreatureType creatureType,
                                   Direction exclude) throws
           IllegalStateException, IllegalArgumentException {
-    point = wrapPoint(point);
-    Cell currentCell = this.cells[point.getXCoordinate()][point.getYCoordinate()];
+    Cell currentCell = getCell(cellIndex);
     if (currentCell.isTunnel() && exclude == null) {
       throw new IllegalArgumentException("Checking daft/smell through a tunnel without excluding "
               + "default direction");
@@ -249,14 +652,14 @@ public abstract class AbstractMaze implements IMaze {
       if (dir == exclude) {
         continue;
       }
-      MazePoint nextPoint = dir.getNextPoint(point);
+      int nextIndex;
       try {
-        nextPoint = wrapPoint(nextPoint);
+        nextIndex = getNeighbourIndex(cellIndex, dir);
       } catch (IllegalArgumentException excep) {
         throw new IllegalStateException("Exception in check daft/smell:: "
                 + excep.getMessage());
       }
-      if (cellTraverseHelper(nextPoint, creatureType,
+      if (cellTraverseHelper(nextIndex, creatureType,
               Direction.getInverseDirection(dir))) {
         return true;
       }
@@ -264,39 +667,44 @@ public abstract class AbstractMaze implements IMaze {
     return false;
   }
 
-  private Cell getCellAtDistance(MazePoint point,
-                                 Direction arrowDirection,
-                                 int distance, boolean markCellAsVisited) {
-    Cell currentCell = this.cells[point.getXCoordinate()][point.getYCoordinate()];
+  /**
+   * Returns the room reached after walking through a number of rooms from a room. Tunnels are
+   * not counted, so a distance of 1 is the current room and a distance of 2 is the next room
+   * in the direction of walking. Walking continues in the direction in which the last tunnel
+   * was left.
+   * @param cellIndex index of the room to start from
+   * @param arrowDirection the direction to start walking in
+   * @param distance number of rooms including the current room
+   * @param markCellAsVisited true if the cells on the way have to be marked as visited
+   * @return index of the room reached, -1 if a wall is met on the way
+   * @throws IllegalStateException thrown when walking from a tunnel
+   */
+  private int getCellAtDistance(int cellIndex,
+                                Direction arrowDirection,
+                                int distance, boolean markCellAsVisited)
+          throws IllegalStateException {
+    Cell currentCell = getCell(cellIndex);
     if (markCellAsVisited) {
-      currentCell.markVisible();
-    }
-    if (!currentCell.isTunnel()) {
-      distance = distance - 1;
+      markCellVisited(currentCell, cellIndex);
     }
-    if (distance == 0) {
-      return currentCell;
+    if (currentCell.isTunnel()) {
+      throw new IllegalStateException("Cannot walk through the maze from a tunnel");
     }
-    List<Direction> validDirections = currentCell.getSuggestionsForMovement();
-    MazePoint nextPoint;
-    if (!currentCell.isTunnel()) {
-      if (!validDirections.contains(arrowDirection)) {
-        return null;
+    int[] exits = getRoomExits();
+    int totalDirections = DIRECTIONS.length;
+    int directionIndex = arrowDirection.ordinal();
+    for (int remaining = distance - 1; remaining > 0; remaining--) {
+      int exit = cellIndex * totalDirections + directionIndex;
+      if (exits[exit] < 0) {
+        return -1;
       }
-      nextPoint = arrowDirection.getNextPoint(point);
-      nextPoint = wrapPoint(nextPoint);
-      return getCellAtDistance(nextPoint, arrowDirection, distance, markCellAsVisited);
-    }
-    Direction revDirection = Direction.getInverseDirection(arrowDirection);
-    List<Direction> nextDirections = validDirections.stream()
-            .filter(dir -> (!dir.equals(revDirection))).collect(Collectors.toList());
-    if (nextDirections.size() != 1) {
-      throw new IllegalStateException("Too many or too less direction present to continue "
-              + "arrow movement through tunnel");
+      if (markCellAsVisited) {
+        markRoomExitVisited(exit);
+      }
+      cellIndex = exits[exit];
+      directionIndex = this.roomExitDirections[exit];
     }
-    nextPoint = nextDirections.get(0).getNextPoint(point);
-    nextPoint = wrapPoint(nextPoint);
-    return getCellAtDistance(nextPoint, nextDirections.get(0), distance, markCellAsVisited);
+    return cellIndex;
   }
 
   @Override
@@ -314,7 +722,14 @@ public abstract class AbstractMaze implements IMaze {
   public boolean shootArrow(MazePoint point, Direction dir, int power)
           throws IllegalStateException, IllegalArgumentException, RecoverableException,
           PlayerKilledException {
-    Cell currentCell = this.cells[point.getXCoordinate()][point.getYCoordinate()];
+    return shootArrow(getCellIndex(point), dir, power);
+  }
+
+  @Override
+  public boolean shootArrow(int cellIndex, Direction dir, int power)
+          throws IllegalStateException, IllegalArgumentException, RecoverableException,
+          PlayerKilledException {
+    Cell currentCell = getCell(checkCellIndex(cellIndex));
     if (currentCell.isTunnel()) {
       throw new IllegalStateException("Cannot shoot arrow from a tunnel");
     }
@@ -322,8 +737,8 @@ public abstract class AbstractMaze implements IMaze {
     if (!validDirections.contains(dir)) {
       throw new RecoverableException("Cannot shoot arrow in the direction of a wall, try again");
     }
-    Cell finalCell = this.getCellAtDistance(point, dir, power + 1, false);
-    if (finalCell != null && finalCell.hasCreature(CreatureType.WUMPUS)) {
+    int finalCell = this.getCellAtDistance(cellIndex, dir, power + 1, false);
+    if (finalCell >= 0 && getCell(finalCell).hasCreature(CreatureType.WUMPUS)) {
       markWumpusDead();
       return true;
     }
@@ -344,41 +759,37 @@ public abstract class AbstractMaze implements IMaze {
     if (this.wallsRemoved) {
       throw new UnsupportedOperationException("Remove walls should be called only once");
     }
-    int totalRow = getTotalRows();
-    int totalCol = getTotalColumns();
-
-    int totalCells = totalRow * totalCol;
-    DisjointSet disjointSet = new DisjointSet(totalCells);
-
-    while (disjointSet.getUnsetParentCellCount() > 1) {
-      Wall wallToBreak = this.walls[this.wallGenerator.nextInt(this.walls.length)];
-      if (wallToBreak.isRemoved()) {
-        continue;
-      }
-
-      int row = wallToBreak.getWallRowIndex();
-      int col = wallToBreak.getWallColumnIndex();
-      int cellOneIndex = row * totalCol + col;
-      int cellTwoIndex;
-
-      if (wallToBreak.isVertical()) {
-        int nextColIndex = getNextColumnIndex(col);
-        cellTwoIndex = row * totalCol + nextColIndex;
-      } else {
-        int nextRowIndex = getNextRowIndex(row);
-        cellTwoIndex = nextRowIndex * totalCol + col;
-      }
-      if (disjointSet.find(cellOneIndex) != disjointSet.find(cellTwoIndex)) {
-        removeWallHelper(wallToBreak);
-        disjointSet.combine(cellOneIndex, cellTwoIndex);
-      }
-    }
+    this.mazeGenerator.generateMaze(getTotalRows(), getTotalColumns(), this.wallGenerator,
+            wall -> removeWallHelper(this.walls[wall]));
     this.wallsRemoved = true;
   }
 
+  /**
+   * The cells that are tunnels don't change once the walls are removed, so the cells are found
+   * only once and are found again only if a wall is removed later. The list returned can't be
+   * modified.
+   */
   @Override
   public List<Cell> getNonTunnelCells() {
-    return getSpecificCells((Cell cell) -> !cell.isTunnel());
+    if (this.nonTunnelCells == null) {
+      this.nonTunnelCells = Collections.unmodifiableList(
+              getSpecificCells((Cell cell) -> !cell.isTunnel()));
+    }
+    return this.nonTunnelCells;
+  }
+
+  @Override
+  public int getNonTunnelCellCount() {
+    return getNonTunnelCells().size();
+  }
+
+  @Override
+  public void movePlayerToNonTunnelCell(MazePlayer player, int nonTunnelCellIndex)
+          throws PlayerKilledException {
+    Cell cellToMove = getNonTunnelCells().get(nonTunnelCellIndex);
+    player.setNewPosition(getPoint(cellToMove.getRowPosition() * getTotalColumns()
+            + cellToMove.getColumnPosition()));
+    cellToMove.performCellActions(player, this);
   }
 
   private List<Cell> getSpecificCells(Predicate<Cell> predicate) {
@@ -392,29 +803,46 @@ public abstract class AbstractMaze implements IMaze {
     return nonTunnelCells;
   }
 
+  /**
+   * Adds creatures to random cells that are not tunnels. The cells are picked with a partial
+   * Fisher-Yates shuffle of the indexes of the cells, which takes time proportional to the number
+   * of creatures added. The indexes are shuffled in place and are reused for the next type of
+   * creature, so they are only created once for all the creatures of a maze. The creatures
+   * have no state of their own, so all the creatures of a type share one instance.
+   * @param creatureToAdd the type of creature
+   * @param availableCells indexes of the cells in {@link #getNonTunnelCells()}
+   * @param numCreaturesToAdd number of creatures to add
+   */
   private void addSingleCreature(CreatureType creatureToAdd,
-                                 List<Cell> availableCells, int numCreaturesToAdd) {
-    int currentAdded =  0;
-    ICreature creatureInstance = null;
-    while (currentAdded < numCreaturesToAdd) {
-      int cellToAddTo = this.adversaryGenerator.nextInt(availableCells.size());
-      Cell chosenCell = availableCells.remove(cellToAddTo);
-      if (creatureToAdd == CreatureType.BAT) {
-        creatureInstance = new MazeCreature(CreatureType.BAT, new BatAction());
-      }
-      else if (creatureToAdd == CreatureType.PIT) {
-        creatureInstance = new MazeCreature(CreatureType.PIT, new PitAction());
-      } else if (creatureToAdd == CreatureType.WUMPUS) {
-        creatureInstance = new MazeCreature(CreatureType.WUMPUS, new WumpusAction());
-      }
-      chosenCell.addCreature(creatureInstance);
-      currentAdded += 1;
+                                 int[] availableCells, int numCreaturesToAdd) {
+    List<Cell> nonTunnelCells = getNonTunnelCells();
+    ICreature creatureInstance = createCreature(creatureToAdd);
+    MazeUtils.sampleIndexes(availableCells, availableCells.length, numCreaturesToAdd,
+            this.adversaryGenerator);
+    for (int currentAdded = 0; currentAdded < numCreaturesToAdd; currentAdded++) {
+      nonTunnelCells.get(availableCells[currentAdded]).addCreature(creatureInstance);
+    }
+    this.creatureAdjacentCells = null;
+  }
+
+  /**
+   * Creates a creature of a type, with the action of that type.
+   * @param creatureType the type of creature
+   * @return the creature, null if the type has no action
+   */
+  static ICreature createCreature(CreatureType creatureType) {
+    if (creatureType == CreatureType.BAT) {
+      return new MazeCreature(CreatureType.BAT, new BatAction());
+    } else if (creatureType == CreatureType.PIT) {
+      return new MazeCreature(CreatureType.PIT, new PitAction());
+    } else if (creatureType == CreatureType.WUMPUS) {
+      return new MazeCreature(CreatureType.WUMPUS, new WumpusAction());
     }
+    return null;
   }
 
-  private void addWumpus() throws IllegalStateException {
-    List<Cell> availableCells = getNonTunnelCells();
-    if (availableCells.size() < CreatureType.WUMPUS.getCreatureTotalOccurrences()) {
+  private void addWumpus(int[] availableCells) throws IllegalStateException {
+    if (availableCells.length < CreatureType.WUMPUS.getCreatureTotalOccurrences()) {
       throw new IllegalStateException("No cells present where Wumpus can be added, game"
               + " cannot be played\n");
     }
@@ -425,8 +853,12 @@ public abstract class AbstractMaze implements IMaze {
   protected void addCreaturesToCells(Map<CreatureType, Integer> percentages, int arrowCount) throws
           IllegalArgumentException, UnsupportedOperationException, IllegalStateException,
           PlayerKilledException {
+    int[] availableCells = new int[getNonTunnelCells().size()];
+    for (int ii = 0; ii < availableCells.length; ii++) {
+      availableCells[ii] = ii;
+    }
     if (percentages == null || percentages.isEmpty()) {
-      addWumpus();
+      addWumpus(availableCells);
       initPlayerPosition(arrowCount);
       return;
     }
@@ -436,10 +868,9 @@ public abstract class AbstractMaze implements IMaze {
                 + " percentage is not between 0 and 100");
       }
     }
-    addWumpus();
+    addWumpus(availableCells);
     for (Map.Entry<CreatureType, Integer> mapPair : percentages.entrySet()) {
-      List<Cell> availableCells = getNonTunnelCells();
-      int numCreaturesToAdd = availableCells.size() *  mapPair.getValue() / MazeUtils.MAX_PERCENT;
+      int numCreaturesToAdd = availableCells.length *  mapPair.getValue() / MazeUtils.MAX_PERCENT;
       addSingleCreature(mapPair.getKey(), availableCells, numCreaturesToAdd);
     }
     initPlayerPosition(arrowCount);
@@ -459,41 +890,19 @@ public abstract class AbstractMaze implements IMaze {
   public void movePlayerInDirection(Direction direction) throws IllegalArgumentException,
           IllegalStateException, PlayerKilledException, RecoverableException {
     MazePlayer playerToMove = players.get(nextPlayerIndex);
-    MazePoint currentPoint = playerToMove.getCurrentCoordinates();
-    Cell nextCell = this.getCellAtDistance(currentPoint, direction,2, true);
-    if (nextCell == null) {
+    int currentCell = getCellIndex(playerToMove.getCurrentCoordinates());
+    int nextCell = this.getCellAtDistance(currentCell, direction, 2, true);
+    if (nextCell < 0) {
       throw new RecoverableException("Cannot move player in the direction specified, try again");
     }
-    MazePoint newPosition = new MazePoint(nextCell.getRowPosition(), nextCell.getColumnPosition());
-    newPosition = wrapPoint(newPosition);
-    playerToMove.setNewPosition(newPosition);
-    Cell newCell = cells[newPosition.getXCoordinate()][newPosition.getYCoordinate()];
-    newCell.performCellActions(playerToMove, this);
-    changePlayerTurn();
-  }
-
-  private MazePoint wrapPoint(MazePoint point) throws IllegalStateException {
-    if (!isWrappingMaze()) {
-      if (point.getYCoordinate() < 0 || point.getYCoordinate() >= getTotalColumns()) {
-        throw new IllegalArgumentException("Column beyond maze maximum column size while walking");
-      }
-      if (point.getXCoordinate() < 0 || point.getXCoordinate() >= getTotalRows()) {
-        throw new IllegalArgumentException("Row beyond maze maximum row size while walking");
-      }
-    } else {
-      int rows = getTotalRows();
-      int cols = getTotalColumns();
-      int newX = point.getXCoordinate() % getTotalRows();
-      int newY = point.getYCoordinate() % getTotalColumns();
-      while (newX < 0) {
-        newX = (newX + rows) % rows;
-      }
-      while (newY < 0) {
-        newY = (newY + cols) % cols;
-      }
-      return new MazePoint(newX, newY);
+    playerToMove.setNewPosition(getPoint(nextCell));
+    this.changedCells.set(currentCell);
+    try {
+      getCell(nextCell).performCellActions(playerToMove, this);
+    } finally {
+      markCellChanged(playerToMove.getCurrentCoordinates());
     }
-    return point;
+    changePlayerTurn();
   }
 
   @Override
@@ -505,20 +914,31 @@ public abstract class AbstractMaze implements IMaze {
 
   @Override
   public MazePoint getExpectedMovementPosition(MazePoint point, Direction dir) {
-    if (cells[point.getXCoordinate()][point.getYCoordinate()].isTunnel()) {
-      throw new UnsupportedOperationException("Cannot measure distance from a tunnel cell");
-    }
-    Cell cell = getCellAtDistance(point, dir, 2, false);
-    if (cell != null) {
-      return wrapPoint(new MazePoint(cell.getRowPosition(), cell.getColumnPosition()));
+    int cellIndex = getExpectedMovementPosition(getCellIndex(point), dir);
+    if (cellIndex >= 0) {
+      return getPoint(cellIndex);
     }
     return null;
   }
 
+  @Override
+  public int getExpectedMovementPosition(int cellIndex, Direction dir) {
+    if (getCell(checkCellIndex(cellIndex)).isTunnel()) {
+      throw new UnsupportedOperationException("Cannot measure distance from a tunnel cell");
+    }
+    return getCellAtDistance(cellIndex, dir, 2, false);
+  }
+
   @Override
   public boolean resultingCellHasCreature(MazePoint point, Direction dir,
                                           CreatureType creatureType, int distance) {
-    if (cells[point.getXCoordinate()][point.getYCoordinate()].isTunnel()) {
+    return resultingCellHasCreature(getCellIndex(point), dir, creatureType, distance);
+  }
+
+  @Override
+  public boolean resultingCellHasCreature(int cellIndex, Direction dir,
+                                          CreatureType creatureType, int distance) {
+    if (getCell(checkCellIndex(cellIndex)).isTunnel()) {
       throw new UnsupportedOperationException("Cannot find distance from a tunnel cell");
     }
     if (distance <= 0) {
@@ -529,8 +949,8 @@ public abstract class AbstractMaze implements IMaze {
       throw new UnsupportedOperationException("Direction cannot be null when determining "
               + "distance from a position");
     }
-    Cell cell = getCellAtDistance(point, dir, distance, false);
-    return cell != null && cell.hasCreature(creatureType);
+    int finalCell = getCellAtDistance(cellIndex, dir, distance, false);
+    return finalCell >= 0 && getCell(finalCell).hasCreature(creatureType);
   }
 
   @Override
@@ -542,6 +962,56 @@ public abstract class AbstractMaze implements IMaze {
     return this.movementGenerator;
   }
 
+  Random getWallGenerator() {
+    return this.wallGenerator;
+  }
+
+  Random getAdversaryGenerator() {
+    return this.adversaryGenerator;
+  }
+
+  int getPlayerCount() {
+    return this.playerCount;
+  }
+
+  /**
+   * Returns the players in the order of their turns.
+   * @return unmodifiable list of the players
+   */
+  List<MazePlayer> getPlayers() {
+    return Collections.unmodifiableList(this.players);
+  }
+
+  /**
+   * Returns the players killed, in the order they were killed.
+   * @return unmodifiable list of the killed players
+   */
+  List<MazePlayer> getKilledPlayers() {
+    return Collections.unmodifiableList(this.killedPlayers);
+  }
+
+  boolean isWumpusKilled() {
+    return this.wumpusKilled;
+  }
+
+  /**
+   * Sets the players and the state of the game from a snapshot.
+   * @param mazePlayers the players in the order of their turns
+   * @param playerIndex index of the player whose turn is next
+   * @param killed the players killed, in the order they were killed
+   * @param isWumpusKilled true if the Wumpus was killed
+   */
+  void restoreGame(List<MazePlayer> mazePlayers, int playerIndex, List<MazePlayer> killed,
+                   boolean isWumpusKilled) {
+    this.players = new ArrayList<>(mazePlayers);
+    this.nextPlayerIndex = playerIndex;
+    this.killedPlayers = new ArrayList<>(killed);
+    this.wumpusKilled = isWumpusKilled;
+    this.creatureAdjacentCells = null;
+    this.roomExits = null;
+    this.nonTunnelCells = null;
+  }
+
   @Override
   public boolean allRequestedWallsRemoved() {
     return wallsRemoved;
@@ -552,6 +1022,11 @@ public abstract class AbstractMaze implements IMaze {
     return players.get(nextPlayerIndex).getCurrentCoordinates();
   }
 
+  @Override
+  public int getActivePlayerCellIndex() {
+    return getCellIndex(players.get(nextPlayerIndex).getCurrentCoordinates());
+  }
+
   @Override
   public List<Direction> getValidDirectionsForMovement() {
     MazePoint playerPosition = this.players.get(nextPlayerIndex).getCurrentCoordinates();
@@ -567,6 +1042,10 @@ public abstract class AbstractMaze implements IMaze {
   @Override
   public void incrementKilledPlayersCount(MazePlayer player) {
     this.killedPlayers.add(player);
+    markCellChanged(player.getCurrentCoordinates());
+    if (isGameComplete()) {
+      markHiddenCellsChanged();
+    }
     this.changePlayerTurn();
   }
 
@@ -578,6 +1057,7 @@ public abstract class AbstractMaze implements IMaze {
   @Override
   public void markWumpusDead() {
     wumpusKilled = true;
+    markHiddenCellsChanged();
   }
 
   @Override
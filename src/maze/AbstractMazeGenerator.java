@@ -0,0 +1,132 @@
+package maze;
+
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * The super class of the maze generation algorithms. It validates the arguments and offers
+ * the functions that find cells and the internal walls between them in a non-wrapping grid.
+ * Cells are identified by their index {@code row * columns + column}.
+ */
+public abstract class AbstractMazeGenerator implements IMazeGenerator {
+
+  @Override
+  public void generateMaze(int totalRows, int totalColumns, Random wallGenerator,
+                           IntConsumer wallRemover) throws IllegalArgumentException {
+    if (totalRows <= 0 || totalColumns <= 0) {
+      throw new IllegalArgumentException("Number of rows and columns in a maze can't be negative");
+    }
+    if (wallGenerator == null || wallRemover == null) {
+      throw new IllegalArgumentException("Wall generator and wall remover can't be null");
+    }
+    generate(totalRows, totalColumns, wallGenerator, wallRemover);
+  }
+
+  /**
+   * Picks the internal walls that are removed to make a grid of cells a perfect maze. The
+   * arguments are already validated.
+   * @param totalRows number of rows in the grid
+   * @param totalColumns number of columns in the grid
+   * @param wallGenerator random number generator used to pick the walls
+   * @param wallRemover called with the index of every wall picked
+   */
+  protected abstract void generate(int totalRows, int totalColumns, Random wallGenerator,
+                                   IntConsumer wallRemover);
+
+  /**
+   * Returns the number of internal walls in a grid.
+   * @param totalRows number of rows in the grid
+   * @param totalColumns number of columns in the grid
+   * @return number of internal walls
+   */
+  public static int getInternalWallCount(int totalRows, int totalColumns) {
+    return (totalRows - 1) * totalColumns + (totalColumns - 1) * totalRows;
+  }
+
+  /**
+   * Returns the index of the cell to the west or to the north of an internal wall.
+   * @param totalRows number of rows in the grid
+   * @param totalColumns number of columns in the grid
+   * @param wall index of the internal wall
+   * @return index of the cell
+   */
+  public static int getWallCellIndex(int totalRows, int totalColumns, int wall) {
+    int wallsPerRow = 2 * totalColumns - 1;
+    int row = wall / wallsPerRow;
+    int offset = wall % wallsPerRow;
+    if (row == totalRows - 1) {
+      return row * totalColumns + offset;
+    }
+    return row * totalColumns + offset / 2;
+  }
+
+  /**
+   * Returns true if an internal wall separates a cell from the cell to its east, false if it
+   * separates the cell from the cell to its south.
+   * @param totalRows number of rows in the grid
+   * @param totalColumns number of columns in the grid
+   * @param wall index of the internal wall
+   * @return true if the wall is vertical
+   */
+  public static boolean isVerticalWall(int totalRows, int totalColumns, int wall) {
+    int wallsPerRow = 2 * totalColumns - 1;
+    return wall / wallsPerRow == totalRows - 1 || (wall % wallsPerRow) % 2 == 1;
+  }
+
+  /**
+   * Returns the index of the internal wall of a cell in a direction.
+   * @param totalRows number of rows in the grid
+   * @param totalColumns number of columns in the grid
+   * @param cellIndex index of the cell
+   * @param direction direction of the wall from the cell
+   * @return index of the internal wall, -1 if the wall is at the border of the grid
+   */
+  public static int getWallIndex(int totalRows, int totalColumns, int cellIndex,
+                                 Direction direction) {
+    int row = cellIndex / totalColumns;
+    int column = cellIndex % totalColumns;
+    switch (direction) {
+      case NORTH:
+        return row > 0 ? getSouthWallIndex(totalRows, totalColumns, row - 1, column) : -1;
+      case SOUTH:
+        return row < totalRows - 1 ? getSouthWallIndex(totalRows, totalColumns, row, column)
+                : -1;
+      case WEST:
+        return column > 0 ? getEastWallIndex(totalRows, totalColumns, row, column - 1) : -1;
+      case EAST:
+        return column < totalColumns - 1 ? getEastWallIndex(totalRows, totalColumns, row, column)
+                : -1;
+      default:
+        throw new IllegalArgumentException("Unknown direction " + direction);
+    }
+  }
+
+  private static int getSouthWallIndex(int totalRows, int totalColumns, int row, int column) {
+    return row * (2 * totalColumns - 1) + 2 * column;
+  }
+
+  private static int getEastWallIndex(int totalRows, int totalColumns, int row, int column) {
+    if (row == totalRows - 1) {
+      return row * (2 * totalColumns - 1) + column;
+    }
+    return row * (2 * totalColumns - 1) + 2 * column + 1;
+  }
+
+  /**
+   * Returns the index of the cell next to a cell in a direction.
+   * @param totalRows number of rows in the grid
+   * @param totalColumns number of columns in the grid
+   * @param cellIndex index of the cell
+   * @param direction direction of the next cell
+   * @return index of the next cell, -1 if the cell is at the border of the grid
+   */
+  public static int getNeighbourIndex(int totalRows, int totalColumns, int cellIndex,
+                                      Direction direction) {
+    int row = cellIndex / totalColumns + direction.getRowOffset();
+    int column = cellIndex % totalColumns + direction.getColumnOffset();
+    if (row < 0 || row >= totalRows || column < 0 || column >= totalColumns) {
+      return -1;
+    }
+    return row * totalColumns + column;
+  }
+}
@@ -1,10 +1,9 @@
 package maze;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import graph.MazePoint;
 import mazecreatures.CreatureType;
@@ -23,11 +22,15 @@ public class Cell {
 
   private static final  int TUNNEL_CELL_WALLS = 2;
 
+  private static final int ALL_WALLS = (1 << Direction.values().length) - 1;
+
+  private static final List<List<Direction>> DIRECTIONS_FOR_MASK = initDirectionsForMask();
+
   private final int rowPosition;
 
   private final int columnPosition;
 
-  private final List<Direction> walls;
+  private byte walls;
 
   private final List<ICreature> creatures;
 
@@ -47,7 +50,7 @@ public class Cell {
     }
     this.rowPosition = rowPosition;
     this.columnPosition = columnPosition;
-    this.walls =  new ArrayList<>(Arrays.asList(Direction.values()));
+    this.walls = (byte) ALL_WALLS;
     this.creatures = new ArrayList<>();
     this.isVisible = false;
   }
@@ -85,7 +88,9 @@ public class Cell {
 
   /**
    * Adds a creature such as Wumpus, Pit or Bat to this cell. If it already has such creature,
-   * then an exception is thrown. Creature cannot be added to a tunnel.
+   * then an exception is thrown. Creature cannot be added to a tunnel. The creatures of a cell
+   * are kept in the order of their priority, highest first, which is the order in which their
+   * actions are performed.
    * @param creature bat, pit or wumpus
    * @throws UnsupportedOperationException thrown when the cell is a tunnel
    * @throws UnsupportedOperationException thrown when trying to add same creature twice
@@ -101,7 +106,43 @@ public class Cell {
     if (this.isTunnel()) {
       throw new UnsupportedOperationException("Cannot add creature to tunnel");
     }
-    this.creatures.add(creature);
+    int position = 0;
+    while (position < this.creatures.size()
+            && this.creatures.get(position).getPriority() >= creature.getPriority()) {
+      position += 1;
+    }
+    this.creatures.add(position, creature);
+  }
+
+  /**
+   * Creates the list of directions for every combination of the 4 directions. The directions
+   * are stored as bits in the order of {@link Direction#values()}, so the walls of a cell and
+   * the directions a player can move in are looked up without creating a new list.
+   * @return immutable lists of directions for every bitmask of directions
+   */
+  private static List<List<Direction>> initDirectionsForMask() {
+    Direction[] directions = Direction.values();
+    List<List<Direction>> directionsForMask = new ArrayList<>(ALL_WALLS + 1);
+    for (int mask = 0; mask <= ALL_WALLS; mask++) {
+      List<Direction> maskDirections = new ArrayList<>();
+      for (Direction dir : directions) {
+        if ((mask & (1 << dir.ordinal())) != 0) {
+          maskDirections.add(dir);
+        }
+      }
+      directionsForMask.add(Collections.unmodifiableList(maskDirections));
+    }
+    return Collections.unmodifiableList(directionsForMask);
+  }
+
+  /**
+   * Returns the directions whose bits are set in a bitmask of directions.
+   * @param mask bitmask with a bit set for every direction in the order of
+   *             {@link Direction#values()}
+   * @return unmodifiable list of the directions in the bitmask
+   */
+  static List<Direction> getDirectionsForMask(int mask) {
+    return DIRECTIONS_FOR_MASK.get(mask & ALL_WALLS);
   }
 
   /**
@@ -110,9 +151,8 @@ public class Cell {
    * @return true if cell has pit or a wumpus
    */
   public static boolean canCellKillPlayer(Cell cell) {
-    return cell == null || (cell.creatures.stream().anyMatch(creature ->
-            (creature.getCreatureType() == CreatureType.PIT
-                    || creature.getCreatureType() == CreatureType.WUMPUS)));
+    return cell == null || cell.hasCreature(CreatureType.PIT)
+            || cell.hasCreature(CreatureType.WUMPUS);
   }
 
   public void markVisible() {
@@ -129,21 +169,25 @@ public class Cell {
 
   /**
    * Performs actions such as kill a player, move a player randomly to a different cell, when
-   * a player is added to this cell.
+   * a player is added to this cell. The actions are performed in the order of the priority of
+   * the creatures until the player is moved out of the cell. The creatures are already in that
+   * order, so entering a cell that was visited before creates no objects.
    * @param player player playing the game
    * @param maze the maze in which the cell is present.
    * @throws PlayerKilledException thrown when a player is killed.
    */
   public void performCellActions(MazePlayer player, IMaze maze) throws PlayerKilledException {
-    this.isVisible = true;
-    MazePoint cellPos = new MazePoint(this.getRowPosition(), this.getColumnPosition());
-    Collections.sort(this.creatures);
-    Collections.reverse(this.creatures);
-    for (ICreature creature: this.creatures) {
-      if (!cellPos.equals(player.getCurrentCoordinates())) {
+    if (!this.isVisible) {
+      this.isVisible = true;
+      maze.markCellChanged(this.rowPosition * maze.getTotalColumns() + this.columnPosition);
+    }
+    for (int ii = 0; ii < this.creatures.size(); ii++) {
+      MazePoint playerPosition = player.getCurrentCoordinates();
+      if (playerPosition.getXCoordinate() != this.rowPosition
+              || playerPosition.getYCoordinate() != this.columnPosition) {
         return;
       }
-      creature.executeAction(player, maze);
+      this.creatures.get(ii).executeAction(player, maze);
     }
   }
 
@@ -153,7 +197,7 @@ public class Cell {
    * @return true if wall is present in the direction mentioned in parameter.
    */
   private boolean hasWallInDirection(Direction dir) {
-    return walls.contains(dir);
+    return (walls & (1 << dir.ordinal())) != 0;
   }
 
   /**
@@ -168,14 +212,34 @@ public class Cell {
     if (this.creatures.size() > 0) {
       throw new IllegalStateException("Should not remove wall once creatures are added");
     }
-    this.walls.remove(direction);
+    this.walls &= ~(1 << direction.ordinal());
   }
 
   /**
    * Returns the list of walls surrounded by the cells.
-   * @return list of walls around this cell
+   * @return unmodifiable list of walls around this cell
    */
   public List<Direction> getWalls() {
+    return DIRECTIONS_FOR_MASK.get(walls);
+  }
+
+  /**
+   * Sets the walls and the visibility of this cell from a snapshot, before its creatures are
+   * added.
+   * @param wallMask bitmask of walls in the same form as {@link #getWallMask()}
+   * @param visible true if the cell was visited
+   */
+  void restore(int wallMask, boolean visible) {
+    this.walls = (byte) (wallMask & ALL_WALLS);
+    this.isVisible = visible;
+  }
+
+  /**
+   * Returns the walls of this cell as a bitmask. A bit is set when there is a wall in the
+   * direction whose ordinal is the position of the bit.
+   * @return bitmask of walls around this cell
+   */
+  int getWallMask() {
     return walls;
   }
 
@@ -190,6 +254,30 @@ public class Cell {
     return sb.toString();
   }
 
+  /**
+   * Returns the length of the text returned by {@link #toString()} without creating the text.
+   * @return length of the text of this cell
+   */
+  int getTextLength() {
+    int length = 1;
+    for (int ii = 0; ii < this.creatures.size(); ii++) {
+      length += this.creatures.get(ii).getCreatureType().getCreatureName().length() + 1;
+    }
+    return length;
+  }
+
+  /**
+   * Writes the text returned by {@link #toString()} without creating the text.
+   * @param out where the text is written
+   * @throws IOException thrown when writing fails
+   */
+  void appendText(Appendable out) throws IOException {
+    out.append(' ');
+    for (int ii = 0; ii < this.creatures.size(); ii++) {
+      out.append(this.creatures.get(ii).getCreatureType().getCreatureName()).append(' ');
+    }
+  }
+
   /**
    * Function returns if there is a wall at the top side of the cell.
    * @return true if there is a wall at the top of the cell
@@ -227,16 +315,15 @@ public class Cell {
    * @return true if the current cell is a tunnel, false otherwise
    */
   boolean isTunnel() {
-    return walls.size() == TUNNEL_CELL_WALLS;
+    return Integer.bitCount(walls) == TUNNEL_CELL_WALLS;
   }
 
   /**
    * Function returns the directions in which a player can move. This method returns a list of
    * directions that does not have any walls and hence permit movement.
-   * @return the list of directions a player can move
+   * @return unmodifiable list of the directions a player can move
    */
   public List<Direction> getSuggestionsForMovement() {
-    return Arrays.stream(Direction.values()).filter((wall -> !walls.contains(wall)))
-            .collect(Collectors.toList());
+    return DIRECTIONS_FOR_MASK.get(~walls & ALL_WALLS);
   }
 }
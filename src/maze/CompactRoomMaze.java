@@ -0,0 +1,1079 @@
+package maze;
+
+import java.awt.Image;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import graph.MazePoint;
+import mazecreatures.BatAction;
+import mazecreatures.CreatureType;
+import mazecreatures.ICreature;
+import mazecreatures.MazeCreature;
+import mazecreatures.PitAction;
+import mazecreatures.WumpusAction;
+import mazeexceptions.RecoverableException;
+import player.MazePlayer;
+import player.PlayerKilledException;
+
+/**
+ * Class that is used to create a wrapping or non-wrapping room maze for very large boards. The
+ * cells are not stored as {@link Cell} objects, instead the walls, creatures, visibility and
+ * tunnel status of every cell are stored in arrays of primitives indexed by
+ * {@code row * columns + column}, which takes a few bytes for every cell. The maze uses the
+ * random number generators in the same way as {@link NonWrappingRoomMaze} and
+ * {@link WrappingRoomMaze}, so a maze created with the same generators has the same walls,
+ * creatures and players and behaves the same way. Cells are created only when the maze is
+ * displayed or when they are asked for by {@link #getNonTunnelCells()}.
+ */
+public class CompactRoomMaze implements IMaze {
+
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private static final int ALL_WALLS = (1 << DIRECTIONS.length) - 1;
+
+  private static final int TUNNEL_CELL_WALLS = 2;
+
+  private static final CreatureType[] CREATURES_BY_PRIORITY = initCreaturesByPriority();
+
+  private static final Map<CreatureType, ICreature> CREATURES = initCreatures();
+
+  private final Random wallGenerator;
+
+  private final Random adversaryGenerator;
+
+  private final Random movementGenerator;
+
+  private final IMazeGenerator mazeGenerator;
+
+  private final int totalRows;
+
+  private final int totalColumns;
+
+  private final boolean wrapping;
+
+  private final int extraInternalWallsToRemove;
+
+  private final int borderWallsToRemove;
+
+  private final byte[] cellWalls;
+
+  private final byte[] cellCreatures;
+
+  private final BitSet tunnelCells;
+
+  private final BitSet visibleCells;
+
+  private final BitSet changedCells;
+
+  private final BitSet removedWalls;
+
+  private final BitSet removedBorderWalls;
+
+  private boolean wallsRemoved;
+
+  private int[] nonTunnelCells;
+
+  private Map<CreatureType, BitSet> creatureAdjacentCells;
+
+  private MazePoint[] points;
+
+  private final List<MazePlayer> players;
+
+  private int nextPlayerIndex;
+
+  private final int playerCount;
+
+  private final List<MazePlayer> killedPlayers;
+
+  private boolean wumpusKilled;
+
+  /**
+   * Constructor that accepts random number generators, rows and column count in maze to
+   * generate a non-wrapping room maze.
+   * @param wallGenerator random number generator for Kruskal's algorithm
+   * @param adversaryGenerator random number generator to add pits, bats to cells.
+   * @param batMovementGenerator random number generator to help with bat moving a player
+   *                             to random cell
+   * @param totalColumns number of columns in maze
+   * @param totalRows number of rows in maze
+   * @param extraInternalWallsToRemove extra walls that have to be removed. These walls are
+   *                                   removed after a perfect maze is generated.
+   * @param playerCount number of players
+   * @throws IllegalArgumentException thrown when invalid null generators, total rows & columns
+   *        are used or trying to remove too many internal walls.
+   */
+  public CompactRoomMaze(Random wallGenerator, Random adversaryGenerator,
+                         Random batMovementGenerator, int totalColumns,
+                         int totalRows, int extraInternalWallsToRemove, int playerCount)
+          throws IllegalArgumentException {
+    this(wallGenerator, adversaryGenerator, batMovementGenerator, totalColumns, totalRows,
+            extraInternalWallsToRemove, playerCount, new KruskalMazeGenerator());
+  }
+
+  /**
+   * Constructor that accepts random number generators, rows, column count in maze and the
+   * algorithm used to generate the perfect maze to generate a non-wrapping room maze.
+   * @param wallGenerator random number generator used by the maze generator and to remove the
+   *                      extra walls
+   * @param adversaryGenerator random number generator to add pits, bats to cells.
+   * @param batMovementGenerator random number generator to help with bat moving a player
+   *                             to random cell
+   * @param totalColumns number of columns in maze
+   * @param totalRows number of rows in maze
+   * @param extraInternalWallsToRemove extra walls that have to be removed. These walls are
+   *                                   removed after a perfect maze is generated.
+   * @param playerCount number of players
+   * @param mazeGenerator the algorithm that picks the walls removed to make a perfect maze
+   * @throws IllegalArgumentException thrown when invalid null generators, total rows & columns
+   *        are used or trying to remove too many internal walls.
+   */
+  public CompactRoomMaze(Random wallGenerator, Random adversaryGenerator,
+                         Random batMovementGenerator, int totalColumns,
+                         int totalRows, int extraInternalWallsToRemove, int playerCount,
+                         IMazeGenerator mazeGenerator)
+          throws IllegalArgumentException {
+    this(wallGenerator, adversaryGenerator, batMovementGenerator, totalColumns, totalRows,
+            extraInternalWallsToRemove, 0, playerCount, false, mazeGenerator);
+  }
+
+  /**
+   * Constructor that accepts random number generators, rows and column count in maze to
+   * generate a wrapping room maze.
+   * @param wallGenerator random number generator for Kruskal's algorithm
+   * @param adversaryGenerator random number generator to add pits, bats to cells.
+   * @param batMovementGenerator random number generator to help with bat moving a player
+   *                             to random cell
+   * @param totalColumns number of columns in maze
+   * @param totalRows number of rows in maze
+   * @param extraInternalWallsToRemove extra walls that have to be removed
+   * @param borderWallsToRemove the number of walls at the border to be removed.
+   * @param playerCount number of players
+   * @throws IllegalArgumentException thrown when invalid null generators, total rows & columns
+   *        are used or trying to remove too many internal or border walls
+   */
+  public CompactRoomMaze(Random wallGenerator, Random adversaryGenerator,
+                         Random batMovementGenerator, int totalColumns,
+                         int totalRows, int extraInternalWallsToRemove, int borderWallsToRemove,
+                         int playerCount)
+          throws IllegalArgumentException {
+    this(wallGenerator, adversaryGenerator, batMovementGenerator, totalColumns, totalRows,
+            extraInternalWallsToRemove, borderWallsToRemove, playerCount,
+            new KruskalMazeGenerator());
+  }
+
+  /**
+   * Constructor that accepts random number generators, rows, column count in maze and the
+   * algorithm used to generate the perfect maze to generate a wrapping room maze.
+   * @param wallGenerator random number generator used by the maze generator and to remove the
+   *                      extra walls
+   * @param adversaryGenerator random number generator to add pits, bats to cells.
+   * @param batMovementGenerator random number generator to help with bat moving a player
+   *                             to random cell
+   * @param totalColumns number of columns in maze
+   * @param totalRows number of rows in maze
+   * @param extraInternalWallsToRemove extra walls that have to be removed
+   * @param borderWallsToRemove the number of walls at the border to be removed.
+   * @param playerCount number of players
+   * @param mazeGenerator the algorithm that picks the walls removed to make a perfect maze
+   * @throws IllegalArgumentException thrown when invalid null generators, total rows & columns
+   *        are used or trying to remove too many internal or border walls
+   */
+  public CompactRoomMaze(Random wallGenerator, Random adversaryGenerator,
+                         Random batMovementGenerator, int totalColumns,
+                         int totalRows, int extraInternalWallsToRemove, int borderWallsToRemove,
+                         int playerCount, IMazeGenerator mazeGenerator)
+          throws IllegalArgumentException {
+    this(wallGenerator, adversaryGenerator, batMovementGenerator, totalColumns, totalRows,
+            extraInternalWallsToRemove, borderWallsToRemove, playerCount, true, mazeGenerator);
+  }
+
+  private CompactRoomMaze(Random wallGenerator, Random adversaryGenerator,
+                          Random batMovementGenerator, int totalColumns, int totalRows,
+                          int extraInternalWallsToRemove, int borderWallsToRemove,
+                          int playerCount, boolean wrapping, IMazeGenerator mazeGenerator)
+          throws IllegalArgumentException {
+    if (mazeGenerator == null) {
+      throw new IllegalArgumentException("Maze generator can't be null");
+    }
+    if (totalColumns <= 0 || totalRows <= 0) {
+      throw new IllegalArgumentException("Number of rows and columns in a maze can't be negative");
+    }
+    if (wallGenerator == null || adversaryGenerator == null || batMovementGenerator == null) {
+      throw new IllegalArgumentException("Bat, adversary or movement Generators can't be null\n");
+    }
+    if (playerCount < 1) {
+      throw new IllegalArgumentException("Number of players can't be less than one");
+    }
+    this.wallGenerator = wallGenerator;
+    this.adversaryGenerator = adversaryGenerator;
+    this.movementGenerator = batMovementGenerator;
+    this.mazeGenerator = mazeGenerator;
+    this.totalRows = totalRows;
+    this.totalColumns = totalColumns;
+    this.wrapping = wrapping;
+    if (extraInternalWallsToRemove < 0) {
+      throw new IllegalArgumentException("Non-negative value required for internal walls to be "
+              + "removed");
+    }
+    if (minimumWallsToRemove() < extraInternalWallsToRemove + (totalRows * totalColumns - 1)) {
+      throw new IllegalArgumentException("Not enough walls exist that can be removed to generate "
+              + "non-wrapping room maze");
+    }
+    if (borderWallsToRemove < 0) {
+      throw new IllegalArgumentException("Non-negative value required for border walls to be "
+              + "removed");
+    }
+    if (borderWallsToRemove > getBorderWallsCount()) {
+      throw new IllegalArgumentException("Trying to remove too many border walls");
+    }
+    this.extraInternalWallsToRemove = extraInternalWallsToRemove;
+    this.borderWallsToRemove = borderWallsToRemove;
+    int totalCells = totalRows * totalColumns;
+    this.cellWalls = new byte[totalCells];
+    Arrays.fill(this.cellWalls, (byte) ALL_WALLS);
+    this.cellCreatures = new byte[totalCells];
+    this.tunnelCells = new BitSet(totalCells);
+    this.visibleCells = new BitSet(totalCells);
+    this.changedCells = new BitSet(totalCells);
+    this.removedWalls = new BitSet(minimumWallsToRemove());
+    this.removedBorderWalls = new BitSet(getBorderWallsCount());
+    this.wallsRemoved = false;
+    this.players = new ArrayList<>(playerCount);
+    this.playerCount = playerCount;
+    this.nextPlayerIndex = 0;
+    this.killedPlayers = new ArrayList<>();
+    this.wumpusKilled = false;
+  }
+
+  private static CreatureType[] initCreaturesByPriority() {
+    CreatureType[] creatureTypes = CreatureType.values();
+    Arrays.sort(creatureTypes, (first, second) -> second.getPriority() - first.getPriority());
+    return creatureTypes;
+  }
+
+  private static Map<CreatureType, ICreature> initCreatures() {
+    Map<CreatureType, ICreature> creatures = new EnumMap<>(CreatureType.class);
+    creatures.put(CreatureType.BAT, new MazeCreature(CreatureType.BAT, new BatAction()));
+    creatures.put(CreatureType.PIT, new MazeCreature(CreatureType.PIT, new PitAction()));
+    creatures.put(CreatureType.WUMPUS, new MazeCreature(CreatureType.WUMPUS,
+            new WumpusAction()));
+    return Collections.unmodifiableMap(creatures);
+  }
+
+  @Override
+  public int minimumWallsToRemove() {
+    return (totalRows - 1) * totalColumns + (totalColumns - 1) * totalRows;
+  }
+
+  private int getBorderWallsCount() {
+    return totalColumns + totalRows;
+  }
+
+  @Override
+  public boolean isWrappingMaze() {
+    return this.wrapping;
+  }
+
+  /**
+   * The walls of this maze are not stored, a wall is found from its index in the order the
+   * other mazes create their walls. This only forgets which walls were removed.
+   */
+  @Override
+  public void initWallsForMaze() {
+    this.removedWalls.clear();
+    this.removedBorderWalls.clear();
+  }
+
+  @Override
+  public void removeWalls(Map<CreatureType, Integer> percentages, int totalPlayerArrows)
+          throws UnsupportedOperationException, IllegalArgumentException, PlayerKilledException {
+    if (this.wallsRemoved) {
+      throw new UnsupportedOperationException("Remove walls should be called only once");
+    }
+    this.mazeGenerator.generateMaze(totalRows, totalColumns, this.wallGenerator,
+            this::removeInternalWall);
+    for (int wall : pickRemainingWalls(this.removedWalls, minimumWallsToRemove(),
+            this.extraInternalWallsToRemove)) {
+      removeInternalWall(wall);
+    }
+    if (this.wrapping) {
+      for (int wall : pickRemainingWalls(this.removedBorderWalls, getBorderWallsCount(),
+              this.borderWallsToRemove)) {
+        removeBorderWall(wall);
+      }
+    }
+    this.wallsRemoved = true;
+    addCreaturesToCells(percentages, totalPlayerArrows);
+  }
+
+  /**
+   * Picks random walls that are still present, without replacement, in the same way as
+   * {@link NonWrappingRoomMaze#removeExtraWalls(Wall[], int)}.
+   * @param removed the walls that are already removed
+   * @param totalWalls number of walls
+   * @param wallsToRemove number of walls to pick
+   * @return indexes of the walls picked
+   * @throws IllegalArgumentException thrown when fewer walls are left than have to be removed
+   */
+  private int[] pickRemainingWalls(BitSet removed, int totalWalls, int wallsToRemove)
+          throws IllegalArgumentException {
+    int[] remainingWalls = new int[totalWalls - removed.cardinality()];
+    int remainingCount = 0;
+    for (int wall = removed.nextClearBit(0); wall < totalWalls;
+         wall = removed.nextClearBit(wall + 1)) {
+      remainingWalls[remainingCount++] = wall;
+    }
+    if (wallsToRemove < 0 || wallsToRemove > remainingCount) {
+      throw new IllegalArgumentException("Not enough walls exist that can be removed");
+    }
+    MazeUtils.sampleIndexes(remainingWalls, remainingCount, wallsToRemove, this.wallGenerator);
+    return Arrays.copyOf(remainingWalls, wallsToRemove);
+  }
+
+  private int getNextCellIndex(int cellIndex, boolean vertical) {
+    int row = cellIndex / totalColumns;
+    int column = cellIndex % totalColumns;
+    if (vertical) {
+      return row * totalColumns + (column + 1) % totalColumns;
+    }
+    return ((row + 1) % totalRows) * totalColumns + column;
+  }
+
+  private void removeInternalWall(int wall) {
+    removeWallHelper(AbstractMazeGenerator.getWallCellIndex(totalRows, totalColumns, wall),
+            AbstractMazeGenerator.isVerticalWall(totalRows, totalColumns, wall));
+    this.removedWalls.set(wall);
+  }
+
+  /**
+   * Removes a wall at the border of the maze. The walls at the east border are numbered before
+   * the walls at the south border.
+   * @param wall index of the border wall
+   */
+  private void removeBorderWall(int wall) {
+    if (wall < totalRows) {
+      removeWallHelper(wall * totalColumns + totalColumns - 1, true);
+    } else {
+      removeWallHelper((totalRows - 1) * totalColumns + wall - totalRows, false);
+    }
+    this.removedBorderWalls.set(wall);
+  }
+
+  private void removeWallHelper(int cellIndex, boolean vertical) throws IllegalStateException {
+    int nextCellIndex = getNextCellIndex(cellIndex, vertical);
+    if (vertical) {
+      removeWallInDirection(cellIndex, Direction.EAST);
+      removeWallInDirection(nextCellIndex, Direction.WEST);
+    } else {
+      removeWallInDirection(cellIndex, Direction.SOUTH);
+      removeWallInDirection(nextCellIndex, Direction.NORTH);
+    }
+    this.nonTunnelCells = null;
+    this.creatureAdjacentCells = null;
+  }
+
+  private void removeWallInDirection(int cellIndex, Direction direction)
+          throws IllegalStateException {
+    if (!hasWallInDirection(cellIndex, direction.ordinal())) {
+      throw new IllegalStateException("Trying to remove a wall when wall is not present");
+    }
+    if (this.cellCreatures[cellIndex] != 0) {
+      throw new IllegalStateException("Should not remove wall once creatures are added");
+    }
+    this.cellWalls[cellIndex] &= ~(1 << direction.ordinal());
+    this.tunnelCells.set(cellIndex, Integer.bitCount(this.cellWalls[cellIndex])
+            == TUNNEL_CELL_WALLS);
+  }
+
+  private boolean hasWallInDirection(int cellIndex, int direction) {
+    return (this.cellWalls[cellIndex] & (1 << direction)) != 0;
+  }
+
+  private boolean hasCreature(int cellIndex, CreatureType creatureType) {
+    return (this.cellCreatures[cellIndex] & (1 << creatureType.ordinal())) != 0;
+  }
+
+  private void addCreature(int cellIndex, CreatureType creatureType)
+          throws UnsupportedOperationException {
+    if (hasCreature(cellIndex, creatureType)) {
+      throw new UnsupportedOperationException("Cannot add same creature more than once");
+    }
+    if (this.tunnelCells.get(cellIndex)) {
+      throw new UnsupportedOperationException("Cannot add creature to tunnel");
+    }
+    this.cellCreatures[cellIndex] |= 1 << creatureType.ordinal();
+  }
+
+  private boolean canCellKillPlayer(int cellIndex) {
+    return hasCreature(cellIndex, CreatureType.PIT) || hasCreature(cellIndex, CreatureType.WUMPUS);
+  }
+
+  /**
+   * Returns the indexes of the cells that are not tunnels, in the order of their index. The
+   * walls don't change once they are removed, so the cells are found only once and are found
+   * again only if a wall is removed later.
+   */
+  private int[] getNonTunnelCellIndexes() {
+    if (this.nonTunnelCells == null) {
+      int totalCells = totalRows * totalColumns;
+      int[] cellIndexes = new int[totalCells - this.tunnelCells.cardinality()];
+      int count = 0;
+      for (int ii = this.tunnelCells.nextClearBit(0); ii < totalCells;
+           ii = this.tunnelCells.nextClearBit(ii + 1)) {
+        cellIndexes[count++] = ii;
+      }
+      this.nonTunnelCells = cellIndexes;
+    }
+    return this.nonTunnelCells;
+  }
+
+  private void addCreaturesToCells(Map<CreatureType, Integer> percentages, int arrowCount) throws
+          IllegalArgumentException, UnsupportedOperationException, IllegalStateException,
+          PlayerKilledException {
+    int[] availableCells = getNonTunnelCellIndexes().clone();
+    if (percentages == null || percentages.isEmpty()) {
+      addWumpus(availableCells);
+      initPlayerPosition(arrowCount);
+      return;
+    }
+    for (Map.Entry<CreatureType, Integer> mapPair : percentages.entrySet()) {
+      if (mapPair.getValue() < 0 || mapPair.getValue() > MazeUtils.MAX_PERCENT) {
+        throw new IllegalArgumentException( mapPair.getKey().getCreatureName()
+                + " percentage is not between 0 and 100");
+      }
+    }
+    addWumpus(availableCells);
+    for (Map.Entry<CreatureType, Integer> mapPair : percentages.entrySet()) {
+      int numCreaturesToAdd = availableCells.length *  mapPair.getValue() / MazeUtils.MAX_PERCENT;
+      addSingleCreature(mapPair.getKey(), availableCells, numCreaturesToAdd);
+    }
+    initPlayerPosition(arrowCount);
+  }
+
+  private void addWumpus(int[] availableCells) throws IllegalStateException {
+    if (availableCells.length < CreatureType.WUMPUS.getCreatureTotalOccurrences()) {
+      throw new IllegalStateException("No cells present where Wumpus can be added, game"
+              + " cannot be played\n");
+    }
+    addSingleCreature(CreatureType.WUMPUS, availableCells,
+            CreatureType.WUMPUS.getCreatureTotalOccurrences());
+  }
+
+  /**
+   * Adds creatures to random cells in the same way as {@link AbstractMaze}, with a partial
+   * Fisher-Yates shuffle of the cells that is reused for every type of creature.
+   */
+  private void addSingleCreature(CreatureType creatureToAdd, int[] availableCells,
+                                 int numCreaturesToAdd) {
+    MazeUtils.sampleIndexes(availableCells, availableCells.length, numCreaturesToAdd,
+            this.adversaryGenerator);
+    for (int currentAdded = 0; currentAdded < numCreaturesToAdd; currentAdded++) {
+      addCreature(availableCells[currentAdded], creatureToAdd);
+    }
+    this.creatureAdjacentCells = null;
+  }
+
+  private void initPlayerPosition(int arrowCount) throws IllegalStateException,
+          IllegalArgumentException, PlayerKilledException {
+    if (arrowCount <= 0) {
+      throw new IllegalArgumentException("Arrow count cannot be less than zero");
+    }
+    for (int iPlayerTurn = 0; iPlayerTurn < this.playerCount; iPlayerTurn++) {
+      int[] rooms = getNonTunnelCellIndexes();
+      int[] availableCells = new int[rooms.length];
+      int availableCount = 0;
+      for (int room : rooms) {
+        if (!canCellKillPlayer(room)) {
+          availableCells[availableCount++] = room;
+        }
+      }
+      if (availableCount <= 0) {
+        throw new IllegalStateException("No cells present to place a player without killing"
+                + " them");
+      }
+      int playerCell = availableCells[this.movementGenerator.nextInt(availableCount)];
+      this.players.add(new MazePlayer(playerCell / totalColumns, playerCell % totalColumns,
+              arrowCount, iPlayerTurn));
+      performCellActions(playerCell, this.players.get(this.nextPlayerIndex));
+      changePlayerTurn();
+    }
+  }
+
+  /**
+   * Performs the actions of the creatures in a cell, in the order of their priority, when a
+   * player is added to the cell. The actions stop once the player has been moved to another
+   * cell.
+   * @param cellIndex index of the cell
+   * @param player player playing the game
+   * @throws PlayerKilledException thrown when a player is killed.
+   */
+  private void performCellActions(int cellIndex, MazePlayer player)
+          throws PlayerKilledException {
+    markCellVisited(cellIndex);
+    for (CreatureType creatureType : CREATURES_BY_PRIORITY) {
+      if (!hasCreature(cellIndex, creatureType)) {
+        continue;
+      }
+      if (getCellIndex(player.getCurrentCoordinates()) != cellIndex) {
+        return;
+      }
+      CREATURES.get(creatureType).executeAction(player, this);
+    }
+  }
+
+  private void markCellVisited(int cellIndex) {
+    if (!this.visibleCells.get(cellIndex)) {
+      this.visibleCells.set(cellIndex);
+      this.changedCells.set(cellIndex);
+    }
+  }
+
+  @Override
+  public int getCellIndex(MazePoint point) throws IllegalArgumentException {
+    if (point == null) {
+      throw new IllegalArgumentException("Point can't be null");
+    }
+    int row = point.getXCoordinate();
+    int column = point.getYCoordinate();
+    if (this.wrapping) {
+      row = Math.floorMod(row, totalRows);
+      column = Math.floorMod(column, totalColumns);
+    } else if (column < 0 || column >= totalColumns) {
+      throw new IllegalArgumentException("Column beyond maze maximum column size while walking");
+    } else if (row < 0 || row >= totalRows) {
+      throw new IllegalArgumentException("Row beyond maze maximum row size while walking");
+    }
+    return row * totalColumns + column;
+  }
+
+  /**
+   * The positions are created the first time they are asked for and are kept in a table with
+   * an entry for every cell, so a position is never created twice.
+   */
+  @Override
+  public MazePoint getPoint(int cellIndex) throws IllegalArgumentException {
+    checkCellIndex(cellIndex);
+    if (this.points == null) {
+      this.points = new MazePoint[totalRows * totalColumns];
+    }
+    MazePoint point = this.points[cellIndex];
+    if (point == null) {
+      point = new MazePoint(cellIndex / totalColumns, cellIndex % totalColumns);
+      this.points[cellIndex] = point;
+    }
+    return point;
+  }
+
+  private int checkCellIndex(int cellIndex) throws IllegalArgumentException {
+    if (cellIndex < 0 || cellIndex >= totalRows * totalColumns) {
+      throw new IllegalArgumentException("Cell index beyond the cells of the maze");
+    }
+    return cellIndex;
+  }
+
+  /**
+   * Returns the index of the cell next to a cell in a direction.
+   * @param cellIndex index of the cell
+   * @param direction ordinal of the direction
+   * @return index of the next cell
+   * @throws IllegalStateException thrown when walking beyond the border of a non-wrapping maze
+   */
+  private int getNeighbourIndex(int cellIndex, int direction) throws IllegalStateException {
+    int row = cellIndex / totalColumns + DIRECTIONS[direction].getRowOffset();
+    int column = cellIndex % totalColumns + DIRECTIONS[direction].getColumnOffset();
+    if (this.wrapping) {
+      row = Math.floorMod(row, totalRows);
+      column = Math.floorMod(column, totalColumns);
+    } else if (row < 0 || row >= totalRows || column < 0 || column >= totalColumns) {
+      throw new IllegalStateException("Walked beyond the border of the maze");
+    }
+    return row * totalColumns + column;
+  }
+
+  private static int getInverseDirection(int direction) {
+    return (direction + DIRECTIONS.length / 2) % DIRECTIONS.length;
+  }
+
+  /**
+   * Returns the direction in which a tunnel is left when it is entered walking in a direction.
+   * @param tunnel index of the tunnel cell
+   * @param walkDirection ordinal of the direction of walking when entering the tunnel
+   * @return ordinal of the direction in which the tunnel is left
+   */
+  private int getTunnelExit(int tunnel, int walkDirection) throws IllegalStateException {
+    int exits = ~this.cellWalls[tunnel] & ALL_WALLS & ~(1 << getInverseDirection(walkDirection));
+    if (Integer.bitCount(exits) != 1) {
+      throw new IllegalStateException("Too many or too less direction present to continue "
+              + "movement through tunnel");
+    }
+    return Integer.numberOfTrailingZeros(exits);
+  }
+
+  /**
+   * Walks from a room through the tunnels in a direction until the next room is reached.
+   * @param cellIndex index of the room to start from
+   * @param walkDirection ordinal of the direction to start walking in
+   * @param markCellAsVisited true if the cells on the way have to be marked as visited
+   * @return index of the room reached multiplied by the number of directions plus the ordinal
+   *        of the direction in which the last tunnel was left
+   */
+  private int walkToNextRoom(int cellIndex, int walkDirection, boolean markCellAsVisited)
+          throws IllegalStateException {
+    int totalCells = totalRows * totalColumns;
+    int tunnelCellsWalked = 0;
+    while (true) {
+      cellIndex = getNeighbourIndex(cellIndex, walkDirection);
+      if (markCellAsVisited) {
+        markCellVisited(cellIndex);
+      }
+      if (!this.tunnelCells.get(cellIndex)) {
+        return cellIndex * DIRECTIONS.length + walkDirection;
+      }
+      if (++tunnelCellsWalked >= totalCells) {
+        throw new IllegalStateException("Tunnel does not end in a cell");
+      }
+      walkDirection = getTunnelExit(cellIndex, walkDirection);
+    }
+  }
+
+  /**
+   * Returns the room reached after walking through a number of rooms from a room. Tunnels are
+   * not counted, so a distance of 1 is the current room and a distance of 2 is the next room
+   * in the direction of walking.
+   * @param cellIndex index of the room to start from
+   * @param direction the direction to start walking in
+   * @param distance number of rooms including the current room
+   * @param markCellAsVisited true if the cells on the way have to be marked as visited
+   * @return index of the room reached, -1 if a wall is met on the way
+   * @throws IllegalStateException thrown when walking from a tunnel
+   */
+  private int getCellAtDistance(int cellIndex, Direction direction, int distance,
+                                boolean markCellAsVisited) throws IllegalStateException {
+    if (markCellAsVisited) {
+      markCellVisited(cellIndex);
+    }
+    if (this.tunnelCells.get(cellIndex)) {
+      throw new IllegalStateException("Cannot walk through the maze from a tunnel");
+    }
+    int walkDirection = direction.ordinal();
+    for (int remaining = distance - 1; remaining > 0; remaining--) {
+      if (hasWallInDirection(cellIndex, walkDirection)) {
+        return -1;
+      }
+      int nextRoom = walkToNextRoom(cellIndex, walkDirection, markCellAsVisited);
+      cellIndex = nextRoom / DIRECTIONS.length;
+      walkDirection = nextRoom % DIRECTIONS.length;
+    }
+    return cellIndex;
+  }
+
+  @Override
+  public boolean checkCreatureInAdjacentCells(MazePoint point, CreatureType creatureType,
+                                              Direction exclude)
+          throws IllegalStateException, IllegalArgumentException {
+    return checkCreatureInAdjacentCells(getCellIndex(point), creatureType, exclude);
+  }
+
+  @Override
+  public boolean checkCreatureInAdjacentCells(int cellIndex, CreatureType creatureType,
+                                              Direction exclude)
+          throws IllegalStateException, IllegalArgumentException {
+    checkCellIndex(cellIndex);
+    if (exclude != null) {
+      return cellTraverseHelper(cellIndex, creatureType, exclude.ordinal());
+    }
+    if (this.tunnelCells.get(cellIndex)) {
+      throw new IllegalArgumentException("Checking daft/smell through a tunnel without excluding "
+              + "default direction");
+    }
+    return getCreatureAdjacentCells(creatureType).get(cellIndex);
+  }
+
+  private boolean cellTraverseHelper(int cellIndex, CreatureType creatureType, int exclude)
+          throws IllegalStateException {
+    if (!this.tunnelCells.get(cellIndex)) {
+      return hasCreature(cellIndex, creatureType);
+    }
+    for (int dir = 0; dir < DIRECTIONS.length; dir++) {
+      if (dir == exclude || hasWallInDirection(cellIndex, dir)) {
+        continue;
+      }
+      if (cellTraverseHelper(getNeighbourIndex(cellIndex, dir), creatureType,
+              getInverseDirection(dir))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the cells which are next to a creature of the given type, either directly or through
+   * tunnels. The cells are found only once for every type of creature and are found again only
+   * if a wall is removed or a creature is added later.
+   * @param creatureType the type of creature
+   * @return the cells next to the creature marked by their index in the maze
+   */
+  private BitSet getCreatureAdjacentCells(CreatureType creatureType) {
+    if (this.creatureAdjacentCells == null) {
+      int totalCells = totalRows * totalColumns;
+      Map<CreatureType, BitSet> adjacentCells = new EnumMap<>(CreatureType.class);
+      for (CreatureType type : CreatureType.values()) {
+        adjacentCells.put(type, new BitSet(totalCells));
+      }
+      for (int room = this.tunnelCells.nextClearBit(0); room < totalCells;
+           room = this.tunnelCells.nextClearBit(room + 1)) {
+        for (int dir = 0; dir < DIRECTIONS.length; dir++) {
+          if (hasWallInDirection(room, dir)) {
+            continue;
+          }
+          int adjacentRoom = walkToNextRoom(room, dir, false) / DIRECTIONS.length;
+          for (CreatureType type : CreatureType.values()) {
+            if (hasCreature(adjacentRoom, type)) {
+              adjacentCells.get(type).set(room);
+            }
+          }
+        }
+      }
+      this.creatureAdjacentCells = adjacentCells;
+    }
+    return this.creatureAdjacentCells.get(creatureType);
+  }
+
+  @Override
+  public void movePlayerInDirection(Direction direction) throws IllegalArgumentException,
+          IllegalStateException, PlayerKilledException, RecoverableException {
+    MazePlayer playerToMove = players.get(nextPlayerIndex);
+    int currentCell = getCellIndex(playerToMove.getCurrentCoordinates());
+    int nextCell = getCellAtDistance(currentCell, direction, 2, true);
+    if (nextCell < 0) {
+      throw new RecoverableException("Cannot move player in the direction specified, try again");
+    }
+    playerToMove.setNewPosition(getPoint(nextCell));
+    this.changedCells.set(currentCell);
+    try {
+      performCellActions(nextCell, playerToMove);
+    } finally {
+      markCellChanged(playerToMove.getCurrentCoordinates());
+    }
+    changePlayerTurn();
+  }
+
+  @Override
+  public boolean shootArrow(MazePoint point, Direction dir, int power)
+          throws IllegalStateException, IllegalArgumentException, RecoverableException,
+          PlayerKilledException {
+    return shootArrow(getCellIndex(point), dir, power);
+  }
+
+  @Override
+  public boolean shootArrow(int cellIndex, Direction dir, int power)
+          throws IllegalStateException, IllegalArgumentException, RecoverableException,
+          PlayerKilledException {
+    if (this.tunnelCells.get(checkCellIndex(cellIndex))) {
+      throw new IllegalStateException("Cannot shoot arrow from a tunnel");
+    }
+    if (dir == null || hasWallInDirection(cellIndex, dir.ordinal())) {
+      throw new RecoverableException("Cannot shoot arrow in the direction of a wall, try again");
+    }
+    int finalCell = getCellAtDistance(cellIndex, dir, power + 1, false);
+    if (finalCell >= 0 && hasCreature(finalCell, CreatureType.WUMPUS)) {
+      markWumpusDead();
+      return true;
+    }
+    try {
+      players.get(nextPlayerIndex).reduceArrowCount();
+    } catch (PlayerKilledException exception) {
+      this.incrementKilledPlayersCount(players.get(nextPlayerIndex));
+      throw exception;
+    }
+    changePlayerTurn();
+    return false;
+  }
+
+  @Override
+  public MazePoint getExpectedMovementPosition(MazePoint point, Direction dir) {
+    int finalCell = getExpectedMovementPosition(getCellIndex(point), dir);
+    if (finalCell >= 0) {
+      return getPoint(finalCell);
+    }
+    return null;
+  }
+
+  @Override
+  public int getExpectedMovementPosition(int cellIndex, Direction dir) {
+    if (this.tunnelCells.get(checkCellIndex(cellIndex))) {
+      throw new UnsupportedOperationException("Cannot measure distance from a tunnel cell");
+    }
+    return getCellAtDistance(cellIndex, dir, 2, false);
+  }
+
+  @Override
+  public boolean resultingCellHasCreature(MazePoint point, Direction dir,
+                                          CreatureType creatureType, int distance) {
+    return resultingCellHasCreature(getCellIndex(point), dir, creatureType, distance);
+  }
+
+  @Override
+  public boolean resultingCellHasCreature(int cellIndex, Direction dir,
+                                          CreatureType creatureType, int distance) {
+    if (this.tunnelCells.get(checkCellIndex(cellIndex))) {
+      throw new UnsupportedOperationException("Cannot find distance from a tunnel cell");
+    }
+    if (distance <= 0) {
+      throw new UnsupportedOperationException("Distance from the current cell should"
+              + " be non-zero");
+    }
+    if (dir == null) {
+      throw new UnsupportedOperationException("Direction cannot be null when determining "
+              + "distance from a position");
+    }
+    int finalCell = getCellAtDistance(cellIndex, dir, distance, false);
+    return finalCell >= 0 && hasCreature(finalCell, creatureType);
+  }
+
+  /**
+   * Creates a cell with the walls, creatures and visibility of a cell of this maze. The cell is
+   * a copy and changing it does not change the maze.
+   * @param cellIndex index of the cell
+   * @return a copy of the cell
+   */
+  private Cell createCell(int cellIndex) {
+    Cell cell = new Cell(cellIndex / totalColumns, cellIndex % totalColumns);
+    for (Direction dir : DIRECTIONS) {
+      if (!hasWallInDirection(cellIndex, dir.ordinal())) {
+        cell.removeWallInDirection(dir);
+      }
+    }
+    for (CreatureType creatureType : CREATURES_BY_PRIORITY) {
+      if (hasCreature(cellIndex, creatureType)) {
+        cell.addCreature(CREATURES.get(creatureType));
+      }
+    }
+    if (this.visibleCells.get(cellIndex)) {
+      cell.markVisible();
+    }
+    return cell;
+  }
+
+  private Cell[] createCellRow(int row) {
+    Cell[] cells = new Cell[totalColumns];
+    for (int jj = 0; jj < totalColumns; jj++) {
+      cells[jj] = createCell(row * totalColumns + jj);
+    }
+    return cells;
+  }
+
+  private Cell[][] createCellGrid() {
+    Cell[][] grid = new Cell[totalRows][];
+    for (int ii = 0; ii < totalRows; ii++) {
+      grid[ii] = createCellRow(ii);
+    }
+    return grid;
+  }
+
+  /**
+   * Returns copies of the cells that are not tunnels. Changing the cells does not change the
+   * maze.
+   * @return copies of the cells that are not tunnels
+   */
+  @Override
+  public List<Cell> getNonTunnelCells() {
+    int[] rooms = getNonTunnelCellIndexes();
+    List<Cell> cells = new ArrayList<>(rooms.length);
+    for (int room : rooms) {
+      cells.add(createCell(room));
+    }
+    return Collections.unmodifiableList(cells);
+  }
+
+  @Override
+  public int getNonTunnelCellCount() {
+    return getNonTunnelCellIndexes().length;
+  }
+
+  @Override
+  public void movePlayerToNonTunnelCell(MazePlayer player, int nonTunnelCellIndex)
+          throws PlayerKilledException {
+    int cellIndex = getNonTunnelCellIndexes()[nonTunnelCellIndex];
+    player.setNewPosition(getPoint(cellIndex));
+    performCellActions(cellIndex, player);
+  }
+
+  @Override
+  public String printMaze(boolean showBarriers) {
+    return MazeUtils.render(createCellGrid(), players, showBarriers);
+  }
+
+  /**
+   * The cells of a row are copied only when the row is rendered, so only one row of cells is
+   * kept at a time.
+   */
+  @Override
+  public void printMaze(boolean showBarriers, Appendable out) throws IOException {
+    MazeUtils.render(totalRows, this::createCellRow, players, showBarriers, out);
+  }
+
+  @Override
+  public void printMaze(boolean showBarriers, MazeViewport viewport, Appendable out)
+          throws IOException, IllegalArgumentException {
+    Cell[][] grid = createViewportCells(viewport);
+    MazeUtils.render(grid.length, row -> grid[row], players, showBarriers, out);
+  }
+
+  /**
+   * Creates copies of the cells inside a viewport.
+   * @param viewport the part of the maze
+   * @return copies of the cells in the viewport
+   * @throws IllegalArgumentException thrown when the viewport is null or outside the maze
+   */
+  private Cell[][] createViewportCells(MazeViewport viewport) throws IllegalArgumentException {
+    if (viewport == null) {
+      throw new IllegalArgumentException("Viewport can't be null");
+    }
+    int[] rows = viewport.getRows(totalRows, wrapping);
+    int[] columns = viewport.getColumns(totalColumns, wrapping);
+    Cell[][] grid = new Cell[rows.length][columns.length];
+    for (int ii = 0; ii < rows.length; ii++) {
+      for (int jj = 0; jj < columns.length; jj++) {
+        grid[ii][jj] = createCell(rows[ii] * totalColumns + columns[jj]);
+      }
+    }
+    return grid;
+  }
+
+  @Override
+  public Image[][] getImagesToDisplayInCells(boolean showBarriers) {
+    this.changedCells.clear();
+    return MazeUtils.renderImages(createCellGrid(), showBarriers, this, players);
+  }
+
+  @Override
+  public Image[][] getImagesToDisplayInCells(boolean showBarriers, MazeViewport viewport)
+          throws IllegalArgumentException {
+    return MazeUtils.renderImages(createViewportCells(viewport), showBarriers, this, players);
+  }
+
+  @Override
+  public Map<MazePoint, Image> getChangedCellImages(boolean showBarriers) {
+    Map<MazePoint, Image> cellImages = new LinkedHashMap<>();
+    for (int ii = this.changedCells.nextSetBit(0); ii >= 0;
+         ii = this.changedCells.nextSetBit(ii + 1)) {
+      cellImages.put(getPoint(ii), MazeUtils.renderCellImage(createCell(ii), showBarriers,
+              this, players));
+    }
+    this.changedCells.clear();
+    return cellImages;
+  }
+
+  @Override
+  public void markCellChanged(MazePoint point) {
+    this.changedCells.set(getCellIndex(point));
+  }
+
+  @Override
+  public void markCellChanged(int cellIndex) {
+    this.changedCells.set(checkCellIndex(cellIndex));
+  }
+
+  private void markHiddenCellsChanged() {
+    int totalCells = totalRows * totalColumns;
+    for (int ii = this.visibleCells.nextClearBit(0); ii < totalCells;
+         ii = this.visibleCells.nextClearBit(ii + 1)) {
+      this.changedCells.set(ii);
+    }
+  }
+
+  @Override
+  public int getTotalRows() {
+    return this.totalRows;
+  }
+
+  @Override
+  public int getTotalColumns() {
+    return this.totalColumns;
+  }
+
+  @Override
+  public Random getMovementGenerator() {
+    return this.movementGenerator;
+  }
+
+  @Override
+  public boolean allRequestedWallsRemoved() {
+    return this.wallsRemoved;
+  }
+
+  @Override
+  public MazePoint getActivePlayerCoordinates() {
+    return players.get(nextPlayerIndex).getCurrentCoordinates();
+  }
+
+  @Override
+  public int getActivePlayerCellIndex() {
+    return getCellIndex(players.get(nextPlayerIndex).getCurrentCoordinates());
+  }
+
+  @Override
+  public List<Direction> getValidDirectionsForMovement() {
+    int cellIndex = getCellIndex(players.get(nextPlayerIndex).getCurrentCoordinates());
+    return Cell.getDirectionsForMask(~this.cellWalls[cellIndex]);
+  }
+
+  @Override
+  public int getActivePlayerIndex() {
+    return this.nextPlayerIndex;
+  }
+
+  @Override
+  public void changePlayerTurn() {
+    if (!isGameComplete()) {
+      do {
+        this.nextPlayerIndex = ((this.nextPlayerIndex + 1) % this.playerCount);
+      }
+      while (this.nextPlayerIndex < this.players.size()
+              && !this.players.get(nextPlayerIndex).isPlayerAlive());
+    }
+  }
+
+  @Override
+  public void incrementKilledPlayersCount(MazePlayer player) {
+    this.killedPlayers.add(player);
+    markCellChanged(player.getCurrentCoordinates());
+    if (isGameComplete()) {
+      markHiddenCellsChanged();
+    }
+    this.changePlayerTurn();
+  }
+
+  @Override
+  public boolean isGameComplete() {
+    return killedPlayers.size() >= playerCount || wumpusKilled;
+  }
+
+  @Override
+  public void markWumpusDead() {
+    wumpusKilled = true;
+    markHiddenCellsChanged();
+  }
+
+  @Override
+  public int lastKilledPlayerIndex() throws IllegalStateException {
+    if (killedPlayers.isEmpty()) {
+      throw new IllegalArgumentException("No players were killed but fetching last killed "
+              + "player index");
+    }
+    return killedPlayers.get(killedPlayers.size() - 1).getPlayerIndex();
+  }
+
+  @Override
+  public String toString() {
+    return MazeUtils.render(createCellGrid(), players, true);
+  }
+}
@@ -1,8 +1,5 @@
 package maze;
 
-import java.util.Arrays;
-import java.util.List;
-
 import graph.MazePoint;
 
 /**
@@ -17,10 +14,18 @@ public enum Direction {
 
   private final String directionString;
 
+  private final int rowOffset;
+
+  private final int columnOffset;
+
   private final MazePoint movementPoint;
 
+  private static final Direction[] DIRECTIONS = values();
+
   Direction(String dir, int xMovement, int yMovement) {
     this.directionString = dir;
+    this.rowOffset = xMovement;
+    this.columnOffset = yMovement;
     this.movementPoint = new MazePoint(xMovement, yMovement);
   }
 
@@ -31,18 +36,30 @@ public enum Direction {
    * @return the final point after movement
    */
   public MazePoint getNextPoint(MazePoint point) {
-    MazePoint newPoint = new MazePoint(point.getXCoordinate() + this.getMovementPoint()
-            .getXCoordinate(),
-            point.getYCoordinate() + this.getMovementPoint()
-                    .getYCoordinate());
-    return newPoint;
-
+    return new MazePoint(point.getXCoordinate() + this.rowOffset,
+            point.getYCoordinate() + this.columnOffset);
   }
 
   public MazePoint getMovementPoint() {
     return movementPoint;
   }
 
+  /**
+   * Returns the change in the row of a position after moving by 1 step in this direction.
+   * @return change in the row
+   */
+  public int getRowOffset() {
+    return rowOffset;
+  }
+
+  /**
+   * Returns the change in the column of a position after moving by 1 step in this direction.
+   * @return change in the column
+   */
+  public int getColumnOffset() {
+    return columnOffset;
+  }
+
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder("Direction: ");
@@ -62,9 +79,6 @@ public enum Direction {
    * @return the inverse direction
    */
   public static Direction getInverseDirection(Direction direction) {
-    List<Direction> allDirections = Arrays.asList(Direction.values());
-    int pos = allDirections.indexOf(direction);
-    pos = (pos + 2) % Direction.values().length;
-    return allDirections.get(pos);
+    return DIRECTIONS[(direction.ordinal() + DIRECTIONS.length / 2) % DIRECTIONS.length];
   }
 }
@@ -0,0 +1,224 @@
+package maze;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Generates a perfect non-wrapping maze one row at a time using Eller's algorithm. Every cell of
+ * a row belongs to a set of cells that are connected through the rows generated so far. Walls
+ * between neighbouring cells of different sets are removed at random, which joins their sets,
+ * and every set then opens at least one wall to the next row so that no set is cut off. The last
+ * row joins all sets that are left.
+ *
+ * <p>Only the sets of the current row are remembered, so the generator needs memory for a
+ * few arrays of the size of a row no matter how many rows are generated. A row is returned as
+ * the walls of its cells, one bitmask per cell with a bit set when there is a wall in the
+ * direction whose ordinal is the position of the bit, the same as the walls of a {@link Cell}.
+ */
+public class EllerMazeGenerator implements Iterator<byte[]> {
+
+  private static final int ALL_WALLS = (1 << Direction.values().length) - 1;
+
+  private final Random generator;
+
+  private final int totalColumns;
+
+  private final long totalRows;
+
+  private long generatedRows;
+
+  private final int[] cellSets;
+
+  private final int[] setParents;
+
+  private final boolean[] openToNextRow;
+
+  private final int[] setSizes;
+
+  private final int[] setOpenings;
+
+  private final int[] setChosenCells;
+
+  /**
+   * Creates a generator for a maze whose rows never end. Every row returned is connected to all
+   * rows before it, but the maze is only perfect once a last row closes it, so this is meant for
+   * streaming rows for as long as they are needed.
+   * @param generator random number generator used to remove the walls
+   * @param totalColumns number of cells in every row
+   * @throws IllegalArgumentException thrown when the generator is null or columns are not positive
+   */
+  public EllerMazeGenerator(Random generator, int totalColumns) throws IllegalArgumentException {
+    this(generator, totalColumns, Long.MAX_VALUE);
+  }
+
+  /**
+   * Creates a generator for a perfect maze with the given number of rows.
+   * @param generator random number generator used to remove the walls
+   * @param totalColumns number of cells in every row
+   * @param totalRows number of rows in the maze
+   * @throws IllegalArgumentException thrown when the generator is null or rows and columns are
+   *        not positive
+   */
+  public EllerMazeGenerator(Random generator, int totalColumns, long totalRows)
+          throws IllegalArgumentException {
+    if (generator == null) {
+      throw new IllegalArgumentException("Generator can't be null");
+    }
+    if (totalColumns <= 0 || totalRows <= 0) {
+      throw new IllegalArgumentException("Number of rows and columns in a maze can't be negative");
+    }
+    this.generator = generator;
+    this.totalColumns = totalColumns;
+    this.totalRows = totalRows;
+    this.generatedRows = 0;
+    this.cellSets = new int[totalColumns];
+    this.setParents = new int[totalColumns];
+    this.openToNextRow = new boolean[totalColumns];
+    this.setSizes = new int[totalColumns];
+    this.setOpenings = new int[totalColumns];
+    this.setChosenCells = new int[totalColumns];
+    for (int ii = 0; ii < totalColumns; ii++) {
+      this.cellSets[ii] = ii;
+    }
+  }
+
+  /**
+   * Returns the number of cells in every row.
+   * @return number of columns
+   */
+  public int getTotalColumns() {
+    return totalColumns;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return generatedRows < totalRows;
+  }
+
+  /**
+   * Generates the next row of the maze.
+   * @return the walls of the cells of the row
+   * @throws NoSuchElementException thrown when all the rows have been generated
+   */
+  @Override
+  public byte[] next() throws NoSuchElementException {
+    if (!hasNext()) {
+      throw new NoSuchElementException("All rows of the maze have been generated");
+    }
+    boolean lastRow = generatedRows == totalRows - 1;
+    byte[] walls = new byte[totalColumns];
+    for (int ii = 0; ii < totalColumns; ii++) {
+      walls[ii] = (byte) ALL_WALLS;
+      if (openToNextRow[ii]) {
+        removeWall(walls, ii, Direction.NORTH);
+      }
+    }
+    joinNeighbours(walls, lastRow);
+    if (lastRow) {
+      Arrays.fill(openToNextRow, false);
+    } else {
+      openToNextRow(walls);
+      startNextRow();
+    }
+    generatedRows += 1;
+    return walls;
+  }
+
+  private static void removeWall(byte[] walls, int column, Direction direction) {
+    walls[column] &= ~(1 << direction.ordinal());
+  }
+
+  /**
+   * Removes walls between neighbouring cells of different sets and joins their sets. In the
+   * last row all such walls are removed so that the maze is connected. Joined sets are linked
+   * to each other while the row is walked and every cell is given the set it ended up in once
+   * the row is done.
+   */
+  private void joinNeighbours(byte[] walls, boolean lastRow) {
+    for (int set = 0; set < totalColumns; set++) {
+      setParents[set] = set;
+    }
+    for (int ii = 0; ii < totalColumns - 1; ii++) {
+      int leftSet = findSet(cellSets[ii]);
+      int rightSet = findSet(cellSets[ii + 1]);
+      if (leftSet == rightSet || !(lastRow || generator.nextBoolean())) {
+        continue;
+      }
+      removeWall(walls, ii, Direction.EAST);
+      removeWall(walls, ii + 1, Direction.WEST);
+      setParents[rightSet] = leftSet;
+    }
+    for (int ii = 0; ii < totalColumns; ii++) {
+      cellSets[ii] = findSet(cellSets[ii]);
+    }
+  }
+
+  private int findSet(int set) {
+    int root = set;
+    while (setParents[root] != root) {
+      root = setParents[root];
+    }
+    while (setParents[set] != root) {
+      int parent = setParents[set];
+      setParents[set] = root;
+      set = parent;
+    }
+    return root;
+  }
+
+  /**
+   * Removes the south wall of random cells. Every set gets at least one opening to the next row,
+   * picked at random among its cells when none of them was opened.
+   */
+  private void openToNextRow(byte[] walls) {
+    Arrays.fill(setSizes, 0);
+    Arrays.fill(setOpenings, 0);
+    for (int ii = 0; ii < totalColumns; ii++) {
+      openToNextRow[ii] = generator.nextBoolean();
+      setSizes[cellSets[ii]] += 1;
+      if (openToNextRow[ii]) {
+        setOpenings[cellSets[ii]] += 1;
+      }
+    }
+    for (int set = 0; set < totalColumns; set++) {
+      setChosenCells[set] = setSizes[set] > 0 && setOpenings[set] == 0
+              ? generator.nextInt(setSizes[set]) : -1;
+    }
+    for (int ii = 0; ii < totalColumns; ii++) {
+      int set = cellSets[ii];
+      if (setChosenCells[set] == 0) {
+        openToNextRow[ii] = true;
+      }
+      setChosenCells[set] -= 1;
+      if (openToNextRow[ii]) {
+        removeWall(walls, ii, Direction.SOUTH);
+      }
+    }
+  }
+
+  /**
+   * Keeps the sets of the cells that are open to the next row and puts every other cell of the
+   * next row in a new set of its own, using the sets that are no longer in use.
+   */
+  private void startNextRow() {
+    Arrays.fill(setSizes, 0);
+    for (int ii = 0; ii < totalColumns; ii++) {
+      if (openToNextRow[ii]) {
+        setSizes[cellSets[ii]] += 1;
+      }
+    }
+    int freeSet = 0;
+    for (int ii = 0; ii < totalColumns; ii++) {
+      if (openToNextRow[ii]) {
+        continue;
+      }
+      while (setSizes[freeSet] > 0) {
+        freeSet += 1;
+      }
+      cellSets[ii] = freeSet;
+      setSizes[freeSet] = 1;
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package maze;
+
+/**
+ * Class that is used to hold a maze generated by the {@link MazeFactory}, whose walls are
+ * removed and whose creatures and players are added, with the spec it was generated from.
+ */
+public class GeneratedMaze {
+
+  private final MazeSpec spec;
+
+  private final IMaze maze;
+
+  private final String playerKilledMessage;
+
+  /**
+   * Constructor to initialize the fields of this class.
+   * @param spec the spec the maze was generated from
+   * @param maze the maze
+   * @param playerKilledMessage message of the player killed while the players were added to
+   *                            the maze, null if no player was killed
+   */
+  public GeneratedMaze(MazeSpec spec, IMaze maze, String playerKilledMessage) {
+    this.spec = spec;
+    this.maze = maze;
+    this.playerKilledMessage = playerKilledMessage;
+  }
+
+  public MazeSpec getSpec() {
+    return spec;
+  }
+
+  public IMaze getMaze() {
+    return maze;
+  }
+
+  /**
+   * Returns true if a player was killed while the players were added to the maze.
+   * @return true if a player was killed
+   */
+  public boolean isPlayerKilled() {
+    return playerKilledMessage != null;
+  }
+
+  public String getPlayerKilledMessage() {
+    return playerKilledMessage;
+  }
+}
@@ -1,6 +1,7 @@
 package maze;
 
 import java.awt.Image;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -77,6 +78,29 @@ public interface IMaze {
    */
   String printMaze(boolean showBarriers);
 
+  /**
+   * Prints the maze by writing the cells row by row, so the view is written out while it is
+   * rendered instead of being built as one string first. The view is the same as the one
+   * returned by {@link #printMaze(boolean)}.
+   * @param showBarriers show bats, pits, wumpus
+   * @param out where the view of the maze is written
+   * @throws IOException thrown when writing fails
+   */
+  void printMaze(boolean showBarriers, Appendable out) throws IOException;
+
+  /**
+   * Prints the cells of the maze inside a viewport, row by row. Only the cells in the viewport
+   * are rendered, so the cost does not depend on the size of the maze. A wrapping maze wraps the
+   * viewport around its border.
+   * @param showBarriers show bats, pits, wumpus
+   * @param viewport the part of the maze to be printed
+   * @param out where the view of the maze is written
+   * @throws IOException thrown when writing fails
+   * @throws IllegalArgumentException thrown when the viewport is null or outside the maze
+   */
+  void printMaze(boolean showBarriers, MazeViewport viewport, Appendable out)
+          throws IOException, IllegalArgumentException;
+
   /**
    * Function returns the number of rows present in the maze.
    *
@@ -93,12 +117,32 @@ public interface IMaze {
 
   /**
    * Function returns a list of cells that are not tunnels. These cells can be used to place a
-   * player, bat, pit or Wumpus.
+   * player, bat, pit or Wumpus. The list can't be modified and is in the order of the rows
+   * and the columns of the cells.
    *
-   * @return
+   * @return cells that are not tunnels
    */
   List<Cell> getNonTunnelCells();
 
+  /**
+   * Function returns the number of cells that are not tunnels.
+   *
+   * @return number of cells that are not tunnels
+   */
+  int getNonTunnelCellCount();
+
+  /**
+   * Moves a player to a cell that is not a tunnel and performs the actions of the creatures
+   * present in that cell. The cells are numbered in the order they are returned by
+   * {@link #getNonTunnelCells()}.
+   *
+   * @param player the player to be moved
+   * @param nonTunnelCellIndex index of the cell among the cells that are not tunnels
+   * @throws PlayerKilledException thrown when the player is killed in the new cell
+   */
+  void movePlayerToNonTunnelCell(MazePlayer player, int nonTunnelCellIndex)
+          throws PlayerKilledException;
+
   /**
    * Function returns the generator that is used to determine where a player is dropped after a bat
    * picks it up. The same generator is used to check if the bat picks the player and drops it
@@ -121,6 +165,19 @@ public interface IMaze {
   boolean checkCreatureInAdjacentCells(MazePoint point, CreatureType creatureType,
                                               Direction exclude);
 
+  /**
+   * Function checks if the creature type passed in the argument is present in the cell next to
+   * a cell. Works like {@link #checkCreatureInAdjacentCells(MazePoint, CreatureType, Direction)}
+   * for the cell at an index.
+   *
+   * @param cellIndex    index of the current cell.
+   * @param creatureType the type of creature to be searched for
+   * @param exclude      used to prevent infinite calls in tunnels.
+   * @return true if the creature is present in the adjacent cells.
+   */
+  boolean checkCreatureInAdjacentCells(int cellIndex, CreatureType creatureType,
+                                       Direction exclude);
+
 
   /**
    * Function returns true if internal walls & border walls that have to be removed are actually
@@ -143,12 +200,52 @@ public interface IMaze {
   boolean shootArrow(MazePoint point, Direction dir, int power) throws
           PlayerKillsWumpusException, RecoverableException, PlayerKilledException;
 
+  /**
+   * Shoots an arrow from the cell at an index. Works like
+   * {@link #shootArrow(MazePoint, Direction, int)}.
+   * @param cellIndex index of the cell the arrow is shot from
+   * @param dir the direction to be shot in
+   * @param power the power of the arrow
+   * @return true if the wumpus was killed
+   * @throws PlayerKilledException thrown when player is killed if arrows expire
+   * @throws RecoverableException if the arrow is shot in a wrong direction of the wall
+   */
+  boolean shootArrow(int cellIndex, Direction dir, int power) throws
+          PlayerKillsWumpusException, RecoverableException, PlayerKilledException;
+
   /**
    * Returns the current position of the player in a maze.
    * @return the current position of the player in a maze.
    */
   MazePoint getActivePlayerCoordinates();
 
+  /**
+   * Returns the index of the cell of the player whose turn is next.
+   * @return index of the cell of the active player
+   */
+  int getActivePlayerCellIndex();
+
+  /**
+   * Returns the position of the cell at an index. Cells are numbered row by row, so the cell at
+   * row r and column c has the index r * {@link #getTotalColumns()} + c. The same position
+   * object is returned every time for a cell, so positions can be kept without creating new
+   * objects.
+   * @param cellIndex index of the cell
+   * @return position of the cell
+   * @throws IllegalArgumentException thrown when there is no cell at the index
+   */
+  MazePoint getPoint(int cellIndex) throws IllegalArgumentException;
+
+  /**
+   * Returns the index of the cell at a position. Positions beyond the border of a wrapping maze
+   * are wrapped around.
+   * @param point position of the cell
+   * @return index of the cell
+   * @throws IllegalArgumentException thrown when the position is null or is beyond the border
+   *        of a non-wrapping maze
+   */
+  int getCellIndex(MazePoint point) throws IllegalArgumentException;
+
   /**
    * Returns a list of directions (N, E, W, S) a player can move from the current cell.
    * @return list of directions a player can move from the current cell
@@ -166,6 +263,18 @@ public interface IMaze {
   boolean resultingCellHasCreature(MazePoint point, Direction dir,
                                    CreatureType creatureType, int distance);
 
+  /**
+   * Checks if a cell at a distance from the cell at an index has a given creature. Works like
+   * {@link #resultingCellHasCreature(MazePoint, Direction, CreatureType, int)}.
+   * @param cellIndex index of the cell from which to check
+   * @param dir the direction to check
+   * @param creatureType the creature to be checked
+   * @param distance the distance from the current start point where a creature might occur.
+   * @return true if the creature is found at a given distance.
+   */
+  boolean resultingCellHasCreature(int cellIndex, Direction dir,
+                                   CreatureType creatureType, int distance);
+
   /**
    * Used to check the expected end point where a player stops moving from the current position.
    * This is used to check if the player was moved by the bats from that final position. This
@@ -177,6 +286,15 @@ public interface IMaze {
    */
   MazePoint getExpectedMovementPosition(MazePoint point, Direction dir);
 
+  /**
+   * Returns the index of the cell where a player stops when walking from the cell at an index.
+   * Works like {@link #getExpectedMovementPosition(MazePoint, Direction)}.
+   * @param cellIndex index of the start cell
+   * @param dir direction to start walking in
+   * @return index of the cell where a player stops, -1 if a wall is met on the way
+   */
+  int getExpectedMovementPosition(int cellIndex, Direction dir);
+
   /**
    * Returns the integer identifier of the player whose turn is next.
    * @return identifier for player.
@@ -190,6 +308,41 @@ public interface IMaze {
    */
   Image[][] getImagesToDisplayInCells(boolean showBarriers);
 
+  /**
+   * Returns the images to be displayed at the cells inside a viewport. The first image is the
+   * image of the cell at the top left of the viewport. Unlike
+   * {@link #getImagesToDisplayInCells(boolean)}, the changed cells are not forgotten, since the
+   * cells outside the viewport are not drawn again.
+   * @param showBarriers shows bats, pits, wumpus etc.
+   * @param viewport the part of the maze to be displayed
+   * @return images to be displayed at the cells in the viewport
+   * @throws IllegalArgumentException thrown when the viewport is null or outside the maze
+   */
+  Image[][] getImagesToDisplayInCells(boolean showBarriers, MazeViewport viewport)
+          throws IllegalArgumentException;
+
+  /**
+   * Returns the images of only those cells that have changed since the images were last
+   * fetched. A cell changes when it is visited for the first time, when a player enters or
+   * leaves it and when the game ends and the hidden cells are revealed.
+   * @param showBarriers shows bats, pits, wumpus etc.
+   * @return images of the changed cells mapped by the position of the cell.
+   */
+  Map<MazePoint, Image> getChangedCellImages(boolean showBarriers);
+
+  /**
+   * Records that the image displayed for a cell has changed and has to be drawn again.
+   * @param point position of the cell that changed
+   */
+  void markCellChanged(MazePoint point);
+
+  /**
+   * Records that the image displayed for the cell at an index has changed and has to be drawn
+   * again.
+   * @param cellIndex index of the cell that changed
+   */
+  void markCellChanged(int cellIndex);
+
   /**
    * Function increments the number of players killed during the game.
    * @param player player
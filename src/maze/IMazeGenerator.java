@@ -0,0 +1,31 @@
+package maze;
+
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Interface for the algorithms that generate a perfect maze, which is a maze where every cell can
+ * be reached from every other cell through exactly one path. The algorithm only decides which
+ * internal walls of a grid of cells are removed, the maze removes the walls and adds the
+ * creatures and players.
+ *
+ * <p>The internal walls of a grid are numbered row by row, with the south wall of a cell before
+ * its east wall. This is the order in which {@link AbstractMaze#initWallsForMaze()} creates
+ * them.
+ */
+public interface IMazeGenerator {
+
+  /**
+   * Picks the internal walls that are removed to make a grid of cells a perfect maze. Exactly
+   * one wall less than the number of cells is picked and no wall is picked twice.
+   * @param totalRows number of rows in the grid
+   * @param totalColumns number of columns in the grid
+   * @param wallGenerator random number generator used to pick the walls. The same walls are
+   *                      picked for generators with the same seed.
+   * @param wallRemover called with the index of every wall picked, in the order they are picked
+   * @throws IllegalArgumentException thrown when rows or columns are not positive or the
+   *        generator or the remover is null
+   */
+  void generateMaze(int totalRows, int totalColumns, Random wallGenerator, IntConsumer wallRemover)
+          throws IllegalArgumentException;
+}
@@ -0,0 +1,30 @@
+package maze;
+
+import java.util.Random;
+import java.util.function.IntConsumer;
+import disjointset.DisjointSet;
+
+/**
+ * Generates a perfect maze using Kruskal's algorithm. The internal walls are shuffled once and
+ * visited in that order, and a wall is removed when the cells on its two sides are not yet
+ * connected. This is the algorithm the mazes use when no other generator is given.
+ */
+public class KruskalMazeGenerator extends AbstractMazeGenerator {
+
+  @Override
+  protected void generate(int totalRows, int totalColumns, Random wallGenerator,
+                          IntConsumer wallRemover) {
+    DisjointSet disjointSet = new DisjointSet(totalRows * totalColumns);
+    int[] wallOrder = MazeUtils.shuffleIndexes(getInternalWallCount(totalRows, totalColumns),
+            wallGenerator);
+    for (int ii = 0; ii < wallOrder.length && disjointSet.getUnsetParentCellCount() > 1; ii++) {
+      int wall = wallOrder[ii];
+      int cellOneIndex = getWallCellIndex(totalRows, totalColumns, wall);
+      int cellTwoIndex = isVerticalWall(totalRows, totalColumns, wall) ? cellOneIndex + 1
+              : cellOneIndex + totalColumns;
+      if (disjointSet.combine(cellOneIndex, cellTwoIndex)) {
+        wallRemover.accept(wall);
+      }
+    }
+  }
+}
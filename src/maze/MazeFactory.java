@@ -0,0 +1,236 @@
+package maze;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import player.PlayerKilledException;
+
+/**
+ * Class that generates mazes on a pool of worker threads so that the thread asking for a maze,
+ * such as the event thread of the GUI, never waits for one to be generated. For every
+ * configuration asked for, the factory keeps a few mazes ready so that the next request for
+ * the same configuration is answered right away while the worker threads generate more.
+ *
+ * <p>Mazes are kept ready for two kinds of requests. A new game asks for a maze of a
+ * configuration with new seeds, which the factory picks. Repeating a game asks for the maze of
+ * an exact spec, and the factory keeps such a maze ready for the last game it handed out only,
+ * since that is the game that can be repeated. Pools of new games are kept for the
+ * configurations used most recently, as long as the mazes in them don't have more than
+ * {@value #MAX_POOLED_CELLS} cells in all. The pool of the configuration just asked for is
+ * always kept, however large its mazes are.
+ */
+public class MazeFactory implements AutoCloseable {
+
+  private static final int MAX_CONFIGURATIONS = 8;
+
+  private static final long MAX_POOLED_CELLS = 2_000_000L;
+
+  private static final AtomicInteger FACTORY_COUNT = new AtomicInteger();
+
+  private final ExecutorService workers;
+
+  private final LongSupplier seedGenerator;
+
+  private final int poolSize;
+
+  private final Map<MazeSpec, Deque<CompletableFuture<GeneratedMaze>>> newMazePools;
+
+  private final Map<MazeSpec, Deque<CompletableFuture<GeneratedMaze>>> repeatMazePools;
+
+  /**
+   * Initializes a factory that generates mazes on all the available processors, keeps one maze
+   * ready for every configuration and picks seeds at random from the whole range of
+   * {@code long}.
+   */
+  public MazeFactory() {
+    this(Runtime.getRuntime().availableProcessors(), 1, new SplittableRandom()::nextLong);
+  }
+
+  /**
+   * Initializes the factory.
+   * @param threadCount number of worker threads that generate mazes
+   * @param poolSize number of mazes kept ready for every configuration
+   * @param seedGenerator picks the seeds of the mazes generated for new games, only called
+   *                      while the factory is locked
+   * @throws IllegalArgumentException thrown when the thread count or the pool size are not
+   *        positive or the seed generator is null
+   */
+  public MazeFactory(int threadCount, int poolSize, LongSupplier seedGenerator)
+          throws IllegalArgumentException {
+    if (threadCount < 1 || poolSize < 1) {
+      throw new IllegalArgumentException("Thread count and pool size can't be less than one");
+    }
+    if (seedGenerator == null) {
+      throw new IllegalArgumentException("Seed generator can't be null");
+    }
+    String threadPrefix = "maze-factory-" + FACTORY_COUNT.incrementAndGet() + "-";
+    AtomicInteger threadCounter = new AtomicInteger();
+    this.workers = Executors.newFixedThreadPool(threadCount, runnable -> {
+      Thread thread = new Thread(runnable, threadPrefix + threadCounter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.seedGenerator = seedGenerator;
+    this.poolSize = poolSize;
+    this.newMazePools = createPools(MAX_CONFIGURATIONS);
+    this.repeatMazePools = createPools(1);
+  }
+
+  private static Map<MazeSpec, Deque<CompletableFuture<GeneratedMaze>>> createPools(
+          int maxConfigurations) {
+    return new LinkedHashMap<MazeSpec, Deque<CompletableFuture<GeneratedMaze>>>(16, 0.75f,
+            true) {
+      @Override
+      protected boolean removeEldestEntry(
+              Map.Entry<MazeSpec, Deque<CompletableFuture<GeneratedMaze>>> eldest) {
+        if (size() <= maxConfigurations) {
+          return false;
+        }
+        eldest.getValue().forEach(maze -> maze.cancel(false));
+        return true;
+      }
+    };
+  }
+
+  /**
+   * Returns a maze of the configuration of a spec, generated with new seeds. The seeds of the
+   * spec are ignored, the seeds used are those of the spec of the maze returned.
+   * @param configuration the configuration of the maze
+   * @return the maze, which completes exceptionally if the maze can't be generated
+   * @throws IllegalArgumentException thrown when the configuration is null
+   * @throws IllegalStateException thrown when the factory is closed
+   */
+  public synchronized CompletableFuture<GeneratedMaze> createNewMaze(MazeSpec configuration)
+          throws IllegalArgumentException, IllegalStateException {
+    if (configuration == null) {
+      throw new IllegalArgumentException("Maze configuration can't be null");
+    }
+    MazeSpec key = configuration.withSeeds(0, 0, 0);
+    CompletableFuture<GeneratedMaze> maze = takeFromPool(newMazePools, key,
+            () -> key.withSeeds(seedGenerator.getAsLong(), seedGenerator.getAsLong(),
+                    seedGenerator.getAsLong()));
+    maze.thenAccept(generated -> prepareMaze(generated.getSpec()));
+    return maze;
+  }
+
+  /**
+   * Returns the maze of a spec, to repeat a game.
+   * @param spec the spec of the maze
+   * @return the maze, which completes exceptionally if the maze can't be generated
+   * @throws IllegalArgumentException thrown when the spec is null
+   * @throws IllegalStateException thrown when the factory is closed
+   */
+  public synchronized CompletableFuture<GeneratedMaze> createMaze(MazeSpec spec)
+          throws IllegalArgumentException, IllegalStateException {
+    if (spec == null) {
+      throw new IllegalArgumentException("Maze spec can't be null");
+    }
+    return takeFromPool(repeatMazePools, spec, () -> spec);
+  }
+
+  /**
+   * Starts generating the maze of a spec, if it is not ready yet, so that a later call to
+   * {@link #createMaze(MazeSpec)} returns right away. The maze kept ready for an earlier spec
+   * is forgotten.
+   * @param spec the spec of the maze
+   * @throws IllegalArgumentException thrown when the spec is null
+   */
+  public synchronized void prepareMaze(MazeSpec spec) throws IllegalArgumentException {
+    if (spec == null) {
+      throw new IllegalArgumentException("Maze spec can't be null");
+    }
+    if (!workers.isShutdown()) {
+      fillPool(repeatMazePools.computeIfAbsent(spec, key -> new ArrayDeque<>()), () -> spec);
+    }
+  }
+
+  private CompletableFuture<GeneratedMaze> takeFromPool(
+          Map<MazeSpec, Deque<CompletableFuture<GeneratedMaze>>> pools, MazeSpec key,
+          Supplier<MazeSpec> specs) throws IllegalStateException {
+    if (workers.isShutdown()) {
+      throw new IllegalStateException("Maze factory is closed");
+    }
+    Deque<CompletableFuture<GeneratedMaze>> pool = pools.computeIfAbsent(key,
+            spec -> new ArrayDeque<>());
+    CompletableFuture<GeneratedMaze> maze = pool.isEmpty() ? generate(specs.get()) : pool.poll();
+    fillPool(pool, specs);
+    trimPools(pools, key);
+    return maze;
+  }
+
+  /**
+   * Forgets the pools used least recently until the mazes in the pools don't have more than
+   * {@value #MAX_POOLED_CELLS} cells in all. The pool of the configuration just asked for is
+   * kept.
+   */
+  private static void trimPools(Map<MazeSpec, Deque<CompletableFuture<GeneratedMaze>>> pools,
+                                MazeSpec kept) {
+    long cells = 0;
+    for (Map.Entry<MazeSpec, Deque<CompletableFuture<GeneratedMaze>>> pool : pools.entrySet()) {
+      cells += getCellCount(pool.getKey()) * pool.getValue().size();
+    }
+    Iterator<Map.Entry<MazeSpec, Deque<CompletableFuture<GeneratedMaze>>>> eldest =
+            pools.entrySet().iterator();
+    while (cells > MAX_POOLED_CELLS && eldest.hasNext()) {
+      Map.Entry<MazeSpec, Deque<CompletableFuture<GeneratedMaze>>> pool = eldest.next();
+      if (!pool.getKey().equals(kept)) {
+        cells -= getCellCount(pool.getKey()) * pool.getValue().size();
+        pool.getValue().forEach(maze -> maze.cancel(false));
+        eldest.remove();
+      }
+    }
+  }
+
+  private static long getCellCount(MazeSpec spec) {
+    return (long) spec.getTotalRows() * spec.getTotalColumns();
+  }
+
+  private void fillPool(Deque<CompletableFuture<GeneratedMaze>> pool, Supplier<MazeSpec> specs) {
+    while (pool.size() < poolSize) {
+      pool.add(generate(specs.get()));
+    }
+  }
+
+  private CompletableFuture<GeneratedMaze> generate(MazeSpec spec) {
+    return CompletableFuture.supplyAsync(() -> generateMaze(spec), workers);
+  }
+
+  /**
+   * Creates the maze of a spec, removes its walls and adds the creatures and players to it.
+   * @param spec the spec of the maze
+   * @return the maze generated
+   * @throws IllegalArgumentException thrown when the maze can't be generated with the spec
+   */
+  public static GeneratedMaze generateMaze(MazeSpec spec) throws IllegalArgumentException {
+    IMaze maze = spec.createMaze();
+    try {
+      maze.removeWalls(spec.getPercentages(), spec.getTotalPlayerArrows());
+    } catch (PlayerKilledException exception) {
+      return new GeneratedMaze(spec, maze, exception.getMessage());
+    }
+    return new GeneratedMaze(spec, maze, null);
+  }
+
+  /**
+   * Stops the worker threads and forgets the mazes kept ready. Mazes that are being generated
+   * for requests already answered are still completed.
+   */
+  @Override
+  public synchronized void close() {
+    workers.shutdown();
+    newMazePools.values().forEach(pool -> pool.forEach(maze -> maze.cancel(false)));
+    repeatMazePools.values().forEach(pool -> pool.forEach(maze -> maze.cancel(false)));
+    newMazePools.clear();
+    repeatMazePools.clear();
+  }
+}
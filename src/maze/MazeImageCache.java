@@ -0,0 +1,90 @@
+package maze;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Class that stores the decoded images used to draw the cells of a maze. The images are read
+ * from the resource path only once and the same decoded image is returned for every later
+ * request, so rendering the maze after the images are loaded does not read or decode any PNG.
+ * The cache is shared by all the mazes in the application.
+ */
+public class MazeImageCache {
+
+  private static final Map<String, BufferedImage> decodedImages = new ConcurrentHashMap<>();
+
+  private static final AtomicLong hitCount = new AtomicLong();
+
+  private static final AtomicLong missCount = new AtomicLong();
+
+  /**
+   * Reads and decodes all the images listed by {@link MazeImageUtils#getAllImagePaths()}. This
+   * should be called when the application starts so that the first render of a maze does not
+   * have to wait for the images to be decoded.
+   * @throws IllegalArgumentException thrown when an image cannot be read
+   */
+  public static void preloadImages() throws IllegalArgumentException {
+    for (String imagePath : MazeImageUtils.getAllImagePaths()) {
+      decodedImages.computeIfAbsent(imagePath, MazeImageCache::readImage);
+    }
+  }
+
+  /**
+   * Returns the decoded image present at the resource path. The image is decoded when it is
+   * requested for the first time.
+   * @param imagePath resource path of the image
+   * @return the decoded image
+   * @throws IllegalArgumentException thrown when the path is null or the image cannot be read
+   */
+  public static BufferedImage getImage(String imagePath) throws IllegalArgumentException {
+    if (imagePath == null) {
+      throw new IllegalArgumentException("Image path cannot be null");
+    }
+    BufferedImage image = decodedImages.get(imagePath);
+    if (image != null) {
+      hitCount.incrementAndGet();
+      return image;
+    }
+    missCount.incrementAndGet();
+    return decodedImages.computeIfAbsent(imagePath, MazeImageCache::readImage);
+  }
+
+  /**
+   * Returns the number of requests that were answered with an already decoded image.
+   * @return number of cache hits
+   */
+  public static long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * Returns the number of requests for which the image had to be read and decoded.
+   * @return number of cache misses
+   */
+  public static long getMissCount() {
+    return missCount.get();
+  }
+
+  private static BufferedImage readImage(String imagePath) throws IllegalArgumentException {
+    URL imageUrl = MazeImageCache.class.getResource(imagePath);
+    if (imageUrl == null) {
+      throw new IllegalArgumentException("Image not present at path: " + imagePath);
+    }
+    try {
+      BufferedImage image = ImageIO.read(imageUrl);
+      if (image == null) {
+        throw new IllegalArgumentException("Image format not supported: " + imagePath);
+      }
+      return image;
+    } catch (IOException exception) {
+      throw new IllegalArgumentException("Cannot read image " + imagePath + ": "
+              + exception.getMessage());
+    }
+  }
+}
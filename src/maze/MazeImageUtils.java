@@ -1,6 +1,7 @@
 package maze;
 
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -61,6 +62,27 @@ public class MazeImageUtils {
     return null;
   }
 
+  /**
+   * Function returns the resource path of every image that can be used to draw a cell. This is
+   * used to load all the images before the maze is rendered for the first time.
+   * @return resource paths of all the cell images
+   */
+  public static List<String> getAllImagePaths() {
+    if (wallImages == null) {
+      initNonTunnelImages();
+    }
+    List<String> imagePaths = new ArrayList<>(wallImages.values());
+    imagePaths.add(getCellNotVisitedImage());
+    imagePaths.add(getCellWumpusImage());
+    imagePaths.add(getCellBatsImage());
+    imagePaths.add(getCellPitImage());
+    imagePaths.add(getCellPlayerOneImage());
+    imagePaths.add(getCellPlayerTwoImage());
+    imagePaths.add(getCellWumpusSmellImage());
+    imagePaths.add(getCellPitSmellImage());
+    return imagePaths;
+  }
+
   public static String getCellNotVisitedImage() {
     return ROOT_IMAGES_PATH +  "black.png";
   }
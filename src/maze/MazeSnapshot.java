@@ -0,0 +1,453 @@
+package maze;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import graph.MazePoint;
+import mazecreatures.CreatureType;
+import mazecreatures.ICreature;
+import player.MazePlayer;
+
+/**
+ * Class that saves a room maze in the middle of a game and loads it back, so that a game is
+ * resumed without generating its maze again. Non-wrapping and wrapping room mazes can be saved.
+ *
+ * <p>Every cell takes one byte: the four lowest bits hold the walls in the same form as
+ * {@link Cell#getWallMask()}, the next three bits hold a bit for every type of creature, by the
+ * ordinal of the type, and the highest bit is set when the cell was visited. The cells come
+ * after a header, which holds the configuration of the maze, the players, the turn, and the
+ * state of the random number generators, so that bats carry the players to the same cells as
+ * they would have before the game was saved. The generators are kept in their serialized form,
+ * and nothing but {@link Random} is accepted when they are read back.
+ *
+ * <p>A snapshot starts with the magic number {@code HTWS}, the version of the format and the
+ * length of the header. Snapshots are written and read through channels, and snapshot files of
+ * at least {@value #MAPPED_LOAD_THRESHOLD} bytes are mapped into memory when loaded instead of
+ * being copied. Mazes with more than {@value #MAX_PLAYERS} players can't be saved, which bounds
+ * the length of the header, and the cells are read as they arrive, so that a snapshot which
+ * claims more data than it holds fails without allocating room for all of it.
+ */
+public final class MazeSnapshot {
+
+  private static final int MAGIC = 0x48545753;
+
+  private static final int VERSION = 1;
+
+  private static final int PREFIX_BYTES = 3 * Integer.BYTES;
+
+  private static final int MAPPED_LOAD_THRESHOLD = 1 << 18;
+
+  private static final int READ_CHUNK = 1 << 16;
+
+  private static final int MAX_PLAYERS = 1 << 16;
+
+  private static final int MAX_GENERATOR_BYTES = 1 << 10;
+
+  private static final int FIXED_HEADER_BYTES = Byte.BYTES + 6 * Integer.BYTES + Byte.BYTES;
+
+  private static final int PLAYER_BYTES = 7 * Integer.BYTES + Byte.BYTES;
+
+  private static final int MAX_HEADER_BYTES = FIXED_HEADER_BYTES
+          + 3 * (Integer.BYTES + MAX_GENERATOR_BYTES)
+          + Integer.BYTES + MAX_PLAYERS * PLAYER_BYTES
+          + Integer.BYTES + MAX_PLAYERS * Integer.BYTES;
+
+  private static final int CREATURE_SHIFT = 4;
+
+  private static final int VISIBLE_FLAG = 0x80;
+
+  private static final int WALL_MASK = 0x0F;
+
+  private static final CreatureType[] CREATURE_TYPES = CreatureType.values();
+
+  private MazeSnapshot() {
+    // Only has static methods.
+  }
+
+  /**
+   * Saves a maze to a file, replacing the file if it exists.
+   * @param maze the maze to save
+   * @param path the file to save to
+   * @throws IOException thrown when writing fails
+   * @throws IllegalArgumentException thrown when the maze is not a room maze whose walls are
+   *        removed, has too many players or the path is null
+   */
+  public static void save(IMaze maze, Path path) throws IOException, IllegalArgumentException {
+    if (path == null) {
+      throw new IllegalArgumentException("Snapshot path can't be null");
+    }
+    AbstractMaze roomMaze = checkMaze(maze);
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      write(roomMaze, channel);
+    }
+  }
+
+  /**
+   * Saves a maze to a channel. The channel is not closed.
+   * @param maze the maze to save
+   * @param channel where the snapshot is written
+   * @throws IOException thrown when writing fails
+   * @throws IllegalArgumentException thrown when the maze is not a room maze whose walls are
+   *        removed, has too many players or the channel is null
+   */
+  public static void save(IMaze maze, WritableByteChannel channel) throws IOException,
+          IllegalArgumentException {
+    if (channel == null) {
+      throw new IllegalArgumentException("Snapshot channel can't be null");
+    }
+    write(checkMaze(maze), channel);
+  }
+
+  /**
+   * Loads a maze saved to a file. Large files are mapped into memory.
+   * @param path the file to load from
+   * @return the maze, in the state it was saved in
+   * @throws IOException thrown when reading fails or the file is not a maze snapshot
+   * @throws IllegalArgumentException thrown when the path is null
+   */
+  public static IMaze load(Path path) throws IOException, IllegalArgumentException {
+    if (path == null) {
+      throw new IllegalArgumentException("Snapshot path can't be null");
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size >= MAPPED_LOAD_THRESHOLD) {
+        return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+      }
+      return load(channel);
+    }
+  }
+
+  /**
+   * Loads a maze from a channel. The channel is not closed.
+   * @param channel where the snapshot is read from
+   * @return the maze, in the state it was saved in
+   * @throws IOException thrown when reading fails or the data is not a maze snapshot
+   * @throws IllegalArgumentException thrown when the channel is null
+   */
+  public static IMaze load(ReadableByteChannel channel) throws IOException,
+          IllegalArgumentException {
+    if (channel == null) {
+      throw new IllegalArgumentException("Snapshot channel can't be null");
+    }
+    ByteBuffer prefix = readFully(channel, PREFIX_BYTES);
+    int headerLength = checkPrefix(prefix);
+    ByteBuffer header = readFully(channel, headerLength);
+    long cellCount = (long) header.getInt(Byte.BYTES)
+            * header.getInt(Byte.BYTES + Integer.BYTES);
+    if (cellCount <= 0 || cellCount > Integer.MAX_VALUE) {
+      throw new IOException("Invalid maze size in maze snapshot");
+    }
+    return restore(header, readFully(channel, (int) cellCount));
+  }
+
+  private static AbstractMaze checkMaze(IMaze maze) throws IllegalArgumentException {
+    if (maze == null) {
+      throw new IllegalArgumentException("Maze can't be null");
+    }
+    if (!(maze instanceof NonWrappingRoomMaze)) {
+      throw new IllegalArgumentException("Only room mazes can be saved");
+    }
+    if (!maze.allRequestedWallsRemoved()) {
+      throw new IllegalArgumentException("Maze can't be saved before its walls are removed");
+    }
+    AbstractMaze roomMaze = (AbstractMaze) maze;
+    if (roomMaze.getPlayerCount() > MAX_PLAYERS) {
+      throw new IllegalArgumentException("Mazes with more than " + MAX_PLAYERS
+              + " players can't be saved");
+    }
+    if (roomMaze.getWallGenerator().getClass() != Random.class
+            || roomMaze.getAdversaryGenerator().getClass() != Random.class
+            || roomMaze.getMovementGenerator().getClass() != Random.class) {
+      throw new IllegalArgumentException("Only mazes using java.util.Random can be saved");
+    }
+    return roomMaze;
+  }
+
+  private static void write(AbstractMaze maze, WritableByteChannel channel) throws IOException {
+    ByteBuffer header = createHeader(maze);
+    ByteBuffer prefix = ByteBuffer.allocate(PREFIX_BYTES);
+    prefix.putInt(MAGIC).putInt(VERSION).putInt(header.remaining()).flip();
+    writeFully(channel, prefix);
+    writeFully(channel, header);
+    writeFully(channel, createCells(maze));
+  }
+
+  private static ByteBuffer createHeader(AbstractMaze maze) throws IOException {
+    byte[][] generators = {serialize(maze.getWallGenerator()),
+        serialize(maze.getAdversaryGenerator()), serialize(maze.getMovementGenerator())};
+    List<MazePlayer> players = maze.getPlayers();
+    List<MazePlayer> killedPlayers = maze.getKilledPlayers();
+    int length = FIXED_HEADER_BYTES + Integer.BYTES + players.size() * PLAYER_BYTES
+            + Integer.BYTES + killedPlayers.size() * Integer.BYTES;
+    for (byte[] generator : generators) {
+      length += Integer.BYTES + generator.length;
+    }
+    ByteBuffer header = ByteBuffer.allocate(length);
+    boolean wrapping = maze instanceof WrappingRoomMaze;
+    header.put((byte) (wrapping ? 1 : 0));
+    header.putInt(maze.getTotalRows());
+    header.putInt(maze.getTotalColumns());
+    header.putInt(((NonWrappingRoomMaze) maze).getExtraInternalWallsToRemove());
+    header.putInt(wrapping ? ((WrappingRoomMaze) maze).getBorderWallsToRemove() : 0);
+    header.putInt(maze.getPlayerCount());
+    header.putInt(maze.getActivePlayerIndex());
+    header.put((byte) (maze.isWumpusKilled() ? 1 : 0));
+    for (byte[] generator : generators) {
+      header.putInt(generator.length).put(generator);
+    }
+    header.putInt(players.size());
+    for (MazePlayer player : players) {
+      header.putInt(player.getPlayerIndex());
+      putPoint(header, player.getStartCoordinates());
+      putPoint(header, player.getCurrentCoordinates());
+      header.putInt(player.getTotalArrowCount());
+      header.putInt(player.getCurrentArrowCount());
+      header.put((byte) (player.isPlayerAlive() ? 1 : 0));
+    }
+    header.putInt(killedPlayers.size());
+    for (MazePlayer player : killedPlayers) {
+      header.putInt(player.getPlayerIndex());
+    }
+    return header.flip();
+  }
+
+  private static void putPoint(ByteBuffer buffer, MazePoint point) {
+    buffer.putInt(point.getXCoordinate()).putInt(point.getYCoordinate());
+  }
+
+  private static ByteBuffer createCells(AbstractMaze maze) {
+    int rows = maze.getTotalRows();
+    int columns = maze.getTotalColumns();
+    byte[] cellBytes = new byte[rows * columns];
+    int index = 0;
+    for (int ii = 0; ii < rows; ii++) {
+      for (Cell cell : maze.cells[ii]) {
+        int value = cell.getWallMask() & WALL_MASK;
+        for (CreatureType type : CREATURE_TYPES) {
+          if (cell.hasCreature(type)) {
+            value |= 1 << (CREATURE_SHIFT + type.ordinal());
+          }
+        }
+        if (cell.isVisible()) {
+          value |= VISIBLE_FLAG;
+        }
+        cellBytes[index++] = (byte) value;
+      }
+    }
+    return ByteBuffer.wrap(cellBytes);
+  }
+
+  private static IMaze read(ByteBuffer snapshot) throws IOException {
+    if (snapshot.remaining() < PREFIX_BYTES) {
+      throw new IOException("Maze snapshot is truncated");
+    }
+    int headerLength = checkPrefix(snapshot);
+    if (snapshot.remaining() < headerLength) {
+      throw new IOException("Maze snapshot is truncated");
+    }
+    ByteBuffer header = snapshot.slice().limit(headerLength);
+    snapshot.position(snapshot.position() + headerLength);
+    return restore(header, snapshot.slice());
+  }
+
+  private static int checkPrefix(ByteBuffer prefix) throws IOException {
+    if (prefix.getInt() != MAGIC) {
+      throw new IOException("Data is not a maze snapshot");
+    }
+    int version = prefix.getInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported maze snapshot version " + version);
+    }
+    int headerLength = prefix.getInt();
+    if (headerLength < Byte.BYTES + 2 * Integer.BYTES || headerLength > MAX_HEADER_BYTES) {
+      throw new IOException("Invalid maze snapshot header");
+    }
+    return headerLength;
+  }
+
+  private static IMaze restore(ByteBuffer header, ByteBuffer cellBytes) throws IOException {
+    try {
+      boolean wrapping = header.get() != 0;
+      int rows = header.getInt();
+      int columns = header.getInt();
+      int extraInternalWalls = header.getInt();
+      int borderWalls = header.getInt();
+      int playerCount = header.getInt();
+      int nextPlayerIndex = header.getInt();
+      boolean wumpusKilled = header.get() != 0;
+      Random wallGenerator = deserialize(header);
+      Random adversaryGenerator = deserialize(header);
+      Random movementGenerator = deserialize(header);
+      if (rows <= 0 || columns <= 0) {
+        throw new IOException("Invalid maze size in maze snapshot");
+      }
+      if (playerCount < 1 || playerCount > MAX_PLAYERS) {
+        throw new IOException("Invalid player count in maze snapshot");
+      }
+      if ((long) rows * columns > cellBytes.remaining()) {
+        throw new IOException("Maze snapshot is truncated");
+      }
+      Cell[][] cells = restoreCells(rows, columns, cellBytes);
+      NonWrappingRoomMaze maze;
+      if (wrapping) {
+        maze = new WrappingRoomMaze(wallGenerator, adversaryGenerator, movementGenerator,
+                cells, extraInternalWalls, borderWalls, playerCount);
+      } else {
+        maze = new NonWrappingRoomMaze(wallGenerator, adversaryGenerator, movementGenerator,
+                cells, extraInternalWalls, playerCount);
+      }
+      int savedPlayers = header.getInt();
+      if (savedPlayers < 0 || savedPlayers > playerCount) {
+        throw new IOException("Invalid player count in maze snapshot");
+      }
+      List<MazePlayer> players = new ArrayList<>(savedPlayers);
+      for (int ii = 0; ii < savedPlayers; ii++) {
+        int playerIndex = header.getInt();
+        MazePoint start = getPoint(maze, header);
+        MazePoint current = getPoint(maze, header);
+        int arrowCount = header.getInt();
+        int arrowsShot = header.getInt();
+        boolean alive = header.get() != 0;
+        players.add(new MazePlayer(start, current, arrowCount, arrowsShot, alive, playerIndex));
+      }
+      int killedCount = header.getInt();
+      if (killedCount < 0 || killedCount > savedPlayers) {
+        throw new IOException("Invalid killed players in maze snapshot");
+      }
+      List<MazePlayer> killedPlayers = new ArrayList<>(killedCount);
+      for (int ii = 0; ii < killedCount; ii++) {
+        killedPlayers.add(findPlayer(players, header.getInt()));
+      }
+      if (nextPlayerIndex < 0 || nextPlayerIndex >= Math.max(players.size(), 1)) {
+        throw new IOException("Invalid player turn in maze snapshot");
+      }
+      maze.restoreGame(players, nextPlayerIndex, killedPlayers, wumpusKilled);
+      return maze;
+    } catch (BufferUnderflowException exception) {
+      throw new IOException("Maze snapshot is truncated");
+    } catch (IllegalArgumentException | IllegalStateException
+            | UnsupportedOperationException exception) {
+      throw new IOException("Invalid maze snapshot: " + exception.getMessage());
+    }
+  }
+
+  /**
+   * Creates the cells of a maze from their bytes in a snapshot.
+   */
+  private static Cell[][] restoreCells(int rows, int columns, ByteBuffer cellBytes) {
+    ICreature[] creatures = new ICreature[CREATURE_TYPES.length];
+    for (CreatureType type : CREATURE_TYPES) {
+      creatures[type.ordinal()] = AbstractMaze.createCreature(type);
+    }
+    Cell[][] cells = new Cell[rows][columns];
+    int index = cellBytes.position();
+    for (int ii = 0; ii < rows; ii++) {
+      for (int jj = 0; jj < columns; jj++) {
+        int value = cellBytes.get(index++);
+        Cell cell = new Cell(ii, jj);
+        cell.restore(value & WALL_MASK, (value & VISIBLE_FLAG) != 0);
+        for (int type = 0; type < creatures.length; type++) {
+          if ((value & 1 << (CREATURE_SHIFT + type)) != 0) {
+            cell.addCreature(creatures[type]);
+          }
+        }
+        cells[ii][jj] = cell;
+      }
+    }
+    return cells;
+  }
+
+  private static MazePoint getPoint(AbstractMaze maze, ByteBuffer header) {
+    int row = header.getInt();
+    int column = header.getInt();
+    if (row < 0 || row >= maze.getTotalRows() || column < 0
+            || column >= maze.getTotalColumns()) {
+      throw new IllegalArgumentException("Player position is outside the maze");
+    }
+    return maze.getPoint(row * maze.getTotalColumns() + column);
+  }
+
+  private static MazePlayer findPlayer(List<MazePlayer> players, int playerIndex)
+          throws IOException {
+    for (MazePlayer player : players) {
+      if (player.getPlayerIndex() == playerIndex) {
+        return player;
+      }
+    }
+    throw new IOException("Unknown killed player in maze snapshot");
+  }
+
+  private static byte[] serialize(Random generator) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(generator);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static Random deserialize(ByteBuffer header) throws IOException {
+    int length = header.getInt();
+    if (length < 0 || length > MAX_GENERATOR_BYTES) {
+      throw new IOException("Invalid random number generator in maze snapshot");
+    }
+    if (length > header.remaining()) {
+      throw new IOException("Maze snapshot is truncated");
+    }
+    byte[] bytes = new byte[length];
+    header.get(bytes);
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      in.setObjectInputFilter(info -> info.serialClass() == null
+              || info.serialClass() == Random.class ? ObjectInputFilter.Status.ALLOWED
+              : ObjectInputFilter.Status.REJECTED);
+      Object generator = in.readObject();
+      if (!(generator instanceof Random)) {
+        throw new IOException("Invalid random number generator in maze snapshot");
+      }
+      return (Random) generator;
+    } catch (ClassNotFoundException exception) {
+      throw new IOException("Invalid random number generator in maze snapshot");
+    }
+  }
+
+  /**
+   * Reads data of the given length, growing the buffer as the data arrives, so that a snapshot
+   * which claims more data than it holds ends as soon as the data ends.
+   */
+  private static ByteBuffer readFully(ReadableByteChannel channel, int length)
+          throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(Math.min(length, READ_CHUNK));
+    while (buffer.position() < length) {
+      if (!buffer.hasRemaining()) {
+        buffer = ByteBuffer.allocate((int) Math.min(2L * buffer.capacity(), length))
+                .put(buffer.flip());
+      }
+      if (channel.read(buffer) < 0) {
+        throw new IOException("Maze snapshot is truncated");
+      }
+    }
+    return buffer.flip();
+  }
+
+  private static void writeFully(WritableByteChannel channel, ByteBuffer buffer)
+          throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+}
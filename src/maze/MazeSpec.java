@@ -0,0 +1,189 @@
+package maze;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import mazecreatures.CreatureType;
+
+/**
+ * Class that is used to describe a maze to be generated: its size, the walls to be removed,
+ * the players, the creatures and the seeds of its random number generators. Two mazes generated
+ * from equal specs are the same maze.
+ */
+public final class MazeSpec {
+
+  private final int totalRows;
+
+  private final int totalColumns;
+
+  private final int extraInternalWallsToRemove;
+
+  private final int borderWallsToRemove;
+
+  private final int playerCount;
+
+  private final Map<CreatureType, Integer> percentages;
+
+  private final int totalPlayerArrows;
+
+  private final long wallSeed;
+
+  private final long adversarySeed;
+
+  private final long batMovementSeed;
+
+  /**
+   * Constructor to initialize the fields of this class. The maze is a wrapping room maze when
+   * border walls are removed and a non-wrapping room maze otherwise.
+   * @param totalRows number of rows in maze
+   * @param totalColumns number of columns in maze
+   * @param extraInternalWallsToRemove extra walls removed after a perfect maze is generated
+   * @param borderWallsToRemove the number of walls at the border to be removed
+   * @param playerCount number of players
+   * @param percentages percentages of the cells that have bats and pits, in the order the
+   *                    creatures are added to the maze
+   * @param totalPlayerArrows the number of arrows a player has initially
+   * @param wallSeed seed of the random number generator that removes walls
+   * @param adversarySeed seed of the random number generator that adds pits, bats to cells
+   * @param batMovementSeed seed of the random number generator that moves players with bats
+   * @throws IllegalArgumentException thrown when the percentages are null
+   */
+  public MazeSpec(int totalRows, int totalColumns, int extraInternalWallsToRemove,
+                  int borderWallsToRemove, int playerCount, Map<CreatureType, Integer> percentages,
+                  int totalPlayerArrows, long wallSeed, long adversarySeed, long batMovementSeed)
+          throws IllegalArgumentException {
+    if (percentages == null) {
+      throw new IllegalArgumentException("Bat-pit percentage can't be null");
+    }
+    this.totalRows = totalRows;
+    this.totalColumns = totalColumns;
+    this.extraInternalWallsToRemove = extraInternalWallsToRemove;
+    this.borderWallsToRemove = borderWallsToRemove;
+    this.playerCount = playerCount;
+    this.percentages = Collections.unmodifiableMap(new LinkedHashMap<>(percentages));
+    this.totalPlayerArrows = totalPlayerArrows;
+    this.wallSeed = wallSeed;
+    this.adversarySeed = adversarySeed;
+    this.batMovementSeed = batMovementSeed;
+  }
+
+  /**
+   * Returns a spec for the same maze generated with other seeds.
+   * @param wallSeed seed of the random number generator that removes walls
+   * @param adversarySeed seed of the random number generator that adds pits, bats to cells
+   * @param batMovementSeed seed of the random number generator that moves players with bats
+   * @return spec with the new seeds
+   */
+  public MazeSpec withSeeds(long wallSeed, long adversarySeed, long batMovementSeed) {
+    return new MazeSpec(totalRows, totalColumns, extraInternalWallsToRemove,
+            borderWallsToRemove, playerCount, percentages, totalPlayerArrows, wallSeed,
+            adversarySeed, batMovementSeed);
+  }
+
+  /**
+   * Creates the maze described by this spec. The walls of the maze are not removed yet.
+   * @return the maze
+   * @throws IllegalArgumentException thrown when the maze can't be created with this spec
+   */
+  public IMaze createMaze() throws IllegalArgumentException {
+    if (borderWallsToRemove > 0) {
+      return new WrappingRoomMaze(new Random(wallSeed), new Random(adversarySeed),
+              new Random(batMovementSeed), totalColumns, totalRows, extraInternalWallsToRemove,
+              borderWallsToRemove, playerCount);
+    }
+    return new NonWrappingRoomMaze(new Random(wallSeed), new Random(adversarySeed),
+            new Random(batMovementSeed), totalColumns, totalRows, extraInternalWallsToRemove,
+            playerCount);
+  }
+
+  public int getTotalRows() {
+    return totalRows;
+  }
+
+  public int getTotalColumns() {
+    return totalColumns;
+  }
+
+  public int getExtraInternalWallsToRemove() {
+    return extraInternalWallsToRemove;
+  }
+
+  public int getBorderWallsToRemove() {
+    return borderWallsToRemove;
+  }
+
+  public int getPlayerCount() {
+    return playerCount;
+  }
+
+  public Map<CreatureType, Integer> getPercentages() {
+    return percentages;
+  }
+
+  public int getTotalPlayerArrows() {
+    return totalPlayerArrows;
+  }
+
+  public long getWallSeed() {
+    return wallSeed;
+  }
+
+  public long getAdversarySeed() {
+    return adversarySeed;
+  }
+
+  public long getBatMovementSeed() {
+    return batMovementSeed;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("MazeSpec: ");
+    sb.append(totalRows).append(" x ").append(totalColumns);
+    sb.append(", walls = ").append(extraInternalWallsToRemove);
+    sb.append(", border walls = ").append(borderWallsToRemove);
+    sb.append(", players = ").append(playerCount);
+    sb.append(", percentages = ").append(percentages);
+    sb.append(", arrows = ").append(totalPlayerArrows);
+    sb.append(", seeds = (").append(wallSeed).append(", ").append(adversarySeed).append(", ")
+            .append(batMovementSeed).append(")");
+    return sb.toString();
+  }
+
+  /**
+   * Specs are equal when they generate the same maze. The creatures are added in the order of
+   * the percentages, so percentages given in another order make another maze.
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    MazeSpec spec = (MazeSpec) o;
+    return totalRows == spec.totalRows
+            && totalColumns == spec.totalColumns
+            && extraInternalWallsToRemove == spec.extraInternalWallsToRemove
+            && borderWallsToRemove == spec.borderWallsToRemove
+            && playerCount == spec.playerCount
+            && totalPlayerArrows == spec.totalPlayerArrows
+            && wallSeed == spec.wallSeed
+            && adversarySeed == spec.adversarySeed
+            && batMovementSeed == spec.batMovementSeed
+            && new ArrayList<>(percentages.entrySet())
+            .equals(new ArrayList<>(spec.percentages.entrySet()));
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(totalRows, totalColumns, extraInternalWallsToRemove, borderWallsToRemove,
+            playerCount, percentages, totalPlayerArrows, wallSeed, adversarySeed,
+            batMovementSeed);
+  }
+}
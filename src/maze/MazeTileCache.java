@@ -0,0 +1,205 @@
+package maze;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class that stores the finished image of a cell for every combination of layers that has been
+ * drawn. A cell image is made of a small set of layers - a player, wumpus, pit, bat, the smell of
+ * a wumpus or a pit and the tile showing the open directions of the cell. The layers present in
+ * a cell are described by a bitmask signature, so cells that look alike share the same image.
+ * The cache keeps at most {@link #MAX_TILES} images and drops the least recently used image when
+ * it is full. The images returned by the cache are shared and should not be modified.
+ */
+public class MazeTileCache {
+
+  public static final int MAX_TILES = 512;
+
+  static final int NOT_VISITED_LAYER = 1;
+
+  static final int PLAYER_ONE_LAYER = 1 << 1;
+
+  static final int PLAYER_TWO_LAYER = 1 << 2;
+
+  static final int WUMPUS_LAYER = 1 << 3;
+
+  static final int PIT_LAYER = 1 << 4;
+
+  static final int BAT_LAYER = 1 << 5;
+
+  static final int WUMPUS_SMELL_LAYER = 1 << 6;
+
+  static final int PIT_SMELL_LAYER = 1 << 7;
+
+  static final int OPEN_DIRECTIONS_SHIFT = 8;
+
+  private static final float OVERLAY_ALPHA = 0.5f;
+
+  private static final int BYTES_PER_PIXEL = 4;
+
+  private static final Map<Integer, BufferedImage> tiles =
+          new LinkedHashMap<>(MAX_TILES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, BufferedImage> eldest) {
+          if (size() > MAX_TILES) {
+            memoryFootprint -= getImageBytes(eldest.getValue());
+            return true;
+          }
+          return false;
+        }
+      };
+
+  private static long hitCount;
+
+  private static long missCount;
+
+  private static long memoryFootprint;
+
+  /**
+   * Returns the layer signature for the open directions of a cell.
+   * @param cell the cell being drawn
+   * @return the bits of the signature that describe the open directions
+   */
+  static int getOpenDirectionsLayer(Cell cell) {
+    int openDirections = ~cell.getWallMask() & ((1 << Direction.values().length) - 1);
+    return openDirections << OPEN_DIRECTIONS_SHIFT;
+  }
+
+  /**
+   * Returns the image of a cell which has the layers described by the signature. The image is
+   * drawn only when the signature is not present in the cache.
+   * @param signature the bitmask of layers present in the cell
+   * @return the image for the cell
+   */
+  public static synchronized BufferedImage getTile(int signature) {
+    BufferedImage tile = tiles.get(signature);
+    if (tile != null) {
+      hitCount++;
+      return tile;
+    }
+    missCount++;
+    tile = overlayImages(getLayerImagePaths(signature));
+    if (tile != null) {
+      tiles.put(signature, tile);
+      memoryFootprint += getImageBytes(tile);
+    }
+    return tile;
+  }
+
+  /**
+   * Returns the ratio of requests that were answered by an image already present in the cache.
+   * @return ratio of cache hits between 0 and 1
+   */
+  public static synchronized double getHitRatio() {
+    long totalRequests = hitCount + missCount;
+    return totalRequests == 0 ? 0 : (double) hitCount / totalRequests;
+  }
+
+  /**
+   * Returns the number of requests that were answered with a cached image.
+   * @return number of cache hits
+   */
+  public static synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Returns the number of requests for which the image had to be drawn.
+   * @return number of cache misses
+   */
+  public static synchronized long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * Returns the approximate number of bytes used by the pixels of the images in the cache.
+   * @return memory used by cached images in bytes
+   */
+  public static synchronized long getMemoryFootprint() {
+    return memoryFootprint;
+  }
+
+  /**
+   * Returns the number of images present in the cache.
+   * @return number of cached images
+   */
+  public static synchronized int getTileCount() {
+    return tiles.size();
+  }
+
+  private static long getImageBytes(BufferedImage image) {
+    return (long) image.getWidth() * image.getHeight() * BYTES_PER_PIXEL;
+  }
+
+  private static List<String> getLayerImagePaths(int signature) {
+    List<String> images = new ArrayList<>();
+    if ((signature & NOT_VISITED_LAYER) != 0) {
+      images.add(MazeImageUtils.getCellNotVisitedImage());
+      return images;
+    }
+    if ((signature & PLAYER_ONE_LAYER) != 0) {
+      images.add(MazeImageUtils.getCellPlayerOneImage());
+    } else if ((signature & PLAYER_TWO_LAYER) != 0) {
+      images.add(MazeImageUtils.getCellPlayerTwoImage());
+    }
+    if ((signature & WUMPUS_LAYER) != 0) {
+      images.add(MazeImageUtils.getCellWumpusImage());
+    }
+    if ((signature & PIT_LAYER) != 0) {
+      images.add(MazeImageUtils.getCellPitImage());
+    }
+    if ((signature & BAT_LAYER) != 0) {
+      images.add(MazeImageUtils.getCellBatsImage());
+    }
+    if ((signature & WUMPUS_SMELL_LAYER) != 0) {
+      images.add(MazeImageUtils.getCellWumpusSmellImage());
+    }
+    if ((signature & PIT_SMELL_LAYER) != 0) {
+      images.add(MazeImageUtils.getCellPitSmellImage());
+    }
+    List<Direction> openDirections = new ArrayList<>();
+    for (Direction direction : Direction.values()) {
+      if ((signature & (1 << (direction.ordinal() + OPEN_DIRECTIONS_SHIFT))) != 0) {
+        openDirections.add(direction);
+      }
+    }
+    images.add(MazeImageUtils.getImageForCellDirections(openDirections));
+    return images;
+  }
+
+  private static BufferedImage overlayImages(List<String> images) {
+    if (images.size() <= 0) {
+      return null;
+    }
+    BufferedImage imgA = null;
+    int ii = 0;
+    try {
+      imgA = MazeImageCache.getImage(images.get(ii));
+      if (images.size() == 1) {
+        return imgA;
+      }
+      BufferedImage overlay = new BufferedImage(imgA.getWidth(), imgA.getHeight(),
+              BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g = overlay.createGraphics();
+      try {
+        g.drawImage(imgA, 0, 0, null);
+        g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, OVERLAY_ALPHA));
+        for (ii = 1; ii < images.size(); ii++) {
+          g.drawImage(MazeImageCache.getImage(images.get(ii)), 0, 0, null);
+        }
+      } finally {
+        g.dispose();
+      }
+      imgA = overlay;
+    } catch (Exception ignored) {
+      System.out.println("Exception in image overlay: " + ignored.getMessage()
+            + images.get(ii));
+    }
+    return imgA;
+  }
+}
@@ -1,16 +1,12 @@
 package maze;
 
 import java.awt.Image;
-import java.awt.Graphics2D;
-import java.awt.AlphaComposite;
-import java.awt.image.BufferedImage;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-
-import javax.imageio.ImageIO;
+import java.util.Random;
+import java.util.function.IntFunction;
 
 import graph.MazePoint;
 import mazecreatures.CreatureType;
@@ -42,79 +38,60 @@ public class MazeUtils {
     Image[][] cellImages = new Image[grid.length][grid[0].length];
     for (int ii = 0; ii < grid.length; ii++) {
       for (int jj = 0; jj < grid[0].length; jj++) {
-        Cell cell = grid[ii][jj];
-        List<String> allImages = new ArrayList<>();
-
-        if (!cell.isVisible() && !showBarriers) {
-          allImages.add(MazeImageUtils.getCellNotVisitedImage());
-        } else {
-          MazePoint currentPoint = new MazePoint(ii, jj);
-          Optional<MazePlayer> cellPlayer = players.stream().filter(player ->
-                  player.getCurrentCoordinates().equals(currentPoint)).findFirst();
-          if (cellPlayer.isPresent() && cellPlayer.get().isPlayerAlive()) {
-            if (cellPlayer.get().getPlayerIndex() == 0) {
-              allImages.add(MazeImageUtils.getCellPlayerOneImage());
-            } else {
-              allImages.add(MazeImageUtils.getCellPlayerTwoImage());
-            }
-          }
-          if (!cell.isTunnel()) {
-            if (cell.hasCreature(CreatureType.WUMPUS)) {
-              allImages.add(MazeImageUtils.getCellWumpusImage());
-            }
-            if (cell.hasCreature(CreatureType.PIT)) {
-              allImages.add(MazeImageUtils.getCellPitImage());
-            }
-            if (cell.hasCreature(CreatureType.BAT)) {
-              allImages.add(MazeImageUtils.getCellBatsImage());
-            }
-            if (maze.checkCreatureInAdjacentCells(currentPoint, CreatureType.WUMPUS,
-                    null)) {
-              allImages.add(MazeImageUtils.getCellWumpusSmellImage());
-            }
-            if (maze.checkCreatureInAdjacentCells(currentPoint, CreatureType.PIT,
-                    null)) {
-              allImages.add(MazeImageUtils.getCellPitSmellImage());
-            }
-          }
-          allImages.add(MazeImageUtils.getImageForCellDirections(cell.getSuggestionsForMovement()));
-        }
-        cellImages[ii][jj] = overlayImages(allImages);
+        cellImages[ii][jj] = renderCellImage(grid[ii][jj], showBarriers, maze, players);
       }
     }
     return cellImages;
   }
 
-  private static Image overlayImages(List<String> images) {
-    if (images.size() <= 0) {
-      return null;
-    }
-    BufferedImage imgA = null;
-    int ii = 0;
-    try {
-      imgA = ImageIO.read(MazeUtils.class.getResource(images.get(ii)));
-      for (ii = 1; ii < images.size(); ii++) {
-        BufferedImage imgB = ImageIO.read(MazeUtils.class.getResource(images.get(ii)));
-        float alpha = 0.5f;
-        int compositeRule = AlphaComposite.SRC_OVER;
-        AlphaComposite ac;
-        int imgW = imgA.getWidth();
-        int imgH = imgA.getHeight();
-        BufferedImage overlay = new BufferedImage(imgW, imgH, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g = overlay.createGraphics();
-        ac = AlphaComposite.getInstance(compositeRule, alpha);
-        g.drawImage(imgA, 0, 0, null);
-        g.setComposite(ac);
-        g.drawImage(imgB, 0, 0, null);
-        g.setComposite(ac);
-        g.dispose();
-        imgA = overlay;
+  /**
+   * Returns the image displayed for a single cell of the maze.
+   * @param cell the cell to be drawn
+   * @param showBarriers true if all bats, pits and wumpus etc have to be shown
+   * @param maze the maze which has this cell
+   * @param players the list of players used to identify position
+   * @return the image for the cell
+   */
+  public static Image renderCellImage(Cell cell, boolean showBarriers, IMaze maze,
+                                      List<MazePlayer> players) {
+    int signature;
+
+    if (!cell.isVisible() && !showBarriers) {
+      signature = MazeTileCache.NOT_VISITED_LAYER;
+    } else {
+      signature = 0;
+      int cellIndex = cell.getRowPosition() * maze.getTotalColumns() + cell.getColumnPosition();
+      Optional<MazePlayer> cellPlayer = players.stream().filter(player ->
+              isPlayerInCell(player, cell)).findFirst();
+      if (cellPlayer.isPresent() && cellPlayer.get().isPlayerAlive()) {
+        if (cellPlayer.get().getPlayerIndex() == 0) {
+          signature |= MazeTileCache.PLAYER_ONE_LAYER;
+        } else {
+          signature |= MazeTileCache.PLAYER_TWO_LAYER;
+        }
+      }
+      if (!cell.isTunnel()) {
+        if (cell.hasCreature(CreatureType.WUMPUS)) {
+          signature |= MazeTileCache.WUMPUS_LAYER;
+        }
+        if (cell.hasCreature(CreatureType.PIT)) {
+          signature |= MazeTileCache.PIT_LAYER;
+        }
+        if (cell.hasCreature(CreatureType.BAT)) {
+          signature |= MazeTileCache.BAT_LAYER;
+        }
+        if (maze.checkCreatureInAdjacentCells(cellIndex, CreatureType.WUMPUS,
+                null)) {
+          signature |= MazeTileCache.WUMPUS_SMELL_LAYER;
+        }
+        if (maze.checkCreatureInAdjacentCells(cellIndex, CreatureType.PIT,
+                null)) {
+          signature |= MazeTileCache.PIT_SMELL_LAYER;
+        }
       }
-    } catch (Exception ignored) {
-      System.out.println("Exception in image overlay: " + ignored.getMessage()
-            + images.get(ii));
+      signature |= MazeTileCache.getOpenDirectionsLayer(cell);
     }
-    return imgA;
+    return MazeTileCache.getTile(signature);
   }
 
   /**
@@ -129,68 +106,219 @@ public class MazeUtils {
     if (grid == null || grid.length == 0 || grid[0].length == 0) {
       throw new IllegalArgumentException("Invalid grid");
     }
+    StringBuilder sb = new StringBuilder();
+    try {
+      render(grid.length, row -> grid[row], players, showBarriers, sb);
+    } catch (IOException exception) {
+      throw new IllegalStateException("Rendering maze failed: " + exception.getMessage());
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Renders the rows of a maze as ASCII art in the same way as
+   * {@link #render(Cell[][], List, boolean)}, writing each row out as soon as it is rendered.
+   * The rows are asked for twice, once to find the width of the cells and once to render them,
+   * so a maze that creates its cells when asked only needs one row of cells at a time. The
+   * padding of every cell is written from strings made once for the whole maze. A cell is made
+   * wider when the players in it don't fit in the width of the cells.
+   * @param totalRows number of rows in the maze
+   * @param rows returns the cells of the row at an index
+   * @param players the players in the maze, can be null if there are no players
+   * @param showBarriers show bat, pits, wumpus
+   * @param out where the ASCII art is written
+   * @throws IOException thrown when writing fails
+   * @throws IllegalArgumentException thrown when there are no rows or a row has no cells
+   */
+  public static void render(int totalRows, IntFunction<Cell[]> rows, List<MazePlayer> players,
+                            boolean showBarriers, Appendable out) throws IOException,
+          IllegalArgumentException {
+    if (totalRows <= 0 || rows == null || out == null) {
+      throw new IllegalArgumentException("Invalid grid");
+    }
     int maxCellWidth = MIN_CELL_WIDTH;
-    for (Cell[] row : grid) {
-      for (Cell c : row) {
-        maxCellWidth = Integer.max(maxCellWidth, c.toString().length());
+    int maxContentWidth = 0;
+    for (int row = 0; row < totalRows; row++) {
+      Cell[] cells = rows.apply(row);
+      if (cells.length == 0) {
+        throw new IllegalArgumentException("Invalid grid");
+      }
+      for (Cell c : cells) {
+        maxCellWidth = Integer.max(maxCellWidth, c.getTextLength());
+        maxContentWidth = Integer.max(maxContentWidth, getContentLength(c, players));
       }
     }
-    maxCellWidth += 6;
-    int numRows = grid.length;
-    int numCols = grid[0].length;
-    StringBuilder sb = new StringBuilder();
+    maxCellWidth = Integer.max(maxCellWidth + 6, maxContentWidth);
     int cellWidth = maxCellWidth + CELL_LEFT_PADDING;
     // gap for opening in horizontal wall is 4 for even width, 3 for odd width
     int midLen = 4 - cellWidth % 2;
     int sideLen = (cellWidth - midLen) / 2;
-    for (Cell[] cells : grid) {
-      sb.append("+");
-      sb.append(Arrays.stream(cells).map(c ->
-          "-".repeat(sideLen)
-              + (!c.hasNorth() ? " " : "-").repeat(midLen)
-              + "-".repeat(sideLen)
-      ).collect(Collectors.joining("+")));
-      sb.append("+\n");
+    String side = "-".repeat(sideLen);
+    String wall = "-".repeat(midLen);
+    String opening = " ".repeat(midLen);
+    String spaces = " ".repeat(maxCellWidth);
+    String hidden = "/".repeat(cellWidth + 2);
+    Cell[] cells = null;
+    for (int row = 0; row < totalRows; row++) {
+      cells = rows.apply(row);
+      appendWallLine(out, cells, Direction.NORTH, side, wall, opening);
+      out.append("\n");
       for (int c = 0; c < cells.length; c++) {
-        StringBuilder newSb = new StringBuilder();
-
         Cell cell = cells[c];
-        String cellContent = cell.toString();
-        MazePoint curPointNow = new MazePoint(cell.getRowPosition(), cell.getColumnPosition());
-        List<MazePlayer> matchingPlayers = (players != null ? players.stream().filter(player ->
-                player.getCurrentCoordinates().equals(curPointNow)).collect(Collectors.toList()) :
-                new ArrayList<>());
-        for (MazePlayer matchPlayer: matchingPlayers) {
-          cellContent += " P" + (matchPlayer.getPlayerIndex() + 1) + " ";
+        boolean eastWall = c == cells.length - 1 && cell.hasEast();
+        if (showBarriers || cell.isVisible()) {
+          out.append(!cell.hasWest() ? ' ' : '|').append(spaces, 0, CELL_LEFT_PADDING);
+          out.append(spaces, 0, maxCellWidth - getContentLength(cell, players));
+          cell.appendText(out);
+          appendPlayers(out, cell, players);
+          if (eastWall) {
+            out.append('|');
+          }
+        } else {
+          out.append(hidden, 0, cellWidth + (eastWall ? 2 : 1));
         }
-        newSb.append(!cell.hasWest() ? " " : "|").append(" ".repeat(CELL_LEFT_PADDING));
-        String paddedCellString;
-        try {
-          paddedCellString = " ".repeat(maxCellWidth).substring(cellContent.length())
-                  + cellContent;
-        } catch (StringIndexOutOfBoundsException exp) {
-          throw exp;
+      }
+      out.append("\n");
+    }
+    appendWallLine(out, cells, Direction.SOUTH, side, wall, opening);
+  }
+
+  private static int getContentLength(Cell cell, List<MazePlayer> players) {
+    int length = cell.getTextLength();
+    if (players != null) {
+      for (int ii = 0; ii < players.size(); ii++) {
+        if (isPlayerInCell(players.get(ii), cell)) {
+          length += Integer.toString(players.get(ii).getPlayerIndex() + 1).length() + 3;
         }
-        StringBuilder cellTemp = new StringBuilder(paddedCellString);
-        newSb.append(cellTemp);
-        if (c == numCols - 1 && cell.hasEast()) {
-          newSb.append("|");
+      }
+    }
+    return length;
+  }
+
+  private static void appendPlayers(Appendable out, Cell cell, List<MazePlayer> players)
+          throws IOException {
+    if (players != null) {
+      for (int ii = 0; ii < players.size(); ii++) {
+        if (isPlayerInCell(players.get(ii), cell)) {
+          out.append(" P").append(Integer.toString(players.get(ii).getPlayerIndex() + 1))
+                  .append(' ');
         }
-        if (showBarriers || cell.isVisible()) {
-          sb.append(newSb.toString());
-        } else {
-          sb.append("/".repeat(newSb.toString().length()));
+      }
+    }
+  }
+
+  private static void appendWallLine(Appendable out, Cell[] cells, Direction direction,
+                                     String side, String wall, String opening)
+          throws IOException {
+    out.append("+");
+    for (Cell cell : cells) {
+      out.append(side).append(hasWall((byte) cell.getWallMask(), direction) ? wall : opening)
+              .append(side).append("+");
+    }
+  }
+
+  private static boolean isPlayerInCell(MazePlayer player, Cell cell) {
+    MazePoint position = player.getCurrentCoordinates();
+    return position.getXCoordinate() == cell.getRowPosition()
+            && position.getYCoordinate() == cell.getColumnPosition();
+  }
+
+  /**
+   * Renders rows of empty maze cells as ASCII art, one row at a time, in the same way as
+   * {@link #render(Cell[][], List, boolean)} renders cells without creatures or players. Each row
+   * is written out before the next one is asked for, so a maze can be rendered while it is
+   * generated without keeping its rows.
+   * @param rows the walls of the cells of every row, as returned by {@link EllerMazeGenerator}
+   * @param out where the ASCII art is written
+   * @throws IOException thrown when writing fails
+   * @throws IllegalArgumentException thrown when there are no rows
+   */
+  public static void renderRows(Iterator<byte[]> rows, Appendable out) throws IOException,
+          IllegalArgumentException {
+    if (rows == null || !rows.hasNext()) {
+      throw new IllegalArgumentException("Invalid grid");
+    }
+    int maxCellWidth = MIN_CELL_WIDTH + 6;
+    int cellWidth = maxCellWidth + CELL_LEFT_PADDING;
+    int midLen = 4 - cellWidth % 2;
+    int sideLen = (cellWidth - midLen) / 2;
+    String emptyCell = " ".repeat(cellWidth);
+    byte[] row = null;
+    while (rows.hasNext()) {
+      row = rows.next();
+      appendWallLine(out, row, Direction.NORTH, sideLen, midLen);
+      out.append("\n");
+      for (int c = 0; c < row.length; c++) {
+        out.append(hasWall(row[c], Direction.WEST) ? "|" : " ").append(emptyCell);
+        if (c == row.length - 1 && hasWall(row[c], Direction.EAST)) {
+          out.append("|");
         }
       }
-      sb.append("\n");
-    }
-    sb.append("+");
-    sb.append(Arrays.stream(grid[numRows - 1]).map(c ->
-        "-".repeat(sideLen)
-            + (!c.hasSouth() ? " " : "-").repeat(midLen)
-            + "-".repeat(sideLen)
-    ).collect(Collectors.joining("+"))).append("+");
-    return sb.toString();
+      out.append("\n");
+    }
+    appendWallLine(out, row, Direction.SOUTH, sideLen, midLen);
+  }
+
+  private static boolean hasWall(byte walls, Direction direction) {
+    return (walls & (1 << direction.ordinal())) != 0;
+  }
+
+  private static void appendWallLine(Appendable out, byte[] row, Direction direction,
+                                     int sideLen, int midLen) throws IOException {
+    String side = "-".repeat(sideLen);
+    String wall = "-".repeat(midLen);
+    String opening = " ".repeat(midLen);
+    out.append("+");
+    for (byte walls : row) {
+      out.append(side).append(hasWall(walls, direction) ? wall : opening).append(side).append("+");
+    }
+  }
+
+  /**
+   * Returns the numbers from 0 to count - 1 in a random order. The numbers are shuffled once
+   * with the Fisher-Yates shuffle, so the same generator always gives the same order.
+   * @param count how many numbers to shuffle
+   * @param generator random number generator used for shuffling
+   * @return the shuffled numbers
+   */
+  public static int[] shuffleIndexes(int count, Random generator) {
+    int[] indexes = new int[count];
+    for (int ii = 0; ii < count; ii++) {
+      indexes[ii] = ii;
+    }
+    for (int ii = count - 1; ii > 0; ii--) {
+      int swapIndex = generator.nextInt(ii + 1);
+      int temp = indexes[ii];
+      indexes[ii] = indexes[swapIndex];
+      indexes[swapIndex] = temp;
+    }
+    return indexes;
+  }
+
+  /**
+   * Picks a random sample of candidates and moves it to the front of the array. Each of the first
+   * count candidates is swapped with a random candidate at or after it, which is a partial
+   * Fisher-Yates shuffle, so picking takes time proportional to the size of the sample and the
+   * same generator always picks the same sample.
+   * @param candidates the candidates to pick from, reordered in place
+   * @param candidateCount number of candidates at the start of the array to pick from
+   * @param count number of candidates to pick
+   * @param generator random number generator used for picking
+   * @throws IllegalArgumentException thrown when count is negative or more than the number of
+   *        candidates
+   */
+  public static void sampleIndexes(int[] candidates, int candidateCount, int count,
+                                   Random generator) throws IllegalArgumentException {
+    if (count < 0 || count > candidateCount || candidateCount > candidates.length) {
+      throw new IllegalArgumentException("Cannot pick " + count + " from " + candidateCount
+              + " candidates");
+    }
+    for (int ii = 0; ii < count; ii++) {
+      int swapIndex = ii + generator.nextInt(candidateCount - ii);
+      int temp = candidates[ii];
+      candidates[ii] = candidates[swapIndex];
+      candidates[swapIndex] = temp;
+    }
   }
 
   /**
@@ -0,0 +1,125 @@
+package maze;
+
+import graph.MazePoint;
+
+/**
+ * Class that is used to describe the part of a maze that is rendered, as a rectangle of rows and
+ * columns. The rectangle may start before the first row or column of a maze and may end after
+ * the last one. In a wrapping maze the rows and columns beyond the border wrap around to the
+ * other side, and in a non-wrapping maze the rectangle is cut at the border. The rectangle is
+ * never larger than the maze, so the cost of rendering it depends on the size of the rectangle
+ * and not on the size of the maze.
+ */
+public final class MazeViewport {
+
+  private final int firstRow;
+
+  private final int firstColumn;
+
+  private final int totalRows;
+
+  private final int totalColumns;
+
+  /**
+   * Constructor to initialize the fields of this class.
+   * @param firstRow row at the top of the viewport
+   * @param firstColumn column at the left of the viewport
+   * @param totalRows number of rows in the viewport
+   * @param totalColumns number of columns in the viewport
+   * @throws IllegalArgumentException thrown when the viewport has no rows or no columns
+   */
+  public MazeViewport(int firstRow, int firstColumn, int totalRows, int totalColumns)
+          throws IllegalArgumentException {
+    if (totalRows < 1 || totalColumns < 1) {
+      throw new IllegalArgumentException("Viewport should have at least one row and column");
+    }
+    this.firstRow = firstRow;
+    this.firstColumn = firstColumn;
+    this.totalRows = totalRows;
+    this.totalColumns = totalColumns;
+  }
+
+  /**
+   * Returns the viewport of the cells that are at most a number of rows and columns away from a
+   * cell, such as the cell of a player.
+   * @param center position of the cell at the center of the viewport
+   * @param radius number of rows and columns shown on every side of the center
+   * @return the viewport
+   * @throws IllegalArgumentException thrown when the center is null or the radius is negative
+   */
+  public static MazeViewport centeredAt(MazePoint center, int radius)
+          throws IllegalArgumentException {
+    if (center == null) {
+      throw new IllegalArgumentException("Viewport center can't be null");
+    }
+    if (radius < 0) {
+      throw new IllegalArgumentException("Viewport radius can't be negative");
+    }
+    return new MazeViewport(center.getXCoordinate() - radius, center.getYCoordinate() - radius,
+            2 * radius + 1, 2 * radius + 1);
+  }
+
+  public int getFirstRow() {
+    return firstRow;
+  }
+
+  public int getFirstColumn() {
+    return firstColumn;
+  }
+
+  public int getTotalRows() {
+    return totalRows;
+  }
+
+  public int getTotalColumns() {
+    return totalColumns;
+  }
+
+  /**
+   * Returns the rows of a maze that are inside this viewport, from top to bottom.
+   * @param mazeRows number of rows in the maze
+   * @param wrapping true if the maze is a wrapping maze
+   * @return the rows in the viewport
+   * @throws IllegalArgumentException thrown when no row of the maze is inside the viewport
+   */
+  int[] getRows(int mazeRows, boolean wrapping) throws IllegalArgumentException {
+    return getIndexes(firstRow, totalRows, mazeRows, wrapping);
+  }
+
+  /**
+   * Returns the columns of a maze that are inside this viewport, from left to right.
+   * @param mazeColumns number of columns in the maze
+   * @param wrapping true if the maze is a wrapping maze
+   * @return the columns in the viewport
+   * @throws IllegalArgumentException thrown when no column of the maze is inside the viewport
+   */
+  int[] getColumns(int mazeColumns, boolean wrapping) throws IllegalArgumentException {
+    return getIndexes(firstColumn, totalColumns, mazeColumns, wrapping);
+  }
+
+  private static int[] getIndexes(int first, int count, int size, boolean wrapping)
+          throws IllegalArgumentException {
+    int start = first;
+    int end = first + Math.min(count, size);
+    if (!wrapping) {
+      start = Math.max(first, 0);
+      end = Math.min(first + count, size);
+      if (start >= end) {
+        throw new IllegalArgumentException("Viewport is outside the maze");
+      }
+    }
+    int[] indexes = new int[end - start];
+    for (int ii = 0; ii < indexes.length; ii++) {
+      indexes[ii] = Math.floorMod(start + ii, size);
+    }
+    return indexes;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("MazeViewport: ");
+    sb.append(totalRows).append(" x ").append(totalColumns);
+    sb.append(" at (").append(firstRow).append(", ").append(firstColumn).append(")");
+    return sb.toString();
+  }
+}
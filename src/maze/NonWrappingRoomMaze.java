@@ -35,8 +35,34 @@ public class NonWrappingRoomMaze extends AbstractMaze {
                              Random batMovementGenerator, int totalColumns,
                              int totalRows, int extraInternalWallsToRemove, int playerCount)
           throws IllegalArgumentException {
+    this(wallGenerator, adversaryGenerator, batMovementGenerator, totalColumns, totalRows,
+            extraInternalWallsToRemove, playerCount, new KruskalMazeGenerator());
+  }
+
+  /**
+   * Constructor that accepts random number generators, rows, column count in maze and the
+   * algorithm used to generate the perfect maze to generate a non-wrapping room maze.
+   * @param wallGenerator random number generator used by the maze generator and to remove the
+   *                      extra walls
+   * @param adversaryGenerator random number generator to add pits, bats to cells.
+   * @param batMovementGenerator random number generator to help with bat moving a player
+   *                             to random cell
+   * @param totalColumns number of columns in maze
+   * @param totalRows number of rows in maze
+   * @param extraInternalWallsToRemove extra walls that have to be removed. These walls are
+   *                                   removed after a perfect maze is generated.
+   * @param playerCount number of players
+   * @param mazeGenerator the algorithm that picks the walls removed to make a perfect maze
+   * @throws IllegalArgumentException thrown when invalid null generators, total rows & columns
+   *        are used or trying to remove too many internal walls.
+   */
+  public NonWrappingRoomMaze(Random wallGenerator, Random adversaryGenerator,
+                             Random batMovementGenerator, int totalColumns,
+                             int totalRows, int extraInternalWallsToRemove, int playerCount,
+                             IMazeGenerator mazeGenerator)
+          throws IllegalArgumentException {
     super(wallGenerator, adversaryGenerator, batMovementGenerator, totalColumns, totalRows,
-            playerCount);
+            playerCount, mazeGenerator);
     if (extraInternalWallsToRemove < 0) {
       throw new IllegalArgumentException("Non-negative value required for internal walls to be "
               + "removed");
@@ -50,6 +76,31 @@ public class NonWrappingRoomMaze extends AbstractMaze {
     this.initWallsForMaze();
   }
 
+  /**
+   * Constructor that restores a non-wrapping room maze from a snapshot, whose cells already have
+   * their walls and creatures.
+   * @param wallGenerator random number generator used to remove the extra walls
+   * @param adversaryGenerator random number generator to add pits, bats to cells.
+   * @param batMovementGenerator random number generator to help with bat moving a player
+   *                             to random cell
+   * @param cells the cells of the maze, by row
+   * @param extraInternalWallsToRemove extra walls that were removed
+   * @param playerCount number of players
+   * @throws IllegalArgumentException thrown when the generators are null, there are no cells
+   *        or the counts are not valid
+   */
+  NonWrappingRoomMaze(Random wallGenerator, Random adversaryGenerator,
+                      Random batMovementGenerator, Cell[][] cells, int extraInternalWallsToRemove,
+                      int playerCount) throws IllegalArgumentException {
+    super(wallGenerator, adversaryGenerator, batMovementGenerator, cells, playerCount);
+    if (extraInternalWallsToRemove < 0) {
+      throw new IllegalArgumentException("Non-negative value required for internal walls to be "
+              + "removed");
+    }
+    this.extraInternalWallsToRemove = extraInternalWallsToRemove;
+    this.removedInternalWalls = true;
+  }
+
   @Override
   public void removeWalls(Map<CreatureType, Integer> percentages, int totalPlayerArrows)
           throws UnsupportedOperationException,
@@ -65,15 +116,27 @@ public class NonWrappingRoomMaze extends AbstractMaze {
     }
   }
 
+  /**
+   * Removes random walls that are still present. The walls are picked without replacement from
+   * the walls that are left, so the time taken depends only on the number of walls.
+   * @param walls the walls to pick from
+   * @param wallsToRemove number of walls to be removed
+   * @throws IllegalArgumentException thrown when fewer walls are left than have to be removed
+   */
   protected void removeExtraWalls(Wall[] walls, int wallsToRemove) throws IllegalArgumentException {
-    int totalRemoved = 0;
-    while (totalRemoved < wallsToRemove) {
-      Wall wallToBreak = walls[this.wallGenerator.nextInt(walls.length)];
-      if (wallToBreak.isRemoved()) {
-        continue;
+    int[] remainingWalls = new int[walls.length];
+    int remainingCount = 0;
+    for (int ii = 0; ii < walls.length; ii++) {
+      if (!walls[ii].isRemoved()) {
+        remainingWalls[remainingCount++] = ii;
       }
-      removeWallHelper(wallToBreak);
-      totalRemoved += 1;
+    }
+    if (wallsToRemove < 0 || wallsToRemove > remainingCount) {
+      throw new IllegalArgumentException("Not enough walls exist that can be removed");
+    }
+    MazeUtils.sampleIndexes(remainingWalls, remainingCount, wallsToRemove, this.wallGenerator);
+    for (int ii = 0; ii < wallsToRemove; ii++) {
+      removeWallHelper(walls[remainingWalls[ii]]);
     }
   }
 
@@ -81,4 +144,9 @@ public class NonWrappingRoomMaze extends AbstractMaze {
   public boolean allRequestedWallsRemoved() {
     return super.allRequestedWallsRemoved() && this.removedInternalWalls;
   }
+
+  int getExtraInternalWallsToRemove() {
+    return this.extraInternalWallsToRemove;
+  }
+
 }
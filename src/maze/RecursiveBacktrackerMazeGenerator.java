@@ -0,0 +1,52 @@
+package maze;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Generates a perfect maze using the recursive backtracker algorithm. A walk starts at a random
+ * cell and keeps moving to a random neighbour that has not been visited, removing the wall
+ * between them. When a cell has no such neighbour the walk steps back to the last cell that has
+ * one. The cells to step back to are kept on an array instead of the call stack, so large mazes
+ * don't overflow the stack. The mazes have long winding passages and few dead ends.
+ */
+public class RecursiveBacktrackerMazeGenerator extends AbstractMazeGenerator {
+
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  @Override
+  protected void generate(int totalRows, int totalColumns, Random wallGenerator,
+                          IntConsumer wallRemover) {
+    int totalCells = totalRows * totalColumns;
+    BitSet visitedCells = new BitSet(totalCells);
+    int[] path = new int[totalCells];
+    int pathLength = 0;
+    int[] nextCells = new int[DIRECTIONS.length];
+    int[] nextWalls = new int[DIRECTIONS.length];
+
+    int startCell = wallGenerator.nextInt(totalCells);
+    visitedCells.set(startCell);
+    path[pathLength++] = startCell;
+    while (pathLength > 0) {
+      int cell = path[pathLength - 1];
+      int choices = 0;
+      for (Direction dir : DIRECTIONS) {
+        int nextCell = getNeighbourIndex(totalRows, totalColumns, cell, dir);
+        if (nextCell >= 0 && !visitedCells.get(nextCell)) {
+          nextCells[choices] = nextCell;
+          nextWalls[choices] = getWallIndex(totalRows, totalColumns, cell, dir);
+          choices += 1;
+        }
+      }
+      if (choices == 0) {
+        pathLength -= 1;
+        continue;
+      }
+      int choice = wallGenerator.nextInt(choices);
+      wallRemover.accept(nextWalls[choice]);
+      visitedCells.set(nextCells[choice]);
+      path[pathLength++] = nextCells[choice];
+    }
+  }
+}
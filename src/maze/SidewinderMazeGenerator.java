@@ -0,0 +1,36 @@
+package maze;
+
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Generates a perfect maze using the sidewinder algorithm. The first row is a single passage.
+ * Every other row is walked from west to east in runs of cells joined by removing the walls
+ * between them, and every run is joined to the row above through the north wall of one random
+ * cell of the run. Only the current run is remembered, so the maze is generated in a single pass
+ * without any extra memory, but it always has a passage along the north border.
+ */
+public class SidewinderMazeGenerator extends AbstractMazeGenerator {
+
+  @Override
+  protected void generate(int totalRows, int totalColumns, Random wallGenerator,
+                          IntConsumer wallRemover) {
+    for (int column = 0; column < totalColumns - 1; column++) {
+      wallRemover.accept(getWallIndex(totalRows, totalColumns, column, Direction.EAST));
+    }
+    for (int row = 1; row < totalRows; row++) {
+      int runStart = 0;
+      for (int column = 0; column < totalColumns; column++) {
+        int cell = row * totalColumns + column;
+        if (column < totalColumns - 1 && wallGenerator.nextBoolean()) {
+          wallRemover.accept(getWallIndex(totalRows, totalColumns, cell, Direction.EAST));
+          continue;
+        }
+        int runCell = row * totalColumns + runStart
+                + wallGenerator.nextInt(column - runStart + 1);
+        wallRemover.accept(getWallIndex(totalRows, totalColumns, runCell, Direction.NORTH));
+        runStart = column + 1;
+      }
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package maze;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Generates a perfect maze using Wilson's algorithm. The maze starts with a single random cell.
+ * From every cell that is not yet part of the maze a random walk is made until it reaches the
+ * maze, and the path of the walk with its loops erased is added to the maze. Every perfect maze
+ * is generated with the same probability, so the mazes have no bias, but the first walks can
+ * take long on large grids.
+ */
+public class WilsonMazeGenerator extends AbstractMazeGenerator {
+
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  @Override
+  protected void generate(int totalRows, int totalColumns, Random wallGenerator,
+                          IntConsumer wallRemover) {
+    int totalCells = totalRows * totalColumns;
+    BitSet mazeCells = new BitSet(totalCells);
+    byte[] walkDirections = new byte[totalCells];
+    mazeCells.set(wallGenerator.nextInt(totalCells));
+
+    for (int startCell = mazeCells.nextClearBit(0); startCell < totalCells;
+         startCell = mazeCells.nextClearBit(startCell + 1)) {
+      int cell = startCell;
+      while (!mazeCells.get(cell)) {
+        Direction dir;
+        int nextCell;
+        do {
+          dir = DIRECTIONS[wallGenerator.nextInt(DIRECTIONS.length)];
+          nextCell = getNeighbourIndex(totalRows, totalColumns, cell, dir);
+        }
+        while (nextCell < 0);
+        walkDirections[cell] = (byte) dir.ordinal();
+        cell = nextCell;
+      }
+      cell = startCell;
+      while (!mazeCells.get(cell)) {
+        Direction dir = DIRECTIONS[walkDirections[cell]];
+        wallRemover.accept(getWallIndex(totalRows, totalColumns, cell, dir));
+        mazeCells.set(cell);
+        cell = getNeighbourIndex(totalRows, totalColumns, cell, dir);
+      }
+    }
+  }
+}
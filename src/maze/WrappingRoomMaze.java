@@ -39,8 +39,40 @@ public class WrappingRoomMaze extends NonWrappingRoomMaze {
                           int totalRows, int extraInternalWallsToRemove, int borderWallsToRemove,
                           int playerCount)
           throws IllegalArgumentException {
+    this(wallGenerator, adversaryGenerator, batMovementGenerator, totalColumns, totalRows,
+            extraInternalWallsToRemove, borderWallsToRemove, playerCount,
+            new KruskalMazeGenerator());
+  }
+
+  /**
+   * Constructor that accepts random number generators, rows, column count in maze and the
+   * algorithm used to generate the perfect maze to generate a wrapping room maze.
+   * @param wallGenerator random number generator used by the maze generator and to remove the
+   *                      extra walls
+   * @param adversaryGenerator random number generator to add pits, bats to cells.
+   * @param batMovementGenerator random number generator to help with bat moving a player
+   *                             to random cell
+   * @param totalColumns number of columns in maze
+   * @param totalRows number of rows in maze
+   * @param extraInternalWallsToRemove extra walls that have to be removed
+   * @param borderWallsToRemove the number of walls at the border to be removed. At-least
+   *                            a value of will make the maze a wrapping maze.
+   * @param playerCount number of players
+   * @param mazeGenerator the algorithm that picks the walls removed to make a perfect maze
+   * @throws IllegalArgumentException thrown when invalid null generators, total rows & columns
+   *        are used or trying to remove too many border walls
+   */
+  public WrappingRoomMaze(Random wallGenerator, Random adversaryGenerator,
+                          Random batMovementGenerator, int totalColumns,
+                          int totalRows, int extraInternalWallsToRemove, int borderWallsToRemove,
+                          int playerCount, IMazeGenerator mazeGenerator)
+          throws IllegalArgumentException {
     super(wallGenerator, adversaryGenerator, batMovementGenerator, totalColumns,
-            totalRows, extraInternalWallsToRemove, playerCount);
+            totalRows, extraInternalWallsToRemove, playerCount, mazeGenerator);
+    if (borderWallsToRemove < 0) {
+      throw new IllegalArgumentException("Non-negative value required for border walls to be "
+              + "removed");
+    }
     if (borderWallsToRemove > getBorderWallsCount()) {
       throw new IllegalArgumentException("Trying to remove too many border walls");
     }
@@ -50,6 +82,34 @@ public class WrappingRoomMaze extends NonWrappingRoomMaze {
     this.initBorderWalls();
   }
 
+  /**
+   * Constructor that restores a wrapping room maze from a snapshot, whose cells already have
+   * their walls and creatures. The border walls are not built, since they can't be removed
+   * again.
+   * @param wallGenerator random number generator used to remove the extra walls
+   * @param adversaryGenerator random number generator to add pits, bats to cells.
+   * @param batMovementGenerator random number generator to help with bat moving a player
+   *                             to random cell
+   * @param cells the cells of the maze, by row
+   * @param extraInternalWallsToRemove extra walls that were removed
+   * @param borderWallsToRemove border walls that were removed
+   * @param playerCount number of players
+   * @throws IllegalArgumentException thrown when the generators are null, there are no cells
+   *        or the counts are not valid
+   */
+  WrappingRoomMaze(Random wallGenerator, Random adversaryGenerator, Random batMovementGenerator,
+                   Cell[][] cells, int extraInternalWallsToRemove, int borderWallsToRemove,
+                   int playerCount) throws IllegalArgumentException {
+    super(wallGenerator, adversaryGenerator, batMovementGenerator, cells,
+            extraInternalWallsToRemove, playerCount);
+    if (borderWallsToRemove < 0 || borderWallsToRemove > getBorderWallsCount()) {
+      throw new IllegalArgumentException("Invalid number of border walls removed");
+    }
+    this.borderWallsToRemove = borderWallsToRemove;
+    this.removedBorderWalls = true;
+    this.borderWalls = new Wall[0];
+  }
+
   @Override
   public void removeWalls(Map<CreatureType, Integer> percentages, int totalPlayerArrows)
           throws UnsupportedOperationException, PlayerKilledException {
@@ -89,4 +149,8 @@ public class WrappingRoomMaze extends NonWrappingRoomMaze {
   public boolean allRequestedWallsRemoved() {
     return super.allRequestedWallsRemoved() && removedBorderWalls;
   }
+
+  int getBorderWallsToRemove() {
+    return this.borderWallsToRemove;
+  }
 }
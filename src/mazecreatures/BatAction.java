@@ -1,10 +1,7 @@
 package mazecreatures;
 
-import java.util.List;
 import java.util.Random;
 
-import graph.MazePoint;
-import maze.Cell;
 import maze.IMaze;
 import maze.MazeUtils;
 import player.MazePlayer;
@@ -23,13 +20,8 @@ public class BatAction implements ICreatureAction {
     Random dropGenerator = maze.getMovementGenerator();
 
     if (dropGenerator.nextInt(MazeUtils.MAX_PERCENT) > MazeUtils.BAT_PICK_PERCENTAGE) {
-      List<Cell> availableCells = maze.getNonTunnelCells();
-      int cellToMoveIndex = dropGenerator.nextInt(availableCells.size());
-      Cell cellToMove = availableCells.get(cellToMoveIndex);
-      MazePoint newPos = new MazePoint(cellToMove.getRowPosition(),
-              cellToMove.getColumnPosition());
-      player.setNewPosition(newPos);
-      cellToMove.performCellActions(player, maze);
+      int cellToMoveIndex = dropGenerator.nextInt(maze.getNonTunnelCellCount());
+      maze.movePlayerToNonTunnelCell(player, cellToMoveIndex);
     }
   }
 }
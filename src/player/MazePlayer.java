@@ -45,6 +45,37 @@ public class MazePlayer {
     this.playerIndex = playerIndex;
   }
 
+  /**
+   * Creates a player in the middle of a game, to go on with a game that was saved.
+   * @param startCoordinates position where the player started
+   * @param currentCoordinates position of the player
+   * @param arrowCount number of arrows the player was given
+   * @param arrowsShot number of arrows the player has shot
+   * @param isPlayerAlive true if the player is alive
+   * @param playerIndex used to indicate the player out of list of players playing the game
+   * @throws IllegalArgumentException thrown when a position is null, the arrows are not valid or
+   *        the player index is negative
+   */
+  public MazePlayer(MazePoint startCoordinates, MazePoint currentCoordinates, int arrowCount,
+                    int arrowsShot, boolean isPlayerAlive, int playerIndex)
+          throws IllegalArgumentException {
+    if (startCoordinates == null || currentCoordinates == null) {
+      throw new IllegalArgumentException("Player coordinates can't be null");
+    }
+    if (arrowCount <= 0 || arrowsShot < 0 || arrowsShot > arrowCount) {
+      throw new IllegalArgumentException("Invalid arrow count for the player");
+    }
+    if (playerIndex < 0) {
+      throw new IllegalArgumentException("Player index can't be negative");
+    }
+    this.startCoordinates = startCoordinates;
+    this.currentCoordinates = currentCoordinates;
+    this.totalArrowCount = arrowCount;
+    this.currentArrowCount = arrowsShot;
+    this.isPlayerAlive = isPlayerAlive;
+    this.playerIndex = playerIndex;
+  }
+
   /**
    * Returns the integer used to uniquely identify a player.
    * @return the unique player index
@@ -67,6 +98,26 @@ public class MazePlayer {
     return sb.toString();
   }
 
+  public MazePoint getStartCoordinates() {
+    return startCoordinates;
+  }
+
+  /**
+   * Returns the number of arrows the player was given.
+   * @return number of arrows given
+   */
+  public int getTotalArrowCount() {
+    return totalArrowCount;
+  }
+
+  /**
+   * Returns the number of arrows the player has shot.
+   * @return number of arrows shot
+   */
+  public int getCurrentArrowCount() {
+    return currentArrowCount;
+  }
+
   /**
    * Returns the start & end co-ordinates of a player.
    * @return starting x & y co-ordinates
@@ -0,0 +1,285 @@
+package replay;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import gamemodel.GameModel;
+import gamemodel.IGameModel;
+import maze.Direction;
+import maze.GeneratedMaze;
+import maze.MazeFactory;
+import maze.MazeSpec;
+import mazecreatures.CreatureType;
+import mazeexceptions.RecoverableException;
+import player.PlayerKilledException;
+import player.PlayerKillsWumpusException;
+
+/**
+ * Class that records a game as the spec of its maze followed by the commands played, so that
+ * the game can be played again without a view. The spec holds the seeds of the maze, so the maze
+ * generated again is the same maze and every command has the same effect as before. Only the
+ * commands that were carried out are recorded, the commands refused by the maze don't change
+ * the game.
+ *
+ * <p>A command takes one byte. The two lowest bits hold the direction and the next bit tells
+ * whether the player moves or shoots. The five highest bits hold the power of an arrow. An arrow
+ * stronger than {@value #MAX_INLINE_POWER} has 0 in those bits and its power follows in the next
+ * bytes, seven bits at a time.
+ *
+ * <p>The log is written as the magic number {@code HTWR}, the version of the format, the spec
+ * of the maze, the number of commands, the number of bytes they take and the commands.
+ */
+public final class GameLog {
+
+  private static final int MAGIC = 0x48545752;
+
+  private static final int VERSION = 1;
+
+  private static final int MAX_INLINE_POWER = 31;
+
+  private static final int DIRECTION_MASK = 0x03;
+
+  private static final int SHOT_FLAG = 0x04;
+
+  private static final int POWER_SHIFT = 3;
+
+  private static final int VARINT_MASK = 0x7F;
+
+  private static final int VARINT_CONTINUE = 0x80;
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private static final int MAX_COMMAND_BYTES = 6;
+
+  private static final int READ_CHUNK = 1 << 16;
+
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private static final CreatureType[] CREATURE_TYPES = CreatureType.values();
+
+  private final MazeSpec spec;
+
+  private byte[] commands;
+
+  private int length;
+
+  private int commandCount;
+
+  /**
+   * Initializes the log of a game with no commands played yet.
+   * @param spec the spec of the maze of the game
+   * @throws IllegalArgumentException thrown when the spec is null
+   */
+  public GameLog(MazeSpec spec) throws IllegalArgumentException {
+    this(spec, new byte[INITIAL_CAPACITY], 0, 0);
+  }
+
+  private GameLog(MazeSpec spec, byte[] commands, int length, int commandCount)
+          throws IllegalArgumentException {
+    if (spec == null) {
+      throw new IllegalArgumentException("Maze spec can't be null");
+    }
+    this.spec = spec;
+    this.commands = commands;
+    this.length = length;
+    this.commandCount = commandCount;
+  }
+
+  public MazeSpec getSpec() {
+    return spec;
+  }
+
+  public int getCommandCount() {
+    return commandCount;
+  }
+
+  /**
+   * Records the player moving in a direction.
+   * @param direction the direction the player moved in
+   * @throws IllegalArgumentException thrown when the direction is null
+   */
+  public void recordMove(Direction direction) throws IllegalArgumentException {
+    if (direction == null) {
+      throw new IllegalArgumentException("Direction can't be null");
+    }
+    append(direction.ordinal());
+    this.commandCount++;
+  }
+
+  /**
+   * Records the player shooting an arrow.
+   * @param direction the direction the arrow was shot in
+   * @param power the power of the arrow
+   * @throws IllegalArgumentException thrown when the direction is null or the power is not
+   *        positive
+   */
+  public void recordShot(Direction direction, int power) throws IllegalArgumentException {
+    if (direction == null) {
+      throw new IllegalArgumentException("Direction can't be null");
+    }
+    if (power < 1) {
+      throw new IllegalArgumentException("Arrow power should be greater than zero");
+    }
+    if (power <= MAX_INLINE_POWER) {
+      append(power << POWER_SHIFT | SHOT_FLAG | direction.ordinal());
+    } else {
+      append(SHOT_FLAG | direction.ordinal());
+      int remaining = power;
+      while (remaining > VARINT_MASK) {
+        append(remaining & VARINT_MASK | VARINT_CONTINUE);
+        remaining >>>= 7;
+      }
+      append(remaining);
+    }
+    this.commandCount++;
+  }
+
+  private void append(int value) {
+    if (this.length == this.commands.length) {
+      this.commands = Arrays.copyOf(this.commands, this.commands.length * 2);
+    }
+    this.commands[this.length++] = (byte) value;
+  }
+
+  /**
+   * Generates the maze of the game again and plays the commands recorded on it. The game goes on
+   * after a player is killed as long as the game is not complete, as it does in the GUI.
+   * @return the game after the last command
+   * @throws IllegalArgumentException thrown when the maze can't be generated with the spec
+   * @throws IllegalStateException thrown when a command can't be played on the maze, which
+   *        means that the log was not recorded on this maze
+   */
+  public IGameModel replay() throws IllegalArgumentException, IllegalStateException {
+    GeneratedMaze generated = MazeFactory.generateMaze(spec);
+    IGameModel model = new GameModel(generated.getMaze());
+    int position = 0;
+    while (position < this.length) {
+      int command = this.commands[position++];
+      Direction direction = DIRECTIONS[command & DIRECTION_MASK];
+      try {
+        if ((command & SHOT_FLAG) == 0) {
+          model.movePlayerInDirection(direction);
+        } else {
+          int power = (command & 0xFF) >>> POWER_SHIFT;
+          if (power == 0) {
+            int shift = 0;
+            int next;
+            do {
+              if (position == this.length) {
+                throw new IllegalStateException("Game log ends in the middle of a command");
+              }
+              next = this.commands[position++];
+              power |= (next & VARINT_MASK) << shift;
+              shift += 7;
+            }
+            while ((next & VARINT_CONTINUE) != 0);
+          }
+          model.shootArrow(direction, power);
+        }
+      } catch (PlayerKilledException | PlayerKillsWumpusException exception) {
+        // The game goes on with the next player, if there is one.
+      } catch (RecoverableException exception) {
+        throw new IllegalStateException("Game log doesn't match its maze: "
+                + exception.getMessage());
+      }
+    }
+    return model;
+  }
+
+  /**
+   * Writes the log. The stream is not closed.
+   * @param out where the log is written
+   * @throws IOException thrown when writing fails
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(MAGIC);
+    data.writeByte(VERSION);
+    data.writeInt(spec.getTotalRows());
+    data.writeInt(spec.getTotalColumns());
+    data.writeInt(spec.getExtraInternalWallsToRemove());
+    data.writeInt(spec.getBorderWallsToRemove());
+    data.writeInt(spec.getPlayerCount());
+    data.writeByte(spec.getPercentages().size());
+    for (Map.Entry<CreatureType, Integer> percentage : spec.getPercentages().entrySet()) {
+      data.writeByte(percentage.getKey().ordinal());
+      data.writeInt(percentage.getValue());
+    }
+    data.writeInt(spec.getTotalPlayerArrows());
+    data.writeLong(spec.getWallSeed());
+    data.writeLong(spec.getAdversarySeed());
+    data.writeLong(spec.getBatMovementSeed());
+    data.writeInt(commandCount);
+    data.writeInt(length);
+    data.write(commands, 0, length);
+    data.flush();
+  }
+
+  /**
+   * Reads a log written by {@link #writeTo(OutputStream)}. The stream is not closed.
+   * @param in where the log is read from
+   * @return the log
+   * @throws IOException thrown when reading fails or the data is not a game log
+   */
+  public static GameLog readFrom(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+    if (data.readInt() != MAGIC) {
+      throw new IOException("Data is not a game log");
+    }
+    int version = data.readUnsignedByte();
+    if (version != VERSION) {
+      throw new IOException("Unsupported game log version " + version);
+    }
+    int totalRows = data.readInt();
+    int totalColumns = data.readInt();
+    int extraInternalWallsToRemove = data.readInt();
+    int borderWallsToRemove = data.readInt();
+    int playerCount = data.readInt();
+    int creatureCount = data.readUnsignedByte();
+    Map<CreatureType, Integer> percentages = new LinkedHashMap<>();
+    for (int ii = 0; ii < creatureCount; ii++) {
+      int creature = data.readUnsignedByte();
+      if (creature >= CREATURE_TYPES.length) {
+        throw new IOException("Unknown creature in game log");
+      }
+      percentages.put(CREATURE_TYPES[creature], data.readInt());
+    }
+    int totalPlayerArrows = data.readInt();
+    MazeSpec spec = new MazeSpec(totalRows, totalColumns, extraInternalWallsToRemove,
+            borderWallsToRemove, playerCount, percentages, totalPlayerArrows, data.readLong(),
+            data.readLong(), data.readLong());
+    int commandCount = data.readInt();
+    int length = data.readInt();
+    if (commandCount < 0 || length < commandCount
+            || length > (long) commandCount * MAX_COMMAND_BYTES) {
+      throw new IOException("Invalid command count in game log");
+    }
+    return new GameLog(spec, readCommands(data, length), length, commandCount);
+  }
+
+  /**
+   * Reads the commands in chunks, so that a log whose header claims more commands than it holds
+   * ends as soon as the data ends instead of allocating room for all of them.
+   */
+  private static byte[] readCommands(DataInputStream data, int length) throws IOException {
+    byte[] commands = new byte[Math.max(Math.min(length, READ_CHUNK), INITIAL_CAPACITY)];
+    int read = 0;
+    while (read < length) {
+      if (read == commands.length) {
+        commands = Arrays.copyOf(commands, (int) Math.min(2L * commands.length, length));
+      }
+      int count = data.read(commands, read, Math.min(commands.length, length) - read);
+      if (count < 0) {
+        throw new IOException("Game log is truncated");
+      }
+      read += count;
+    }
+    return commands;
+  }
+}
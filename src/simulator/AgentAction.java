@@ -0,0 +1,74 @@
+package simulator;
+
+import maze.Direction;
+
+/**
+ * Class that is used to represent the action an agent takes in its turn, which is either moving
+ * the player in a direction or shooting an arrow in a direction with some power.
+ */
+public final class AgentAction {
+
+  private final Direction direction;
+
+  private final int arrowPower;
+
+  private AgentAction(Direction direction, int arrowPower) throws IllegalArgumentException {
+    if (direction == null) {
+      throw new IllegalArgumentException("Direction of an action can't be null");
+    }
+    this.direction = direction;
+    this.arrowPower = arrowPower;
+  }
+
+  /**
+   * Returns the action of moving the player in a direction.
+   * @param direction direction to move in
+   * @return the action
+   * @throws IllegalArgumentException thrown when the direction is null
+   */
+  public static AgentAction move(Direction direction) throws IllegalArgumentException {
+    return new AgentAction(direction, 0);
+  }
+
+  /**
+   * Returns the action of shooting an arrow in a direction.
+   * @param direction direction to shoot in
+   * @param power number of rooms the arrow travels
+   * @return the action
+   * @throws IllegalArgumentException thrown when the direction is null or the power is not
+   *        positive
+   */
+  public static AgentAction shoot(Direction direction, int power)
+          throws IllegalArgumentException {
+    if (power <= 0) {
+      throw new IllegalArgumentException("Arrow power should be greater than zero");
+    }
+    return new AgentAction(direction, power);
+  }
+
+  /**
+   * Returns true if this action shoots an arrow, false if it moves the player.
+   * @return true if an arrow is shot
+   */
+  public boolean isShot() {
+    return arrowPower > 0;
+  }
+
+  public Direction getDirection() {
+    return direction;
+  }
+
+  public int getArrowPower() {
+    return arrowPower;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder(isShot() ? "Shoot " : "Move ");
+    sb.append(direction.getDirectionString());
+    if (isShot()) {
+      sb.append(" with power ").append(arrowPower);
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,31 @@
+package simulator;
+
+/**
+ * Enumeration that is used to represent how a simulated game ended.
+ */
+public enum GameOutcome {
+
+  WUMPUS_KILLED("Wumpus killed"),
+  KILLED_BY_PIT("Killed by pit"),
+  KILLED_BY_WUMPUS("Killed by Wumpus"),
+  OUT_OF_ARROWS("Out of arrows"),
+  TURN_LIMIT("Turn limit reached");
+
+  private final String description;
+
+  GameOutcome(String description) {
+    this.description = description;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  /**
+   * Returns true if the player lost the game by being killed.
+   * @return true if the player was killed
+   */
+  public boolean isPlayerKilled() {
+    return this == KILLED_BY_PIT || this == KILLED_BY_WUMPUS || this == OUT_OF_ARROWS;
+  }
+}
@@ -0,0 +1,60 @@
+package simulator;
+
+/**
+ * Class that is used to hold the result of one simulated game.
+ */
+public final class GameResult {
+
+  private final long seed;
+
+  private final GameOutcome outcome;
+
+  private final int turns;
+
+  private final int batDrops;
+
+  /**
+   * Constructor to initialize the fields of this class.
+   * @param seed seed the game was played with
+   * @param outcome how the game ended
+   * @param turns number of turns played, 0 if the player was killed when placed in the maze
+   * @param batDrops number of times bats carried the player to another room
+   * @throws IllegalArgumentException thrown when the outcome is null
+   */
+  public GameResult(long seed, GameOutcome outcome, int turns, int batDrops)
+          throws IllegalArgumentException {
+    if (outcome == null) {
+      throw new IllegalArgumentException("Game outcome can't be null");
+    }
+    this.seed = seed;
+    this.outcome = outcome;
+    this.turns = turns;
+    this.batDrops = batDrops;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  public GameOutcome getOutcome() {
+    return outcome;
+  }
+
+  public int getTurns() {
+    return turns;
+  }
+
+  public int getBatDrops() {
+    return batDrops;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("GameResult: ");
+    sb.append("seed = ").append(seed);
+    sb.append(", outcome = ").append(outcome.getDescription());
+    sb.append(", turns = ").append(turns);
+    sb.append(", bat drops = ").append(batDrops);
+    return sb.toString();
+  }
+}
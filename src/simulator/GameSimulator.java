@@ -0,0 +1,198 @@
+package simulator;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+import gamemodel.GameModel;
+import gamemodel.IGameModel;
+import graph.MazePoint;
+import maze.Direction;
+import maze.GeneratedMaze;
+import maze.MazeFactory;
+import maze.MazeSpec;
+import mazecreatures.CreatureType;
+import mazeexceptions.RecoverableException;
+import player.PlayerKilledException;
+import player.PlayerKillsWumpusException;
+
+/**
+ * Class that plays games of a maze configuration without a controller or a view, with the
+ * actions of the player picked by an agent policy. The games are played through
+ * {@link IGameModel} just like a person would play them, so they follow the same rules.
+ *
+ * <p>Every game is played with its own seed, from which the seeds of the maze and the random
+ * choices of the policy are picked, so a game played with the same seed always ends the same
+ * way. Many games are played by splitting them into tasks of a fork-join pool. The stats of the
+ * games don't depend on how the games are split between the threads.
+ */
+public class GameSimulator {
+
+  private static final int GAMES_PER_TASK = 256;
+
+  private final MazeSpec configuration;
+
+  private final Supplier<IAgentPolicy> policies;
+
+  private final int maxTurns;
+
+  /**
+   * Initializes the simulator.
+   * @param configuration the configuration of the mazes played, whose seeds are ignored
+   * @param policies creates the policy that plays a game, a new one for every game
+   * @param maxTurns number of turns after which a game is stopped
+   * @throws IllegalArgumentException thrown when the configuration or the policies are null,
+   *        the configuration has more than one player or the turns are not positive
+   */
+  public GameSimulator(MazeSpec configuration, Supplier<IAgentPolicy> policies, int maxTurns)
+          throws IllegalArgumentException {
+    if (configuration == null || policies == null) {
+      throw new IllegalArgumentException("Maze configuration and policies can't be null");
+    }
+    if (configuration.getPlayerCount() != 1) {
+      throw new IllegalArgumentException("Simulated games are played by a single player");
+    }
+    if (maxTurns < 1) {
+      throw new IllegalArgumentException("Maximum turns can't be less than one");
+    }
+    this.configuration = configuration;
+    this.policies = policies;
+    this.maxTurns = maxTurns;
+  }
+
+  /**
+   * Plays games on the common fork-join pool.
+   * @param firstSeed seed of the first game, the next games are played with the next seeds
+   * @param gameCount number of games to play
+   * @return stats of the games
+   * @throws IllegalArgumentException thrown when the game count is negative or a maze can't be
+   *        generated with the configuration
+   */
+  public SimulationStats simulate(long firstSeed, long gameCount)
+          throws IllegalArgumentException {
+    return simulate(firstSeed, gameCount, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Plays games on a fork-join pool.
+   * @param firstSeed seed of the first game, the next games are played with the next seeds
+   * @param gameCount number of games to play
+   * @param pool the pool the games are played on
+   * @return stats of the games
+   * @throws IllegalArgumentException thrown when the game count is negative, the pool is null
+   *        or a maze can't be generated with the configuration
+   */
+  public SimulationStats simulate(long firstSeed, long gameCount, ForkJoinPool pool)
+          throws IllegalArgumentException {
+    if (gameCount < 0) {
+      throw new IllegalArgumentException("Game count can't be negative");
+    }
+    if (pool == null) {
+      throw new IllegalArgumentException("Fork-join pool can't be null");
+    }
+    long start = System.nanoTime();
+    SimulationStats stats = pool.invoke(new SimulationTask(firstSeed, gameCount));
+    stats.setElapsedNanos(System.nanoTime() - start);
+    return stats;
+  }
+
+  /**
+   * Plays one game.
+   * @param seed seed of the game
+   * @return the result of the game
+   * @throws IllegalArgumentException thrown when a maze can't be generated with the
+   *        configuration
+   */
+  public GameResult playGame(long seed) throws IllegalArgumentException {
+    SplittableRandom seeds = new SplittableRandom(seed);
+    MazeSpec spec = configuration.withSeeds(seeds.nextLong(), seeds.nextLong(),
+            seeds.nextLong());
+    Random random = new Random(seeds.nextLong());
+    GeneratedMaze generated = MazeFactory.generateMaze(spec);
+    IGameModel model = new GameModel(generated.getMaze());
+    if (generated.isPlayerKilled()) {
+      return new GameResult(seed, getDeathCause(model), 0, 0);
+    }
+    IAgentPolicy policy = policies.get();
+    int batDrops = 0;
+    for (int turn = 1; turn <= maxTurns; turn++) {
+      AgentAction action = policy.nextAction(model, random);
+      Direction direction = action.getDirection();
+      try {
+        if (action.isShot()) {
+          if (model.shootArrow(direction, action.getArrowPower())) {
+            return new GameResult(seed, GameOutcome.WUMPUS_KILLED, turn, batDrops);
+          }
+        } else {
+          MazePoint position = model.getActivePlayerCoordinates();
+          MazePoint expected = model.getExpectedMovementPosition(position, direction);
+          boolean hasBats = model.resultingCellHasCreature(position, direction,
+                  CreatureType.BAT, 2);
+          try {
+            model.movePlayerInDirection(direction);
+          } finally {
+            if (hasBats && !model.getActivePlayerCoordinates().equals(expected)) {
+              batDrops++;
+            }
+          }
+        }
+      } catch (PlayerKilledException exception) {
+        GameOutcome outcome = action.isShot() ? GameOutcome.OUT_OF_ARROWS : getDeathCause(model);
+        return new GameResult(seed, outcome, turn, batDrops);
+      } catch (PlayerKillsWumpusException exception) {
+        return new GameResult(seed, GameOutcome.WUMPUS_KILLED, turn, batDrops);
+      } catch (RecoverableException exception) {
+        // The action was not allowed and the turn is lost, as it is for a person playing.
+      }
+    }
+    return new GameResult(seed, GameOutcome.TURN_LIMIT, maxTurns, batDrops);
+  }
+
+  /**
+   * Returns what killed the player in the room the player is in. The Wumpus acts before a pit,
+   * so the player was killed by the Wumpus if the room has one.
+   * @param model the game in which the player was killed
+   * @return how the player was killed
+   */
+  private static GameOutcome getDeathCause(IGameModel model) {
+    if (model.resultingCellHasCreature(model.getActivePlayerCoordinates(), Direction.NORTH,
+            CreatureType.WUMPUS, 1)) {
+      return GameOutcome.KILLED_BY_WUMPUS;
+    }
+    return GameOutcome.KILLED_BY_PIT;
+  }
+
+  /**
+   * Task that plays a range of games, split in halves until the range is small enough.
+   */
+  private final class SimulationTask extends RecursiveTask<SimulationStats> {
+
+    private final long firstSeed;
+
+    private final long gameCount;
+
+    private SimulationTask(long firstSeed, long gameCount) {
+      this.firstSeed = firstSeed;
+      this.gameCount = gameCount;
+    }
+
+    @Override
+    protected SimulationStats compute() {
+      if (gameCount <= GAMES_PER_TASK) {
+        SimulationStats stats = new SimulationStats();
+        for (long ii = 0; ii < gameCount; ii++) {
+          stats.addGame(playGame(firstSeed + ii));
+        }
+        return stats;
+      }
+      long half = gameCount / 2;
+      SimulationTask firstHalf = new SimulationTask(firstSeed, half);
+      firstHalf.fork();
+      SimulationStats secondHalf = new SimulationTask(firstSeed + half, gameCount - half)
+              .compute();
+      return firstHalf.join().merge(secondHalf);
+    }
+  }
+}
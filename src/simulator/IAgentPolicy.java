@@ -0,0 +1,23 @@
+package simulator;
+
+import java.util.Random;
+
+import gamemodel.IGameModel;
+
+/**
+ * Interface that is used to pick the actions of a player in a simulated game, in place of a
+ * person playing through a controller. A policy may remember what it has seen during a game, so
+ * a new policy is used for every game.
+ */
+public interface IAgentPolicy {
+
+  /**
+   * Picks the next action of the player whose turn it is. The policy can ask the model what the
+   * player senses and where the player can move, but must not change the model.
+   * @param model the game being played
+   * @param random random number generator of the game, used for every random choice so that
+   *               a game played with the same seed is played the same way
+   * @return the action to take
+   */
+  AgentAction nextAction(IGameModel model, Random random);
+}
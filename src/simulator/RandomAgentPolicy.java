@@ -0,0 +1,42 @@
+package simulator;
+
+import java.util.List;
+import java.util.Random;
+
+import gamemodel.IGameModel;
+import maze.Direction;
+import maze.MazeUtils;
+
+/**
+ * Policy that walks at random and shoots an arrow in a random direction with a random power
+ * now and then. It ignores what the player senses, which makes it a baseline to compare other
+ * policies against.
+ */
+public class RandomAgentPolicy implements IAgentPolicy {
+
+  private static final int MAX_ARROW_POWER = 3;
+
+  private final int shootPercentage;
+
+  /**
+   * Initializes the policy.
+   * @param shootPercentage percentage of the turns in which an arrow is shot
+   * @throws IllegalArgumentException thrown when the percentage is not between 0 and 100
+   */
+  public RandomAgentPolicy(int shootPercentage) throws IllegalArgumentException {
+    if (shootPercentage < 0 || shootPercentage > MazeUtils.MAX_PERCENT) {
+      throw new IllegalArgumentException("Shoot percentage is not between 0 and 100");
+    }
+    this.shootPercentage = shootPercentage;
+  }
+
+  @Override
+  public AgentAction nextAction(IGameModel model, Random random) {
+    List<Direction> directions = model.getValidDirectionsForMovement();
+    Direction direction = directions.get(random.nextInt(directions.size()));
+    if (random.nextInt(MazeUtils.MAX_PERCENT) < shootPercentage) {
+      return AgentAction.shoot(direction, 1 + random.nextInt(MAX_ARROW_POWER));
+    }
+    return AgentAction.move(direction);
+  }
+}
@@ -0,0 +1,65 @@
+package simulator;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import gamemodel.IGameModel;
+import graph.MazePoint;
+import maze.Direction;
+import mazecreatures.CreatureType;
+
+/**
+ * Policy that plays the way a careful person would. When the player smells the Wumpus, an arrow
+ * is shot into the next room in a direction not tried yet from that room. Otherwise the player
+ * walks to a room not visited yet, except when a draft is felt, in which case the player walks
+ * back to a room already visited, since those rooms are known to be safe. The policy remembers
+ * the rooms of one game only.
+ */
+public class SensingAgentPolicy implements IAgentPolicy {
+
+  private final Set<MazePoint> visitedRooms;
+
+  private final Map<MazePoint, Set<Direction>> shotDirections;
+
+  /**
+   * Initializes the policy for a new game.
+   */
+  public SensingAgentPolicy() {
+    this.visitedRooms = new HashSet<>();
+    this.shotDirections = new HashMap<>();
+  }
+
+  @Override
+  public AgentAction nextAction(IGameModel model, Random random) {
+    MazePoint position = model.getActivePlayerCoordinates();
+    this.visitedRooms.add(position);
+    List<Direction> directions = model.getValidDirectionsForMovement();
+    if (model.checkCreatureInAdjacentCells(CreatureType.WUMPUS)) {
+      Set<Direction> triedDirections = this.shotDirections.computeIfAbsent(position,
+              point -> EnumSet.noneOf(Direction.class));
+      for (Direction direction : directions) {
+        if (triedDirections.add(direction)) {
+          return AgentAction.shoot(direction, 1);
+        }
+      }
+    }
+    boolean feelsDraft = model.checkCreatureInAdjacentCells(CreatureType.PIT);
+    List<Direction> preferred = new ArrayList<>(directions.size());
+    for (Direction direction : directions) {
+      MazePoint nextRoom = model.getExpectedMovementPosition(position, direction);
+      if (nextRoom != null && this.visitedRooms.contains(nextRoom) == feelsDraft) {
+        preferred.add(direction);
+      }
+    }
+    if (preferred.isEmpty()) {
+      preferred = directions;
+    }
+    return AgentAction.move(preferred.get(random.nextInt(preferred.size())));
+  }
+}
@@ -0,0 +1,140 @@
+package simulator;
+
+import java.util.Locale;
+
+import maze.MazeUtils;
+
+/**
+ * Class that is used to count the outcomes of simulated games. The stats of games played on
+ * different threads are counted separately and merged once the games are over.
+ */
+public class SimulationStats {
+
+  private static final double NANOS_PER_SECOND = 1e9;
+
+  private final long[] outcomeCounts;
+
+  private long gameCount;
+
+  private long turnCount;
+
+  private long batDropCount;
+
+  private long elapsedNanos;
+
+  /**
+   * Initializes the stats of no games.
+   */
+  public SimulationStats() {
+    this.outcomeCounts = new long[GameOutcome.values().length];
+  }
+
+  /**
+   * Counts the result of a game.
+   * @param result result of the game
+   */
+  void addGame(GameResult result) {
+    this.outcomeCounts[result.getOutcome().ordinal()]++;
+    this.gameCount++;
+    this.turnCount += result.getTurns();
+    this.batDropCount += result.getBatDrops();
+  }
+
+  /**
+   * Adds the games counted by other stats to these stats.
+   * @param other stats of other games
+   * @return these stats
+   */
+  SimulationStats merge(SimulationStats other) {
+    for (int ii = 0; ii < this.outcomeCounts.length; ii++) {
+      this.outcomeCounts[ii] += other.outcomeCounts[ii];
+    }
+    this.gameCount += other.gameCount;
+    this.turnCount += other.turnCount;
+    this.batDropCount += other.batDropCount;
+    return this;
+  }
+
+  void setElapsedNanos(long elapsedNanos) {
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  public long getGameCount() {
+    return gameCount;
+  }
+
+  /**
+   * Returns the number of games that ended in a way.
+   * @param outcome how the games ended
+   * @return number of games
+   */
+  public long getOutcomeCount(GameOutcome outcome) {
+    return outcomeCounts[outcome.ordinal()];
+  }
+
+  public long getTurnCount() {
+    return turnCount;
+  }
+
+  public long getBatDropCount() {
+    return batDropCount;
+  }
+
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Returns the percentage of the games in which the Wumpus was killed.
+   * @return the win rate, 0 if no games were played
+   */
+  public double getWinRate() {
+    return getPercentage(getOutcomeCount(GameOutcome.WUMPUS_KILLED));
+  }
+
+  /**
+   * Returns the percentage of the games that ended in a way.
+   * @param outcome how the games ended
+   * @return the percentage of games, 0 if no games were played
+   */
+  public double getOutcomeRate(GameOutcome outcome) {
+    return getPercentage(getOutcomeCount(outcome));
+  }
+
+  private double getPercentage(long count) {
+    return gameCount == 0 ? 0 : (double) count * MazeUtils.MAX_PERCENT / gameCount;
+  }
+
+  /**
+   * Returns the average number of turns played in a game.
+   * @return the average number of turns, 0 if no games were played
+   */
+  public double getAverageTurns() {
+    return gameCount == 0 ? 0 : (double) turnCount / gameCount;
+  }
+
+  /**
+   * Returns the number of games played in a second, measured over all the games.
+   * @return games played in a second, 0 if the time was not measured
+   */
+  public double getGamesPerSecond() {
+    return elapsedNanos == 0 ? 0 : gameCount * NANOS_PER_SECOND / elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("SimulationStats: ");
+    sb.append(gameCount).append(" games");
+    sb.append(String.format(Locale.ROOT, ", %.1f games per second", getGamesPerSecond()));
+    sb.append(String.format(Locale.ROOT, ", win rate = %.2f%%", getWinRate()));
+    for (GameOutcome outcome : GameOutcome.values()) {
+      if (outcome != GameOutcome.WUMPUS_KILLED) {
+        sb.append(", ").append(outcome.getDescription().toLowerCase(Locale.ROOT)).append(" = ")
+                .append(getOutcomeCount(outcome));
+      }
+    }
+    sb.append(", bat drops = ").append(batDropCount);
+    sb.append(String.format(Locale.ROOT, ", average turns = %.2f", getAverageTurns()));
+    return sb.toString();
+  }
+}
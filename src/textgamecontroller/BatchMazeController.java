@@ -0,0 +1,315 @@
+package textgamecontroller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import gamecontrollerdefault.IMazeController;
+import gamemodel.IGameModel;
+import graph.MazePoint;
+import maze.Direction;
+import maze.GeneratedMaze;
+import maze.MazeFactory;
+import maze.MazeSpec;
+import maze.MazeUtils;
+import mazecreatures.CreatureType;
+import mazeexceptions.RecoverableException;
+import player.PlayerKilledException;
+import player.PlayerKillsWumpusException;
+
+/**
+ * Controller that plays a game of the text mode from a script instead of a person. The script
+ * holds the answers the text mode asks for, in the same order: the rows, the columns, the
+ * internal and border walls to remove, the players, the percentage of every creature, the arrows,
+ * whether to show the table and then the turns, each one being {@code m} and a direction or
+ * {@code s}, a direction and a power. The answers are separated by spaces or new lines and a
+ * {@code #} starts a comment that runs to the end of the line.
+ *
+ * <p>The script may start with {@code seed} and a number, in which case the maze is generated
+ * from that seed and the script plays the same game every time. Without it a seed is picked at
+ * random and written in the summary, so the game can be played again.
+ *
+ * <p>No prompts or mazes are written while the game is played. Once the game is over, or the
+ * script has no more turns, a summary of the game is written, followed by the maze if the script
+ * asked for the table. Each turn can also be written as a line of CSV. As in the text mode, the
+ * game is over as soon as a player is killed.
+ */
+public class BatchMazeController implements IMazeController {
+
+  private static final String SEED_KEYWORD = "seed";
+
+  private static final String YES_VALUE = "y";
+
+  private static final String CSV_HEADER = "turn,player,action,direction,power,x,y,result,"
+          + "message\n";
+
+  private static final double NANOS_PER_MILLI = 1e6;
+
+  private final BufferedReader script;
+
+  private final Appendable output;
+
+  private final Appendable turnLog;
+
+  private final IGameModel model;
+
+  private int turnCount;
+
+  private int moveCount;
+
+  private int shotCount;
+
+  private int rejectedCount;
+
+  private int batCount;
+
+  /**
+   * Initializes the controller with the script it plays.
+   * @param script the script of the game
+   * @param output where the summary of the game is written
+   * @param turnLog where a line of CSV is written for every turn, null when the turns are not
+   *                written
+   * @param model the model on which the maze of the script is set
+   * @throws IllegalArgumentException thrown when the script, output or model are null
+   */
+  public BatchMazeController(BufferedReader script, Appendable output, Appendable turnLog,
+                             IGameModel model) throws IllegalArgumentException {
+    if (script == null || output == null || model == null) {
+      throw new IllegalArgumentException("Script, output and model can't be null");
+    }
+    this.script = script;
+    this.output = output;
+    this.turnLog = turnLog;
+    this.model = model;
+  }
+
+  /**
+   * Plays the script and writes the summary of the game.
+   * @throws IOException thrown when the script can't be read, the maze in it is not valid or
+   *        the output can't be written
+   */
+  @Override
+  public void start() throws IOException {
+    long start = System.nanoTime();
+    ScriptReader reader = new ScriptReader(this.script);
+    long seed;
+    if (SEED_KEYWORD.equalsIgnoreCase(reader.peek())) {
+      reader.next();
+      seed = reader.nextLong("seed");
+    } else {
+      seed = new SplittableRandom().nextLong();
+    }
+    int rows = reader.nextInt("number of rows");
+    int columns = reader.nextInt("number of columns");
+    int internalWalls = reader.nextInt("number of internal walls");
+    int borderWalls = reader.nextInt("number of border walls");
+    int playerCount = reader.nextInt("number of players");
+    Map<CreatureType, Integer> percentages = new LinkedHashMap<>();
+    for (CreatureType type : CreatureType.getCustomizableCreatures()) {
+      percentages.put(type, reader.nextInt("percentage of " + type.getCreatureName()));
+    }
+    int arrows = reader.nextInt("number of arrows");
+    String showTable = reader.next();
+    SplittableRandom seeds = new SplittableRandom(seed);
+    GeneratedMaze generated;
+    try {
+      generated = MazeFactory.generateMaze(new MazeSpec(rows, columns, internalWalls,
+              borderWalls, playerCount, percentages, arrows, seeds.nextLong(), seeds.nextLong(),
+              seeds.nextLong()));
+    } catch (IllegalArgumentException | IllegalStateException exception) {
+      throw new IOException("Invalid maze in the batch script: " + exception.getMessage());
+    }
+    this.model.setMaze(generated.getMaze());
+    if (this.turnLog != null) {
+      this.turnLog.append(CSV_HEADER);
+    }
+    String outcome;
+    if (generated.isPlayerKilled()) {
+      outcome = "Player " + (this.model.lastKilledPlayerIndex() + 1) + " Lost !!!!\n"
+              + generated.getPlayerKilledMessage();
+    } else {
+      outcome = playTurns(reader);
+    }
+    writeSummary(seed, outcome, System.nanoTime() - start);
+    if (showTable != null && YES_VALUE.equals(MazeUtils.cleanString(showTable).toLowerCase())) {
+      this.model.printMaze(true, this.output);
+      this.output.append("\n");
+    }
+  }
+
+  private String playTurns(ScriptReader reader) throws IOException {
+    for (String action = reader.next(); action != null; action = reader.next()) {
+      this.turnCount++;
+      int player = this.model.getActivePlayerIndex() + 1;
+      MazePoint position = this.model.getActivePlayerCoordinates();
+      action = MazeUtils.cleanString(action).toLowerCase();
+      boolean shoot = "s".equals(action);
+      String directionName = shoot || "m".equals(action) ? reader.next() : null;
+      Direction direction = directionName == null ? null : ShootCommand.parseDirection(
+              MazeUtils.cleanString(directionName));
+      String powerValue = shoot ? reader.next() : null;
+      int power = 0;
+      boolean hasBats = false;
+      boolean wumpusKilled = false;
+      try {
+        if (!shoot && !"m".equals(action)) {
+          throw new RecoverableException("Unknown option entered: " + action);
+        }
+        if (direction == null) {
+          throw new RecoverableException("Invalid direction entered: " + directionName);
+        }
+        if (shoot) {
+          power = parsePower(powerValue);
+          wumpusKilled = this.model.shootArrow(direction, power);
+        } else {
+          hasBats = this.model.resultingCellHasCreature(position, direction, CreatureType.BAT,
+                  2);
+          this.model.movePlayerInDirection(direction);
+        }
+      } catch (RecoverableException exception) {
+        this.rejectedCount++;
+        writeTurn(player, action, direction, power, position, "rejected",
+                exception.getMessage());
+        continue;
+      } catch (PlayerKilledException exception) {
+        countTurn(shoot, hasBats);
+        writeTurn(player, action, direction, power, position, "killed", exception.getMessage());
+        return "Player " + (this.model.lastKilledPlayerIndex() + 1) + " Lost !!!!\n"
+                + exception.getMessage();
+      } catch (PlayerKillsWumpusException exception) {
+        wumpusKilled = true;
+      }
+      countTurn(shoot, hasBats);
+      if (wumpusKilled) {
+        writeTurn(player, action, direction, power, position, "won", "");
+        return "Player " + player + " Wins !!!!\nPlayer kills Wumpus !!!!";
+      }
+      writeTurn(player, action, direction, power, position,
+              shoot ? "missed" : hasBats ? "bats" : "moved", "");
+    }
+    return "Game not complete, the script has no more turns";
+  }
+
+  private void countTurn(boolean shoot, boolean hasBats) {
+    if (shoot) {
+      this.shotCount++;
+    } else {
+      this.moveCount++;
+      if (hasBats) {
+        this.batCount++;
+      }
+    }
+  }
+
+  private static int parsePower(String powerValue) throws RecoverableException {
+    if (powerValue == null) {
+      throw new RecoverableException("Arrow power missing at the end of the script");
+    }
+    try {
+      return MazeUtils.parseInt(MazeUtils.cleanString(powerValue));
+    } catch (NumberFormatException exception) {
+      throw new RecoverableException("Invalid arrow power entered: " + powerValue);
+    }
+  }
+
+  private void writeTurn(int player, String action, Direction direction, int power,
+                         MazePoint position, String result, String message)
+          throws IOException {
+    if (this.turnLog == null) {
+      return;
+    }
+    this.turnLog.append(String.valueOf(this.turnCount)).append(',')
+            .append(String.valueOf(player)).append(',')
+            .append(action).append(',')
+            .append(direction == null ? "" : direction.getDirectionString()).append(',')
+            .append(power == 0 ? "" : String.valueOf(power)).append(',')
+            .append(String.valueOf(position.getXCoordinate())).append(',')
+            .append(String.valueOf(position.getYCoordinate())).append(',')
+            .append(result).append(',');
+    if (!message.isEmpty()) {
+      this.turnLog.append('"').append(message.trim().replace("\"", "\"\"")).append('"');
+    }
+    this.turnLog.append('\n');
+  }
+
+  private void writeSummary(long seed, String outcome, long elapsedNanos) throws IOException {
+    this.output.append(outcome).append("\n");
+    this.output.append("Seed: ").append(String.valueOf(seed)).append("\n");
+    this.output.append("Turns: ").append(String.valueOf(this.turnCount))
+            .append(", moves: ").append(String.valueOf(this.moveCount))
+            .append(", shots: ").append(String.valueOf(this.shotCount))
+            .append(", rejected: ").append(String.valueOf(this.rejectedCount))
+            .append(", bats met: ").append(String.valueOf(this.batCount)).append("\n");
+    this.output.append(String.format(Locale.ROOT, "Time: %.1f ms\n",
+            elapsedNanos / NANOS_PER_MILLI));
+  }
+
+  /**
+   * Reads the answers of a script one at a time, skipping comments.
+   */
+  private static final class ScriptReader {
+
+    private final BufferedReader reader;
+
+    private String[] tokens = new String[0];
+
+    private int index;
+
+    private int lineNumber;
+
+    private ScriptReader(BufferedReader reader) {
+      this.reader = reader;
+    }
+
+    private String peek() throws IOException {
+      while (this.index == this.tokens.length) {
+        String line = this.reader.readLine();
+        if (line == null) {
+          return null;
+        }
+        this.lineNumber++;
+        int comment = line.indexOf('#');
+        if (comment >= 0) {
+          line = line.substring(0, comment);
+        }
+        line = line.trim();
+        this.tokens = line.isEmpty() ? new String[0] : line.split("\\s+");
+        this.index = 0;
+      }
+      return this.tokens[this.index];
+    }
+
+    private String next() throws IOException {
+      String token = peek();
+      if (token != null) {
+        this.index++;
+      }
+      return token;
+    }
+
+    private int nextInt(String name) throws IOException {
+      long value = nextLong(name);
+      if (value != (int) value) {
+        throw new IOException("The " + name + " on line " + this.lineNumber
+                + " of the batch script is too large");
+      }
+      return (int) value;
+    }
+
+    private long nextLong(String name) throws IOException {
+      String token = next();
+      if (token == null) {
+        throw new IOException("The batch script ends before the " + name);
+      }
+      try {
+        return Long.parseLong(token);
+      } catch (NumberFormatException exception) {
+        throw new IOException("Expected the " + name + " on line " + this.lineNumber
+                + " of the batch script, found " + token);
+      }
+    }
+  }
+}
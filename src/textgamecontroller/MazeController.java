@@ -43,7 +43,8 @@ public class MazeController implements IMazeController {
   private void printDebugTable(String enableTableDebug, boolean showBarriers) throws IOException {
     //System.out.println(this.model.printMaze());
     if (YES_VALUE.equals(enableTableDebug)) {
-      this.output.append(this.model.printMaze(showBarriers)).append("\n");
+      this.model.printMaze(showBarriers, this.output);
+      this.output.append("\n");
     }
   }
 
@@ -93,7 +94,7 @@ public class MazeController implements IMazeController {
       output.append(exp.getMessage()).append("\n");
       exp.printStackTrace();
     }
-    output.append(model.printMaze(true));
+    model.printMaze(true, output);
     output.append("\n");
   }
 }
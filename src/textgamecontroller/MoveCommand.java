@@ -65,6 +65,7 @@ public class MoveCommand extends ShootCommand {
       writeBatMovementMessage(newPosition, expectedPosition, hasBats);
       throw exception;
     }
-    output.append(this.model.printMaze(false)).append("\n");
+    this.model.printMaze(false, output);
+    output.append("\n");
   }
 }
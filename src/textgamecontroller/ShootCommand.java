@@ -36,15 +36,21 @@ public class ShootCommand extends AbstractCommand {
 
   protected Direction getRelevantDirection(Scanner scanner) {
     String dirStr = scanner.next();
-    dirStr = MazeUtils.cleanString(dirStr);
-    Direction validDirection = null;
+    return parseDirection(MazeUtils.cleanString(dirStr));
+  }
+
+  /**
+   * Returns the direction whose name is entered, like North or South.
+   * @param dirStr the name of the direction
+   * @return the direction, null if no direction has the name
+   */
+  static Direction parseDirection(String dirStr) {
     for (Direction dir: Direction.values()) {
       if (dir.getDirectionString().equals(dirStr)) {
-        validDirection = dir;
-        break;
+        return dir;
       }
     }
-    return validDirection;
+    return null;
   }
 
   @Override
@@ -63,7 +69,7 @@ public class ShootCommand extends AbstractCommand {
     if (model.shootArrow(validDirection, power)) {
       throw new PlayerKillsWumpusException("Player kills Wumpus !!!!");
     } else {
-      output.append(model.printMaze(false));
+      model.printMaze(false, output);
     }
   }
 }
@@ -8,13 +8,11 @@ import java.awt.Dimension;
 import java.awt.Toolkit;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
-import java.awt.GridLayout;
 import java.awt.Font;
 import java.awt.event.KeyEvent;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.SpinnerNumberModel;
-import javax.swing.ImageIcon;
 import javax.swing.UIManager;
 import javax.swing.ScrollPaneConstants;
 import javax.swing.JComponent;
@@ -28,8 +26,10 @@ import javax.swing.JOptionPane;
 import javax.swing.JSpinner;
 import javax.swing.JCheckBox;
 import java.awt.event.KeyListener;
+import java.util.Map;
 
 import javax.swing.border.EmptyBorder;
+import graph.MazePoint;
 import guicontroller.IMazeGUIController;
 import maze.Direction;
 
@@ -55,6 +55,8 @@ public class GUIView extends JFrame implements IView {
 
   private static final int SPINNER_X_POS = 500;
 
+  private static final int SCROLL_INCREMENT = MazeCanvas.CELL_IMAGE_SIZE / 4;
+
   private boolean isControlPressed;
 
   private JLabel playerTurnLabel;
@@ -69,7 +71,7 @@ public class GUIView extends JFrame implements IView {
 
   private JPanel mazeCommandPanel;
 
-  private Container mazeContainer;
+  private MazeCanvas mazeCanvas;
 
   private JScrollPane scrollPane;
 
@@ -138,22 +140,6 @@ public class GUIView extends JFrame implements IView {
     this.columns = 0;
   }
 
-  private JLabel getImageLabel(Image bufImage) {
-    JLabel label = null;
-    try {
-      label = new JLabel();
-      label.setBounds(0, 0, 64, 64);
-      //Image bufImage =  ImageIO.read(getClass().getResource(imagePath));
-      bufImage = bufImage.getScaledInstance(label.getWidth(), label.getHeight(),
-              Image.SCALE_AREA_AVERAGING);
-      label.setIcon(new ImageIcon(bufImage));
-      //label.setBorder(new EmptyBorder(0, 0, 0,0));
-    } catch (Exception exception) {
-      this.showErrorMessage("Cannot display maze: " + exception.getMessage());
-    }
-    return label;
-  }
-
   private void initMazeContainer() {
     mazeCommandPanel = new JPanel();
     GridBagConstraints gbc = new GridBagConstraints();
@@ -167,15 +153,16 @@ public class GUIView extends JFrame implements IView {
     mazeCommandPanel.setLayout(gbLayout);
     mazeCommandPanel.setBounds(0, 0, 800, 600);
 
-    mazeContainer = new Container();
+    mazeCanvas = new MazeCanvas();
     JPanel mazePanel = new JPanel();
     scrollPane = new JScrollPane();
-    mazeContainer.setLayout(null);
     scrollPane.setPreferredSize(new Dimension(400, 400));
     mazeCommandPanel.setBorder(new EmptyBorder(50, 50, 50, 50));
-    mazePanel.add(mazeContainer);
+    mazePanel.add(mazeCanvas);
     scrollPane = new JScrollPane(mazePanel, ScrollPaneConstants.VERTICAL_SCROLLBAR_ALWAYS,
             ScrollPaneConstants.HORIZONTAL_SCROLLBAR_ALWAYS);
+    scrollPane.getVerticalScrollBar().setUnitIncrement(SCROLL_INCREMENT);
+    scrollPane.getHorizontalScrollBar().setUnitIncrement(SCROLL_INCREMENT);
     mazeCommandPanel.add(scrollPane, gbc);
     this.add(mazeCommandPanel);
     this.mazeCommandPanel.setVisible(false);
@@ -245,7 +232,7 @@ public class GUIView extends JFrame implements IView {
         if (e.getKeyCode() == KeyEvent.VK_Q) {
           showInputScreen();
         }
-        if (!mazeContainer.isEnabled() || !mazeCommandPanel.isVisible()) {
+        if (!mazeCanvas.isEnabled() || !mazeCommandPanel.isVisible()) {
           return;
         }
         Direction direction = null;
@@ -281,22 +268,28 @@ public class GUIView extends JFrame implements IView {
   public void endGameWithMessage(String message) {
     gameStatusLabel.setText(message.toUpperCase());
     validDirectionsLabel.setVisible(false);
-    this.mazeContainer.setEnabled(false);
+    this.mazeCanvas.setEnabled(false);
   }
 
   @Override
   public void sendCellImagesToView(Image[][] images) {
-    mazeContainer.removeAll();
-    int rows = images.length;
-    int cols = images[0].length;
-    //this.scrollPane.setBounds(20, 20, 550, 450);
-    GridLayout layout = new GridLayout(rows, cols);
-    mazeContainer.setLayout(layout);
-    for (int ii = 0; ii < rows; ii++) {
-      for (int jj = 0; jj < cols; jj++) {
-        JLabel label = getImageLabel(images[ii][jj]);
-        mazeContainer.add(label);
+    try {
+      mazeCanvas.setCellImages(images);
+    } catch (Exception exception) {
+      this.showErrorMessage("Cannot display maze: " + exception.getMessage());
+    }
+  }
+
+  @Override
+  public void sendChangedCellImagesToView(Map<MazePoint, Image> images) {
+    try {
+      for (Map.Entry<MazePoint, Image> cellImage : images.entrySet()) {
+        MazePoint point = cellImage.getKey();
+        mazeCanvas.setCellImage(point.getXCoordinate(), point.getYCoordinate(),
+                cellImage.getValue());
       }
+    } catch (Exception exception) {
+      this.showErrorMessage("Cannot display maze: " + exception.getMessage());
     }
   }
 
@@ -346,7 +339,7 @@ public class GUIView extends JFrame implements IView {
   public void showInputScreen() {
     this.inputContainer.setVisible(true);
     this.mazeCommandPanel.setVisible(false);
-    this.mazeContainer.setEnabled(false);
+    this.mazeCanvas.setEnabled(false);
   }
 
   @Override
@@ -356,7 +349,7 @@ public class GUIView extends JFrame implements IView {
 
   @Override
   public void showMaze() {
-    this.mazeContainer.setEnabled(true);
+    this.mazeCanvas.setEnabled(true);
     this.inputContainer.setVisible(false);
     this.mazeCommandPanel.setVisible(true);
     this.scrollPane.setVisible(true);
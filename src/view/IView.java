@@ -1,6 +1,9 @@
 package view;
 
 import java.awt.Image;
+import java.util.Map;
+
+import graph.MazePoint;
 
 /**
  * Interface that outlines the functionality of View in MVC design of Hunt the Wumpus console
@@ -47,6 +50,13 @@ public interface IView {
    */
   void sendCellImagesToView(Image[][] images);
 
+  /**
+   * Sends the images of the cells that changed since the last update. Only the cells present
+   * in the map are drawn again.
+   * @param images images of the changed cells mapped by the position of the cell
+   */
+  void sendChangedCellImagesToView(Map<MazePoint, Image> images);
+
   /**
    * Displays the current status of the game. The status can be active if the game is playable
    * or inactive a player has won.
@@ -0,0 +1,95 @@
+package view;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Image;
+import java.awt.Rectangle;
+import javax.swing.JComponent;
+
+/**
+ * Class that draws all the cells of the maze on a single component. The component keeps the
+ * current image of every cell and paints only the cells that fall inside the region being
+ * repainted. When the image of a cell changes only the area of that cell is repainted, so the
+ * cost of a turn does not depend on the size of the maze.
+ */
+public class MazeCanvas extends JComponent {
+
+  public static final int CELL_IMAGE_SIZE = 64;
+
+  private Image[][] cellImages;
+
+  /**
+   * Creates an empty canvas. The cells are drawn once the images are set.
+   */
+  public MazeCanvas() {
+    this.cellImages = new Image[0][0];
+    this.setDoubleBuffered(true);
+    this.setOpaque(true);
+    this.setBackground(Color.BLACK);
+  }
+
+  /**
+   * Replaces the images of all the cells in the maze. The size of the canvas is changed to fit
+   * the number of rows and columns in the maze.
+   * @param images images of all the cells in the maze
+   * @throws IllegalArgumentException thrown when the images are null or empty
+   */
+  public void setCellImages(Image[][] images) throws IllegalArgumentException {
+    if (images == null || images.length == 0 || images[0].length == 0) {
+      throw new IllegalArgumentException("Cell images cannot be null or empty");
+    }
+    this.cellImages = new Image[images.length][];
+    for (int ii = 0; ii < images.length; ii++) {
+      this.cellImages[ii] = images[ii].clone();
+    }
+    Dimension size = new Dimension(images[0].length * CELL_IMAGE_SIZE,
+            images.length * CELL_IMAGE_SIZE);
+    this.setPreferredSize(size);
+    this.revalidate();
+    this.repaint();
+  }
+
+  /**
+   * Replaces the image of a single cell and repaints only the area of that cell.
+   * @param row row index of the cell
+   * @param column column index of the cell
+   * @param image new image of the cell
+   * @throws IllegalArgumentException thrown when the cell is not present in the maze
+   */
+  public void setCellImage(int row, int column, Image image) throws IllegalArgumentException {
+    if (row < 0 || row >= cellImages.length || column < 0 || column >= cellImages[row].length) {
+      throw new IllegalArgumentException("Cell is not present in the maze being displayed");
+    }
+    this.cellImages[row][column] = image;
+    this.repaint(column * CELL_IMAGE_SIZE, row * CELL_IMAGE_SIZE, CELL_IMAGE_SIZE,
+            CELL_IMAGE_SIZE);
+  }
+
+  @Override
+  protected void paintComponent(Graphics g) {
+    Rectangle clip = g.getClipBounds();
+    if (clip == null) {
+      clip = new Rectangle(0, 0, getWidth(), getHeight());
+    }
+    g.setColor(getBackground());
+    g.fillRect(clip.x, clip.y, clip.width, clip.height);
+    if (cellImages.length == 0) {
+      return;
+    }
+    int firstRow = Math.max(0, clip.y / CELL_IMAGE_SIZE);
+    int lastRow = Math.min(cellImages.length - 1, (clip.y + clip.height) / CELL_IMAGE_SIZE);
+    int firstColumn = Math.max(0, clip.x / CELL_IMAGE_SIZE);
+    int lastColumn = Math.min(cellImages[0].length - 1,
+            (clip.x + clip.width) / CELL_IMAGE_SIZE);
+    for (int ii = firstRow; ii <= lastRow; ii++) {
+      for (int jj = firstColumn; jj <= lastColumn; jj++) {
+        Image image = cellImages[ii][jj];
+        if (image != null) {
+          g.drawImage(image, jj * CELL_IMAGE_SIZE, ii * CELL_IMAGE_SIZE, CELL_IMAGE_SIZE,
+                  CELL_IMAGE_SIZE, this);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package disjointsettest;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import disjointset.DisjointSet;
+
+/**
+ * Unit tests the functionality present in {@link DisjointSet} class.
+ */
+public class DisjointSetTest {
+
+  @Rule
+  public final ExpectedException expect = ExpectedException.none();
+
+  @Test
+  public void testInvalidSize() {
+    expect.expect(IllegalArgumentException.class);
+    new DisjointSet(0);
+  }
+
+  @Test
+  public void testNewSetHasNoParents() {
+    DisjointSet disjointSet = new DisjointSet(5);
+
+    Assert.assertEquals(5, disjointSet.getUnsetParentCellCount());
+    for (int ii = 0; ii < 5; ii++) {
+      Assert.assertEquals(ii, disjointSet.find(ii));
+    }
+  }
+
+  @Test
+  public void testCombineReportsMerge() {
+    DisjointSet disjointSet = new DisjointSet(4);
+
+    Assert.assertTrue(disjointSet.combine(0, 1));
+    Assert.assertTrue(disjointSet.combine(2, 3));
+    Assert.assertEquals(2, disjointSet.getUnsetParentCellCount());
+    Assert.assertFalse(disjointSet.combine(1, 0));
+    Assert.assertEquals(2, disjointSet.getUnsetParentCellCount());
+    Assert.assertTrue(disjointSet.combine(3, 0));
+    Assert.assertFalse(disjointSet.combine(1, 2));
+    Assert.assertEquals(1, disjointSet.getUnsetParentCellCount());
+    Assert.assertEquals(disjointSet.find(0), disjointSet.find(3));
+  }
+
+  @Test
+  public void testSmallerSetJoinsLargerSet() {
+    DisjointSet disjointSet = new DisjointSet(4);
+    disjointSet.combine(0, 1);
+    disjointSet.combine(0, 2);
+    int parent = disjointSet.find(0);
+
+    disjointSet.combine(3, 0);
+    Assert.assertEquals(parent, disjointSet.find(3));
+  }
+
+  @Test
+  public void testCombineManyCells() {
+    int size = 2000000;
+    DisjointSet disjointSet = new DisjointSet(size);
+    for (int ii = 1; ii < size; ii++) {
+      disjointSet.combine(ii, 0);
+    }
+
+    Assert.assertEquals(1, disjointSet.getUnsetParentCellCount());
+    Assert.assertEquals(disjointSet.find(0), disjointSet.find(size - 1));
+  }
+}
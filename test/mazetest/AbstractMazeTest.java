@@ -0,0 +1,97 @@
+package mazetest;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import graph.MazePoint;
+import maze.Direction;
+import maze.IMaze;
+import maze.NonWrappingRoomMaze;
+import maze.WrappingRoomMaze;
+import mazecreatures.CreatureType;
+import mazeexceptions.RecoverableException;
+import player.PlayerKilledException;
+
+/**
+ * Class that is used to test the functionality that {@link maze.NonWrappingRoomMaze} and
+ * {@link maze.WrappingRoomMaze} share through the {@link maze.AbstractMaze} class.
+ */
+public class AbstractMazeTest {
+
+  @Rule
+  public final ExpectedException expect = ExpectedException.none();
+
+  private static IMaze[] getRoomMazes(long seed) {
+    return new IMaze[] {
+        new NonWrappingRoomMaze(new Random(seed), new Random(seed + 100),
+                new Random(seed + 200), 6, 5, 4, 1),
+        new WrappingRoomMaze(new Random(seed), new Random(seed + 100),
+                new Random(seed + 200), 5, 6, 2, 4, 1)};
+  }
+
+  private static String removeWalls(IMaze maze, Map<CreatureType, Integer> percentData) {
+    try {
+      maze.removeWalls(percentData, 3);
+      return "created";
+    } catch (PlayerKilledException exception) {
+      return exception.getMessage();
+    }
+  }
+
+  private static String move(IMaze maze, Direction dir) {
+    try {
+      maze.movePlayerInDirection(dir);
+      return "moved";
+    } catch (PlayerKilledException | RecoverableException exception) {
+      return exception.getMessage();
+    }
+  }
+
+  @Test
+  public void testNonTunnelCellsCannotBeModified() throws PlayerKilledException {
+    for (IMaze maze : getRoomMazes(1000)) {
+      maze.removeWalls(null, 1);
+      Assert.assertSame(maze.getNonTunnelCells(), maze.getNonTunnelCells());
+      Assert.assertEquals(maze.getNonTunnelCells().size(), maze.getNonTunnelCellCount());
+    }
+    IMaze maze = getRoomMazes(1000)[1];
+    maze.removeWalls(null, 1);
+    expect.expect(UnsupportedOperationException.class);
+    maze.getNonTunnelCells().remove(0);
+  }
+
+  @Test
+  public void testCellIndexBeyondNonWrappingMaze() {
+    IMaze maze = getRoomMazes(1)[0];
+    expect.expect(IllegalArgumentException.class);
+    expect.expectMessage("Row beyond maze maximum row size while walking");
+    maze.getCellIndex(new MazePoint(5, 0));
+  }
+
+  @Test
+  public void testBatDropsPlayerIntoSameCell() {
+    Map<CreatureType, Integer> percentData = new LinkedHashMap<>();
+    percentData.put(CreatureType.BAT, 100);
+    percentData.put(CreatureType.PIT, 20);
+    for (long seed = 1; seed <= 50; seed++) {
+      IMaze[] mazes = {
+          new NonWrappingRoomMaze(new Random(seed), new Random(seed + 100),
+                  new Random(seed + 200), 3, 3, 4, 1),
+          new WrappingRoomMaze(new Random(seed), new Random(seed + 100),
+                  new Random(seed + 200), 3, 3, 2, 2, 1)};
+      for (IMaze maze : mazes) {
+        removeWalls(maze, percentData);
+        Random moves = new Random(seed);
+        for (int turn = 0; turn < 20 && !maze.isGameComplete(); turn++) {
+          move(maze, Direction.values()[moves.nextInt(Direction.values().length)]);
+          MazePoint position = maze.getActivePlayerCoordinates();
+          Assert.assertEquals(position, maze.getPoint(maze.getCellIndex(position)));
+        }
+      }
+    }
+  }
+}
@@ -1,17 +1,27 @@
 package mazetest;
 
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import java.util.Arrays;
 import java.util.List;
 import maze.Cell;
 import maze.Direction;
+import mazecreatures.BatAction;
+import mazecreatures.CreatureType;
+import mazecreatures.MazeCreature;
+import mazecreatures.PitAction;
+import mazecreatures.WumpusAction;
 
 /**
  * Unit tests the functionality present in {@link Cell} class.
  */
 public class CellTest {
 
+  @Rule
+  public final ExpectedException expect = ExpectedException.none();
+
   @Test
   public void testGetSuggestionsSomeAvailable() {
     Cell cell = new Cell(0, 1);
@@ -43,4 +53,52 @@ public class CellTest {
     validMoves.containsAll(Arrays.asList(Direction.values()));
   }
 
+  @Test
+  public void testGetWallsAfterRemoval() {
+    Cell cell = new Cell(2, 3);
+    cell.removeWallInDirection(Direction.EAST);
+
+    Assert.assertEquals(Arrays.asList(Direction.NORTH, Direction.SOUTH, Direction.WEST),
+            cell.getWalls());
+    Assert.assertFalse(cell.hasEast());
+    Assert.assertTrue(cell.hasWest());
+  }
+
+  @Test
+  public void testSuggestionsSharedBetweenCells() {
+    Cell cellOne = new Cell(0, 0);
+    Cell cellTwo = new Cell(4, 5);
+    cellOne.removeWallInDirection(Direction.SOUTH);
+    cellTwo.removeWallInDirection(Direction.SOUTH);
+
+    Assert.assertSame(cellOne.getSuggestionsForMovement(), cellTwo.getSuggestionsForMovement());
+  }
+
+  @Test
+  public void testSuggestionsCannotBeModified() {
+    expect.expect(UnsupportedOperationException.class);
+    Cell cell = new Cell(0, 1);
+    cell.removeWallInDirection(Direction.NORTH);
+    cell.getSuggestionsForMovement().add(Direction.SOUTH);
+  }
+
+  @Test
+  public void testRemoveMissingWall() {
+    expect.expect(IllegalStateException.class);
+    expect.expectMessage("Trying to remove a wall when wall is not present");
+    Cell cell = new Cell(0, 1);
+    cell.removeWallInDirection(Direction.WEST);
+    cell.removeWallInDirection(Direction.WEST);
+  }
+
+  @Test
+  public void testCreaturesKeptInPriorityOrder() {
+    Cell cell = new Cell(0, 1);
+    cell.addCreature(new MazeCreature(CreatureType.PIT, new PitAction()));
+    cell.addCreature(new MazeCreature(CreatureType.WUMPUS, new WumpusAction()));
+    cell.addCreature(new MazeCreature(CreatureType.BAT, new BatAction()));
+
+    Assert.assertEquals(" Wumpus Bat Pit ", cell.toString());
+  }
+
 }
\ No newline at end of file
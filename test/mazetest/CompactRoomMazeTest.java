@@ -0,0 +1,195 @@
+package mazetest;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import graph.MazePoint;
+import maze.Cell;
+import maze.CompactRoomMaze;
+import maze.Direction;
+import maze.IMaze;
+import maze.NonWrappingRoomMaze;
+import maze.WrappingRoomMaze;
+import mazecreatures.CreatureType;
+import mazeexceptions.RecoverableException;
+import player.PlayerKilledException;
+
+/**
+ * Class that is used to test that {@link CompactRoomMaze} behaves the same way as
+ * {@link NonWrappingRoomMaze} and {@link WrappingRoomMaze} created with the same generators.
+ */
+public class CompactRoomMazeTest {
+
+  @Rule
+  public final ExpectedException expect = ExpectedException.none();
+
+  private static Map<CreatureType, Integer> getPercentages() {
+    Map<CreatureType, Integer> percentData = new LinkedHashMap<>();
+    percentData.put(CreatureType.BAT, 20);
+    percentData.put(CreatureType.PIT, 10);
+    return percentData;
+  }
+
+  private static void assertSameGame(IMaze expected, IMaze actual, long seed) {
+    Assert.assertEquals(expected.printMaze(true), actual.printMaze(true));
+    Assert.assertEquals(expected.getNonTunnelCellCount(), actual.getNonTunnelCellCount());
+    for (Cell cell : expected.getNonTunnelCells()) {
+      MazePoint point = new MazePoint(cell.getRowPosition(), cell.getColumnPosition());
+      int cellIndex = actual.getCellIndex(point);
+      for (CreatureType type : CreatureType.values()) {
+        Assert.assertEquals(expected.checkCreatureInAdjacentCells(point, type, null),
+                actual.checkCreatureInAdjacentCells(point, type, null));
+        Assert.assertEquals(expected.checkCreatureInAdjacentCells(point, type, null),
+                actual.checkCreatureInAdjacentCells(cellIndex, type, null));
+      }
+    }
+    Random moves = new Random(seed);
+    for (int turn = 0; turn < 40 && !expected.isGameComplete(); turn++) {
+      Direction dir = Direction.values()[moves.nextInt(Direction.values().length)];
+      Assert.assertEquals(expected.getValidDirectionsForMovement(),
+              actual.getValidDirectionsForMovement());
+      Assert.assertEquals(expected.getExpectedMovementPosition(
+              expected.getActivePlayerCoordinates(), dir),
+              actual.getExpectedMovementPosition(actual.getActivePlayerCoordinates(), dir));
+      Assert.assertEquals(expected.getExpectedMovementPosition(
+              expected.getActivePlayerCellIndex(), dir),
+              actual.getExpectedMovementPosition(actual.getActivePlayerCellIndex(), dir));
+      String expectedResult = move(expected, dir);
+      Assert.assertEquals(expectedResult, move(actual, dir));
+      Assert.assertEquals(expected.getActivePlayerIndex(), actual.getActivePlayerIndex());
+      Assert.assertEquals(expected.getActivePlayerCoordinates(),
+              actual.getActivePlayerCoordinates());
+      Assert.assertEquals(expected.printMaze(false), actual.printMaze(false));
+    }
+    Assert.assertEquals(expected.isGameComplete(), actual.isGameComplete());
+  }
+
+  private static String removeWalls(IMaze maze) {
+    try {
+      maze.removeWalls(getPercentages(), 3);
+      return "created";
+    } catch (PlayerKilledException exception) {
+      return exception.getMessage();
+    }
+  }
+
+  private static String move(IMaze maze, Direction dir) {
+    try {
+      maze.movePlayerInDirection(dir);
+      return "moved";
+    } catch (PlayerKilledException | RecoverableException exception) {
+      return exception.getMessage();
+    }
+  }
+
+  @Test
+  public void testSameAsNonWrappingRoomMaze() {
+    for (long seed = 1; seed <= 10; seed++) {
+      IMaze expected = new NonWrappingRoomMaze(new Random(seed), new Random(seed + 100),
+              new Random(seed + 200), 6, 5, 4, 1);
+      IMaze actual = new CompactRoomMaze(new Random(seed), new Random(seed + 100),
+              new Random(seed + 200), 6, 5, 4, 1);
+      Assert.assertEquals(removeWalls(expected), removeWalls(actual));
+      Assert.assertFalse(actual.isWrappingMaze());
+      assertSameGame(expected, actual, seed);
+    }
+  }
+
+  @Test
+  public void testSameAsWrappingRoomMaze() {
+    for (long seed = 1; seed <= 10; seed++) {
+      IMaze expected = new WrappingRoomMaze(new Random(seed), new Random(seed + 100),
+              new Random(seed + 200), 5, 6, 2, 4, 1);
+      IMaze actual = new CompactRoomMaze(new Random(seed), new Random(seed + 100),
+              new Random(seed + 200), 5, 6, 2, 4, 1);
+      Assert.assertEquals(removeWalls(expected), removeWalls(actual));
+      Assert.assertTrue(actual.isWrappingMaze());
+      assertSameGame(expected, actual, seed);
+    }
+  }
+
+  @Test
+  public void testRemoveTooManyInternalWalls() {
+    expect.expect(IllegalArgumentException.class);
+    expect.expectMessage("Not enough walls exist that can be removed to generate "
+            + "non-wrapping room maze");
+    new CompactRoomMaze(new Random(1000), new Random(800), new Random(300), 3, 3, 5, 1);
+  }
+
+  @Test
+  public void testRemoveTooManyBorderWalls() {
+    expect.expect(IllegalArgumentException.class);
+    expect.expectMessage("Trying to remove too many border walls");
+    new CompactRoomMaze(new Random(1000), new Random(800), new Random(300), 3, 3, 3, 7, 1);
+  }
+
+  @Test
+  public void testRemoveAllWalls() throws PlayerKilledException {
+    IMaze maze = new CompactRoomMaze(new Random(1000), new Random(800), new Random(300), 40, 30,
+            (29 * 40 + 39 * 30) - (40 * 30 - 1), 70, 1);
+    maze.removeWalls(null, 1);
+    Assert.assertEquals(40 * 30, maze.getNonTunnelCellCount());
+    Assert.assertEquals(4, maze.getValidDirectionsForMovement().size());
+  }
+
+  @Test
+  public void testNegativeBorderWalls() {
+    expect.expect(IllegalArgumentException.class);
+    expect.expectMessage("Non-negative value required for border walls to be removed");
+    new CompactRoomMaze(new Random(1000), new Random(800), new Random(300), 3, 3, 0, -1, 1);
+  }
+
+  @Test
+  public void testRemoveWallsTwice() throws PlayerKilledException {
+    IMaze maze = new CompactRoomMaze(new Random(1000), new Random(800), new Random(300), 4, 4,
+            2, 1);
+    maze.removeWalls(null, 1);
+    Assert.assertTrue(maze.allRequestedWallsRemoved());
+    expect.expect(UnsupportedOperationException.class);
+    maze.removeWalls(null, 1);
+  }
+
+  @Test
+  public void testPointsAreInterned() throws PlayerKilledException, RecoverableException {
+    IMaze[] mazes = {
+        new NonWrappingRoomMaze(new Random(1000), new Random(800), new Random(300), 6, 5, 4, 1),
+        new CompactRoomMaze(new Random(1000), new Random(800), new Random(300), 6, 5, 4, 1)};
+    for (IMaze maze : mazes) {
+      for (int cellIndex = 0; cellIndex < 6 * 5; cellIndex++) {
+        MazePoint point = maze.getPoint(cellIndex);
+        Assert.assertSame(point, maze.getPoint(cellIndex));
+        Assert.assertEquals(new MazePoint(cellIndex / 6, cellIndex % 6), point);
+        Assert.assertEquals(cellIndex, maze.getCellIndex(point));
+      }
+      maze.removeWalls(null, 1);
+      Direction dir = maze.getValidDirectionsForMovement().get(0);
+      maze.movePlayerInDirection(dir);
+      Assert.assertSame(maze.getPoint(maze.getActivePlayerCellIndex()),
+              maze.getActivePlayerCoordinates());
+    }
+  }
+
+  @Test
+  public void testWrappingCellIndex() {
+    IMaze[] mazes = {
+        new WrappingRoomMaze(new Random(1), new Random(2), new Random(3), 5, 6, 2, 4, 1),
+        new CompactRoomMaze(new Random(1), new Random(2), new Random(3), 5, 6, 2, 4, 1)};
+    for (IMaze maze : mazes) {
+      Assert.assertEquals(6 * 5 - 1, maze.getCellIndex(new MazePoint(-1, -1)));
+      Assert.assertEquals(0, maze.getCellIndex(new MazePoint(6, 5)));
+      Assert.assertEquals(2 * 5 + 3, maze.getCellIndex(new MazePoint(-16, 13)));
+    }
+  }
+
+  @Test
+  public void testPointOfInvalidCellIndex() {
+    IMaze maze = new CompactRoomMaze(new Random(1), new Random(2), new Random(3), 6, 5, 4, 1);
+    expect.expect(IllegalArgumentException.class);
+    expect.expectMessage("Cell index beyond the cells of the maze");
+    maze.getPoint(6 * 5);
+  }
+}
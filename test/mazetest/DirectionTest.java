@@ -4,6 +4,7 @@ package mazetest;
 import org.junit.Assert;
 import org.junit.Test;
 
+import graph.MazePoint;
 import maze.Direction;
 
 /**
@@ -29,4 +30,17 @@ public class DirectionTest {
     Assert.assertEquals(Direction.SOUTH, Direction.getInverseDirection(Direction.NORTH));
   }
 
+  @Test
+  public void testNextPoint() {
+    MazePoint point = new MazePoint(3, 7);
+    for (Direction dir : Direction.values()) {
+      MazePoint nextPoint = dir.getNextPoint(point);
+      Assert.assertEquals(3 + dir.getRowOffset(), nextPoint.getXCoordinate());
+      Assert.assertEquals(7 + dir.getColumnOffset(), nextPoint.getYCoordinate());
+      Assert.assertEquals(point, Direction.getInverseDirection(dir).getNextPoint(nextPoint));
+    }
+    Assert.assertEquals(new MazePoint(2, 7), Direction.NORTH.getNextPoint(point));
+    Assert.assertEquals(new MazePoint(3, 8), Direction.EAST.getNextPoint(point));
+  }
+
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package mazetest;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import disjointset.DisjointSet;
+import maze.Cell;
+import maze.Direction;
+import maze.EllerMazeGenerator;
+import maze.MazeUtils;
+
+/**
+ * Unit tests the functionality present in {@link EllerMazeGenerator} class.
+ */
+public class EllerMazeGeneratorTest {
+
+  @Rule
+  public final ExpectedException expect = ExpectedException.none();
+
+  private static boolean hasWall(byte walls, Direction direction) {
+    return (walls & (1 << direction.ordinal())) != 0;
+  }
+
+  private static List<byte[]> generate(long seed, int columns, int rows) {
+    List<byte[]> maze = new ArrayList<>();
+    new EllerMazeGenerator(new Random(seed), columns, rows).forEachRemaining(maze::add);
+    return maze;
+  }
+
+  @Test
+  public void testMazeIsPerfect() {
+    int columns = 17;
+    int rows = 23;
+    List<byte[]> maze = generate(42, columns, rows);
+    Assert.assertEquals(rows, maze.size());
+
+    DisjointSet disjointSet = new DisjointSet(rows * columns);
+    for (int ii = 0; ii < rows; ii++) {
+      byte[] row = maze.get(ii);
+      Assert.assertEquals(columns, row.length);
+      Assert.assertTrue(hasWall(row[0], Direction.WEST));
+      Assert.assertTrue(hasWall(row[columns - 1], Direction.EAST));
+      for (int jj = 0; jj < columns; jj++) {
+        if (ii == 0) {
+          Assert.assertTrue(hasWall(row[jj], Direction.NORTH));
+        } else {
+          Assert.assertEquals(hasWall(maze.get(ii - 1)[jj], Direction.SOUTH),
+                  hasWall(row[jj], Direction.NORTH));
+        }
+        if (ii == rows - 1) {
+          Assert.assertTrue(hasWall(row[jj], Direction.SOUTH));
+        } else if (!hasWall(row[jj], Direction.SOUTH)) {
+          Assert.assertTrue(disjointSet.combine(ii * columns + jj, (ii + 1) * columns + jj));
+        }
+        if (jj < columns - 1) {
+          Assert.assertEquals(hasWall(row[jj], Direction.EAST),
+                  hasWall(row[jj + 1], Direction.WEST));
+          if (!hasWall(row[jj], Direction.EAST)) {
+            Assert.assertTrue(disjointSet.combine(ii * columns + jj, ii * columns + jj + 1));
+          }
+        }
+      }
+    }
+    Assert.assertEquals(1, disjointSet.getUnsetParentCellCount());
+  }
+
+  @Test
+  public void testSameSeedSameMaze() {
+    List<byte[]> first = generate(7, 9, 12);
+    List<byte[]> second = generate(7, 9, 12);
+    for (int ii = 0; ii < first.size(); ii++) {
+      Assert.assertArrayEquals(first.get(ii), second.get(ii));
+    }
+  }
+
+  @Test
+  public void testSingleRowIsOpenCorridor() {
+    byte[] row = generate(3, 5, 1).get(0);
+    for (int jj = 0; jj < row.length - 1; jj++) {
+      Assert.assertFalse(hasWall(row[jj], Direction.EAST));
+    }
+  }
+
+  @Test
+  public void testUnboundedRows() {
+    EllerMazeGenerator generator = new EllerMazeGenerator(new Random(5), 4);
+    for (int ii = 0; ii < 10000; ii++) {
+      Assert.assertTrue(generator.hasNext());
+      Assert.assertEquals(4, generator.next().length);
+    }
+  }
+
+  @Test
+  public void testNoRowsLeft() {
+    EllerMazeGenerator generator = new EllerMazeGenerator(new Random(5), 4, 1);
+    generator.next();
+    Assert.assertFalse(generator.hasNext());
+    expect.expect(NoSuchElementException.class);
+    generator.next();
+  }
+
+  @Test
+  public void testInvalidColumns() {
+    expect.expect(IllegalArgumentException.class);
+    new EllerMazeGenerator(new Random(5), 0, 3);
+  }
+
+  @Test
+  public void testRenderRowsSameAsRender() throws IOException {
+    int columns = 6;
+    int rows = 5;
+    List<byte[]> maze = generate(11, columns, rows);
+    Cell[][] grid = new Cell[rows][columns];
+    for (int ii = 0; ii < rows; ii++) {
+      for (int jj = 0; jj < columns; jj++) {
+        grid[ii][jj] = new Cell(ii, jj);
+        for (Direction dir : Direction.values()) {
+          if (!hasWall(maze.get(ii)[jj], dir)) {
+            grid[ii][jj].removeWallInDirection(dir);
+          }
+        }
+      }
+    }
+    StringBuilder rendered = new StringBuilder();
+    MazeUtils.renderRows(maze.iterator(), rendered);
+    Assert.assertEquals(MazeUtils.render(grid, null, true), rendered.toString());
+  }
+}
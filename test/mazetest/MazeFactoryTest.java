@@ -0,0 +1,131 @@
+package mazetest;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import maze.GeneratedMaze;
+import maze.IMaze;
+import maze.MazeFactory;
+import maze.MazeSpec;
+import mazecreatures.CreatureType;
+import player.PlayerKilledException;
+
+/**
+ * Unit tests the functionality present in {@link MazeFactory} class.
+ */
+public class MazeFactoryTest {
+
+  @Rule
+  public final ExpectedException expect = ExpectedException.none();
+
+  private AtomicLong seeds;
+
+  private MazeFactory factory;
+
+  @Before
+  public void setUp() {
+    seeds = new AtomicLong(100);
+    factory = new MazeFactory(2, 2, seeds::incrementAndGet);
+  }
+
+  @After
+  public void tearDown() {
+    factory.close();
+  }
+
+  private static Map<CreatureType, Integer> getPercentages() {
+    Map<CreatureType, Integer> percentData = new LinkedHashMap<>();
+    percentData.put(CreatureType.BAT, 20);
+    percentData.put(CreatureType.PIT, 10);
+    return percentData;
+  }
+
+  private static MazeSpec getSpec(int borderWalls) {
+    return new MazeSpec(8, 9, 4, borderWalls, 1, getPercentages(), 3, 11, 12, 13);
+  }
+
+  private static String printGeneratedMaze(MazeSpec spec) {
+    IMaze maze = spec.createMaze();
+    try {
+      maze.removeWalls(spec.getPercentages(), spec.getTotalPlayerArrows());
+    } catch (PlayerKilledException exception) {
+      return exception.getMessage();
+    }
+    return maze.printMaze(true);
+  }
+
+  @Test
+  public void testSameMazeAsSpec() {
+    for (int borderWalls : new int[] {0, 3}) {
+      MazeSpec spec = getSpec(borderWalls);
+      GeneratedMaze generated = factory.createMaze(spec).join();
+      Assert.assertEquals(spec, generated.getSpec());
+      Assert.assertEquals(borderWalls > 0, generated.getMaze().isWrappingMaze());
+      Assert.assertEquals(printGeneratedMaze(spec), generated.isPlayerKilled()
+              ? generated.getPlayerKilledMessage() : generated.getMaze().printMaze(true));
+    }
+  }
+
+  @Test
+  public void testRepeatedMazesAreNewGames() {
+    MazeSpec spec = getSpec(0);
+    IMaze first = factory.createMaze(spec).join().getMaze();
+    IMaze second = factory.createMaze(spec).join().getMaze();
+    Assert.assertNotSame(first, second);
+    Assert.assertEquals(first.printMaze(true), second.printMaze(true));
+  }
+
+  @Test
+  public void testNewMazeUsesNewSeeds() {
+    MazeSpec first = factory.createNewMaze(getSpec(0)).join().getSpec();
+    MazeSpec second = factory.createNewMaze(getSpec(0)).join().getSpec();
+    Assert.assertNotEquals(first, second);
+    Assert.assertEquals(first.withSeeds(11, 12, 13), getSpec(0));
+    Assert.assertEquals(second.withSeeds(11, 12, 13), getSpec(0));
+  }
+
+  @Test
+  public void testRepeatOfNewMazeIsPrepared() {
+    GeneratedMaze generated = factory.createNewMaze(getSpec(0)).join();
+    CompletableFuture<GeneratedMaze> repeated = factory.createMaze(generated.getSpec());
+    Assert.assertEquals(generated.getMaze().printMaze(true),
+            repeated.join().getMaze().printMaze(true));
+  }
+
+  @Test
+  public void testPercentageOrderMatters() {
+    Map<CreatureType, Integer> percentData = new LinkedHashMap<>();
+    percentData.put(CreatureType.PIT, 10);
+    percentData.put(CreatureType.BAT, 20);
+    Assert.assertNotEquals(getSpec(0),
+            new MazeSpec(8, 9, 4, 0, 1, percentData, 3, 11, 12, 13));
+  }
+
+  @Test
+  public void testInvalidSpecCompletesExceptionally() {
+    MazeSpec spec = new MazeSpec(3, 3, 100, 0, 1, getPercentages(), 3, 1, 2, 3);
+    expect.expect(CompletionException.class);
+    factory.createMaze(spec).join();
+  }
+
+  @Test
+  public void testClosedFactory() {
+    factory.close();
+    expect.expect(IllegalStateException.class);
+    factory.createMaze(getSpec(0));
+  }
+
+  @Test
+  public void testInvalidPoolSize() {
+    expect.expect(IllegalArgumentException.class);
+    new MazeFactory(1, 0, seeds::incrementAndGet);
+  }
+}
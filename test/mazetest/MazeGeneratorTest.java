@@ -0,0 +1,151 @@
+package mazetest;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import disjointset.DisjointSet;
+import maze.AbstractMazeGenerator;
+import maze.CompactRoomMaze;
+import maze.Direction;
+import maze.IMaze;
+import maze.IMazeGenerator;
+import maze.KruskalMazeGenerator;
+import maze.NonWrappingRoomMaze;
+import maze.RecursiveBacktrackerMazeGenerator;
+import maze.SidewinderMazeGenerator;
+import maze.WilsonMazeGenerator;
+import maze.WrappingRoomMaze;
+import mazecreatures.CreatureType;
+import player.PlayerKilledException;
+
+/**
+ * Unit tests the maze generation algorithms that implement {@link IMazeGenerator}.
+ */
+public class MazeGeneratorTest {
+
+  @Rule
+  public final ExpectedException expect = ExpectedException.none();
+
+  private static List<IMazeGenerator> getGenerators() {
+    return Arrays.asList(new KruskalMazeGenerator(), new RecursiveBacktrackerMazeGenerator(),
+            new WilsonMazeGenerator(), new SidewinderMazeGenerator());
+  }
+
+  private static List<Integer> generate(IMazeGenerator generator, long seed, int rows,
+                                        int columns) {
+    List<Integer> walls = new ArrayList<>();
+    generator.generateMaze(rows, columns, new Random(seed), walls::add);
+    return walls;
+  }
+
+  private static Map<CreatureType, Integer> getPercentages() {
+    Map<CreatureType, Integer> percentData = new LinkedHashMap<>();
+    percentData.put(CreatureType.BAT, 20);
+    percentData.put(CreatureType.PIT, 10);
+    return percentData;
+  }
+
+  @Test
+  public void testMazeIsPerfect() {
+    int[][] sizes = {{1, 1}, {1, 7}, {6, 1}, {2, 2}, {13, 17}, {30, 4}};
+    for (IMazeGenerator generator : getGenerators()) {
+      for (int[] size : sizes) {
+        int rows = size[0];
+        int columns = size[1];
+        List<Integer> walls = generate(generator, 42, rows, columns);
+        Assert.assertEquals(rows * columns - 1, walls.size());
+
+        BitSet picked = new BitSet();
+        DisjointSet disjointSet = new DisjointSet(rows * columns);
+        for (int wall : walls) {
+          Assert.assertTrue(wall >= 0
+                  && wall < AbstractMazeGenerator.getInternalWallCount(rows, columns));
+          Assert.assertFalse(picked.get(wall));
+          picked.set(wall);
+          int cell = AbstractMazeGenerator.getWallCellIndex(rows, columns, wall);
+          int nextCell = AbstractMazeGenerator.isVerticalWall(rows, columns, wall) ? cell + 1
+                  : cell + columns;
+          Assert.assertTrue(disjointSet.combine(cell, nextCell));
+        }
+        Assert.assertEquals(1, disjointSet.getUnsetParentCellCount());
+      }
+    }
+  }
+
+  @Test
+  public void testSameSeedSameMaze() {
+    for (IMazeGenerator generator : getGenerators()) {
+      Assert.assertEquals(generate(generator, 7, 9, 12), generate(generator, 7, 9, 12));
+    }
+  }
+
+  @Test
+  public void testWallIndexes() {
+    int rows = 4;
+    int columns = 5;
+    for (int wall = 0; wall < AbstractMazeGenerator.getInternalWallCount(rows, columns);
+         wall++) {
+      int cell = AbstractMazeGenerator.getWallCellIndex(rows, columns, wall);
+      if (AbstractMazeGenerator.isVerticalWall(rows, columns, wall)) {
+        Assert.assertEquals(wall, AbstractMazeGenerator.getWallIndex(rows, columns, cell,
+                Direction.EAST));
+        Assert.assertEquals(wall, AbstractMazeGenerator.getWallIndex(rows, columns, cell + 1,
+                Direction.WEST));
+      } else {
+        Assert.assertEquals(wall, AbstractMazeGenerator.getWallIndex(rows, columns, cell,
+                Direction.SOUTH));
+        Assert.assertEquals(wall, AbstractMazeGenerator.getWallIndex(rows, columns,
+                cell + columns, Direction.NORTH));
+      }
+    }
+    Assert.assertEquals(-1, AbstractMazeGenerator.getWallIndex(rows, columns, 0,
+            Direction.NORTH));
+    Assert.assertEquals(-1, AbstractMazeGenerator.getNeighbourIndex(rows, columns, 4,
+            Direction.EAST));
+    Assert.assertEquals(9, AbstractMazeGenerator.getNeighbourIndex(rows, columns, 4,
+            Direction.SOUTH));
+  }
+
+  @Test
+  public void testGeneratorsInMazes() throws PlayerKilledException {
+    for (IMazeGenerator generator : getGenerators()) {
+      IMaze nonWrapping = new NonWrappingRoomMaze(new Random(3), new Random(4), new Random(5),
+              6, 5, 2, 1, generator);
+      IMaze compact = new CompactRoomMaze(new Random(3), new Random(4), new Random(5), 6, 5,
+              2, 1, generator);
+      nonWrapping.removeWalls(getPercentages(), 3);
+      compact.removeWalls(getPercentages(), 3);
+      Assert.assertTrue(nonWrapping.allRequestedWallsRemoved());
+      Assert.assertEquals(nonWrapping.printMaze(true), compact.printMaze(true));
+
+      IMaze wrapping = new WrappingRoomMaze(new Random(3), new Random(4), new Random(5), 6, 5,
+              2, 3, 1, generator);
+      IMaze compactWrapping = new CompactRoomMaze(new Random(3), new Random(4), new Random(5),
+              6, 5, 2, 3, 1, generator);
+      wrapping.removeWalls(getPercentages(), 3);
+      compactWrapping.removeWalls(getPercentages(), 3);
+      Assert.assertTrue(wrapping.isWrappingMaze());
+      Assert.assertEquals(wrapping.printMaze(true), compactWrapping.printMaze(true));
+    }
+  }
+
+  @Test
+  public void testNullMazeGenerator() {
+    expect.expect(IllegalArgumentException.class);
+    new NonWrappingRoomMaze(new Random(3), new Random(4), new Random(5), 6, 5, 2, 1, null);
+  }
+
+  @Test
+  public void testInvalidGrid() {
+    expect.expect(IllegalArgumentException.class);
+    new WilsonMazeGenerator().generateMaze(0, 4, new Random(3), wall -> { });
+  }
+}
@@ -0,0 +1,183 @@
+package mazetest;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import maze.CompactRoomMaze;
+import maze.Direction;
+import maze.IMaze;
+import maze.MazeFactory;
+import maze.MazeSnapshot;
+import maze.MazeSpec;
+import mazecreatures.CreatureType;
+import mazeexceptions.RecoverableException;
+import player.PlayerKilledException;
+import player.PlayerKillsWumpusException;
+
+/**
+ * Unit tests the functionality present in {@link MazeSnapshot} class.
+ */
+public class MazeSnapshotTest {
+
+  @Rule
+  public final ExpectedException expect = ExpectedException.none();
+
+  private static IMaze generateMaze(int size, int borderWalls, long seed) {
+    Map<CreatureType, Integer> percentData = new LinkedHashMap<>();
+    percentData.put(CreatureType.BAT, 30);
+    percentData.put(CreatureType.PIT, 5);
+    return MazeFactory.generateMaze(new MazeSpec(size, size + 1, size, borderWalls, 2,
+            percentData, 20, seed, seed + 1, seed + 2)).getMaze();
+  }
+
+  private static byte[] save(IMaze maze) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    MazeSnapshot.save(maze, Channels.newChannel(out));
+    return out.toByteArray();
+  }
+
+  private static IMaze load(byte[] snapshot) throws IOException {
+    return MazeSnapshot.load(Channels.newChannel(new ByteArrayInputStream(snapshot)));
+  }
+
+  /**
+   * Plays the same random turns on two mazes and checks that the turns have the same results
+   * and that both mazes end up the same.
+   */
+  private static void playSameTurns(IMaze expected, IMaze actual, Random random, int turns) {
+    for (int turn = 0; turn < turns && !expected.isGameComplete(); turn++) {
+      List<Direction> directions = expected.getValidDirectionsForMovement();
+      Assert.assertEquals(directions, actual.getValidDirectionsForMovement());
+      Direction direction = directions.get(random.nextInt(directions.size()));
+      boolean shoot = random.nextInt(8) == 0;
+      Assert.assertEquals(play(expected, direction, shoot), play(actual, direction, shoot));
+      Assert.assertEquals(expected.getActivePlayerCoordinates(),
+              actual.getActivePlayerCoordinates());
+      Assert.assertEquals(expected.getActivePlayerIndex(), actual.getActivePlayerIndex());
+      Assert.assertEquals(expected.isGameComplete(), actual.isGameComplete());
+    }
+    Assert.assertEquals(expected.printMaze(true), actual.printMaze(true));
+  }
+
+  private static void playTurns(IMaze maze, Random random, int turns) {
+    for (int turn = 0; turn < turns && !maze.isGameComplete(); turn++) {
+      List<Direction> directions = maze.getValidDirectionsForMovement();
+      play(maze, directions.get(random.nextInt(directions.size())), random.nextInt(8) == 0);
+    }
+  }
+
+  private static String play(IMaze maze, Direction direction, boolean shoot) {
+    try {
+      if (shoot) {
+        return String.valueOf(maze.shootArrow(maze.getActivePlayerCoordinates(), direction, 2));
+      }
+      maze.movePlayerInDirection(direction);
+      return String.valueOf(maze.getActivePlayerCoordinates());
+    } catch (PlayerKilledException | PlayerKillsWumpusException | RecoverableException
+            exception) {
+      return exception.getMessage();
+    }
+  }
+
+  @Test
+  public void testResumeNonWrappingMaze() throws IOException {
+    IMaze maze = generateMaze(12, 0, 3);
+    playTurns(maze, new Random(1), 20);
+    IMaze loaded = load(save(maze));
+    Assert.assertFalse(loaded.isWrappingMaze());
+    Assert.assertTrue(loaded.allRequestedWallsRemoved());
+    Assert.assertEquals(maze.printMaze(false), loaded.printMaze(false));
+    Assert.assertEquals(maze.printMaze(true), loaded.printMaze(true));
+    Assert.assertEquals(maze.getActivePlayerCoordinates(), loaded.getActivePlayerCoordinates());
+    playSameTurns(maze, loaded, new Random(2), 200);
+  }
+
+  @Test
+  public void testResumeWrappingMaze() throws IOException {
+    for (long seed = 0; seed < 10; seed++) {
+      IMaze maze = generateMaze(9, 6, seed);
+      playTurns(maze, new Random(seed), 10);
+      IMaze loaded = load(save(maze));
+      Assert.assertTrue(loaded.isWrappingMaze());
+      Assert.assertEquals(maze.printMaze(true), loaded.printMaze(true));
+      playSameTurns(maze, loaded, new Random(seed + 100), 200);
+    }
+  }
+
+  @Test
+  public void testSnapshotTakesOneBytePerCell() throws IOException {
+    byte[] small = save(generateMaze(10, 0, 1));
+    byte[] large = save(generateMaze(20, 0, 1));
+    Assert.assertEquals(20 * 21 - 10 * 11, large.length - small.length);
+  }
+
+  @Test
+  public void testLoadMappedFile() throws IOException {
+    IMaze maze = generateMaze(520, 0, 5);
+    playTurns(maze, new Random(5), 10);
+    Path path = Files.createTempFile("maze", ".snapshot");
+    try {
+      MazeSnapshot.save(maze, path);
+      Assert.assertTrue(Files.size(path) > 1 << 18);
+      playSameTurns(maze, MazeSnapshot.load(path), new Random(6), 50);
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test
+  public void testNotASnapshot() throws IOException {
+    expect.expect(IOException.class);
+    expect.expectMessage("Data is not a maze snapshot");
+    load(new byte[64]);
+  }
+
+  @Test
+  public void testTruncatedSnapshot() throws IOException {
+    byte[] snapshot = save(generateMaze(10, 0, 1));
+    expect.expect(IOException.class);
+    expect.expectMessage("Maze snapshot is truncated");
+    load(Arrays.copyOf(snapshot, snapshot.length - 1));
+  }
+
+  @Test
+  public void testHugeHeaderLength() throws IOException {
+    byte[] prefix = ByteBuffer.allocate(12).putInt(0x48545753).putInt(1)
+            .putInt(Integer.MAX_VALUE - 8).array();
+    expect.expect(IOException.class);
+    expect.expectMessage("Invalid maze snapshot header");
+    load(prefix);
+  }
+
+  @Test
+  public void testHugeMazeSize() throws IOException {
+    byte[] snapshot = save(generateMaze(10, 0, 1));
+    int headerLength = ByteBuffer.wrap(snapshot).getInt(8);
+    byte[] header = Arrays.copyOf(snapshot, 12 + headerLength);
+    ByteBuffer.wrap(header).putInt(13, 46340).putInt(17, 46340);
+    expect.expect(IOException.class);
+    expect.expectMessage("Maze snapshot is truncated");
+    load(header);
+  }
+
+  @Test
+  public void testSaveCompactMaze() throws IOException {
+    IMaze maze = new CompactRoomMaze(new Random(1), new Random(2), new Random(3), 5, 5, 0, 0, 1);
+    expect.expect(IllegalArgumentException.class);
+    expect.expectMessage("Only room mazes can be saved");
+    save(maze);
+  }
+}
@@ -0,0 +1,56 @@
+package mazetest;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+
+import maze.MazeImageCache;
+import maze.MazeImageUtils;
+import maze.MazeTileCache;
+
+/**
+ * Unit tests the caching behaviour present in {@link MazeTileCache} and {@link MazeImageCache}
+ * classes.
+ */
+public class MazeTileCacheTest {
+
+  private static final int NOT_VISITED_SIGNATURE = 1;
+
+  private static final int PLAYER_ONE_NORTH_SOUTH_SIGNATURE = (1 << 1) | (0b0101 << 8);
+
+  @Test
+  public void testSameSignatureReturnsCachedTile() {
+    BufferedImage first = MazeTileCache.getTile(PLAYER_ONE_NORTH_SOUTH_SIGNATURE);
+    long hits = MazeTileCache.getHitCount();
+    BufferedImage second = MazeTileCache.getTile(PLAYER_ONE_NORTH_SOUTH_SIGNATURE);
+    Assert.assertNotNull(first);
+    Assert.assertSame(first, second);
+    Assert.assertEquals(hits + 1, MazeTileCache.getHitCount());
+    Assert.assertTrue(MazeTileCache.getHitRatio() > 0);
+  }
+
+  @Test
+  public void testNotVisitedTileUsesDecodedImage() {
+    BufferedImage tile = MazeTileCache.getTile(NOT_VISITED_SIGNATURE);
+    Assert.assertSame(MazeImageCache.getImage(MazeImageUtils.getCellNotVisitedImage()), tile);
+  }
+
+  @Test
+  public void testMemoryFootprintCountsCachedTiles() {
+    BufferedImage tile = MazeTileCache.getTile(PLAYER_ONE_NORTH_SOUTH_SIGNATURE);
+    Assert.assertTrue(MazeTileCache.getTileCount() <= MazeTileCache.MAX_TILES);
+    Assert.assertTrue(MazeTileCache.getMemoryFootprint()
+            >= (long) tile.getWidth() * tile.getHeight() * 4);
+  }
+
+  @Test
+  public void testImageDecodedOnlyOnce() {
+    MazeImageCache.preloadImages();
+    long misses = MazeImageCache.getMissCount();
+    BufferedImage first = MazeImageCache.getImage(MazeImageUtils.getCellBatsImage());
+    BufferedImage second = MazeImageCache.getImage(MazeImageUtils.getCellBatsImage());
+    Assert.assertSame(first, second);
+    Assert.assertEquals(misses, MazeImageCache.getMissCount());
+  }
+}
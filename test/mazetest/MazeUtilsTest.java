@@ -0,0 +1,69 @@
+package mazetest;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import maze.Cell;
+import maze.CompactRoomMaze;
+import maze.IMaze;
+import maze.MazeUtils;
+import maze.NonWrappingRoomMaze;
+import maze.WrappingRoomMaze;
+import mazecreatures.BatAction;
+import mazecreatures.CreatureType;
+import mazecreatures.MazeCreature;
+import mazecreatures.PitAction;
+import mazecreatures.WumpusAction;
+import player.MazePlayer;
+import player.PlayerKilledException;
+
+/**
+ * Unit tests the rendering of mazes as ASCII art in {@link MazeUtils} class.
+ */
+public class MazeUtilsTest {
+
+  @Rule
+  public final ExpectedException expect = ExpectedException.none();
+
+  @Test
+  public void testStreamedMazeSameAsString() throws IOException, PlayerKilledException {
+    IMaze[] mazes = {
+        new NonWrappingRoomMaze(new Random(5), new Random(6), new Random(7), 7, 4, 3, 1),
+        new WrappingRoomMaze(new Random(5), new Random(6), new Random(7), 7, 4, 3, 2, 1),
+        new CompactRoomMaze(new Random(5), new Random(6), new Random(7), 7, 4, 3, 1)};
+    for (IMaze maze : mazes) {
+      maze.removeWalls(null, 2);
+      for (boolean showBarriers : new boolean[] {true, false}) {
+        StringBuilder out = new StringBuilder();
+        maze.printMaze(showBarriers, out);
+        Assert.assertEquals(maze.printMaze(showBarriers), out.toString());
+      }
+    }
+  }
+
+  @Test
+  public void testPlayersWiderThanCell() {
+    Cell cell = new Cell(0, 0);
+    cell.addCreature(new MazeCreature(CreatureType.WUMPUS, new WumpusAction()));
+    cell.addCreature(new MazeCreature(CreatureType.BAT, new BatAction()));
+    cell.addCreature(new MazeCreature(CreatureType.PIT, new PitAction()));
+    String maze = MazeUtils.render(new Cell[][] {{cell}},
+            Arrays.asList(new MazePlayer(0, 0, 1, 0), new MazePlayer(0, 0, 1, 1)), true);
+    String[] lines = maze.split("\n");
+    Assert.assertEquals(3, lines.length);
+    Assert.assertTrue(lines[1].endsWith(" Wumpus Bat Pit  P1  P2 |"));
+    Assert.assertEquals(lines[0].length(), lines[1].length());
+    Assert.assertEquals(lines[0], lines[2]);
+  }
+
+  @Test
+  public void testRenderNoRows() throws IOException {
+    expect.expect(IllegalArgumentException.class);
+    expect.expectMessage("Invalid grid");
+    MazeUtils.render(0, row -> new Cell[0], null, true, new StringBuilder());
+  }
+}
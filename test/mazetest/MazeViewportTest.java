@@ -0,0 +1,99 @@
+package mazetest;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import java.awt.Image;
+import java.io.IOException;
+import java.util.Random;
+import graph.MazePoint;
+import maze.CompactRoomMaze;
+import maze.IMaze;
+import maze.MazeViewport;
+import maze.NonWrappingRoomMaze;
+import maze.WrappingRoomMaze;
+import player.PlayerKilledException;
+
+/**
+ * Unit tests the rendering of the part of a maze inside a {@link MazeViewport}.
+ */
+public class MazeViewportTest {
+
+  @Rule
+  public final ExpectedException expect = ExpectedException.none();
+
+  private static IMaze[] getMazes(boolean wrapping) throws PlayerKilledException {
+    IMaze[] mazes;
+    if (wrapping) {
+      mazes = new IMaze[] {
+          new WrappingRoomMaze(new Random(5), new Random(6), new Random(7), 7, 4, 3, 2, 1),
+          new CompactRoomMaze(new Random(5), new Random(6), new Random(7), 7, 4, 3, 2, 1)};
+    } else {
+      mazes = new IMaze[] {
+          new NonWrappingRoomMaze(new Random(5), new Random(6), new Random(7), 7, 4, 3, 1),
+          new CompactRoomMaze(new Random(5), new Random(6), new Random(7), 7, 4, 3, 1)};
+    }
+    for (IMaze maze : mazes) {
+      maze.removeWalls(null, 2);
+    }
+    return mazes;
+  }
+
+  @Test
+  public void testWholeMazeViewport() throws IOException, PlayerKilledException {
+    for (IMaze maze : getMazes(false)) {
+      StringBuilder out = new StringBuilder();
+      maze.printMaze(true, new MazeViewport(0, 0, 4, 7), out);
+      Assert.assertEquals(maze.printMaze(true), out.toString());
+      out = new StringBuilder();
+      maze.printMaze(true, new MazeViewport(-3, -3, 10, 20), out);
+      Assert.assertEquals(maze.printMaze(true), out.toString());
+    }
+  }
+
+  @Test
+  public void testViewportCutAtBorder() throws PlayerKilledException {
+    for (IMaze maze : getMazes(false)) {
+      Image[][] allImages = maze.getImagesToDisplayInCells(true);
+      Image[][] images = maze.getImagesToDisplayInCells(true,
+              MazeViewport.centeredAt(new MazePoint(0, 6), 1));
+      Assert.assertEquals(2, images.length);
+      Assert.assertEquals(2, images[0].length);
+      Assert.assertSame(allImages[0][5], images[0][0]);
+      Assert.assertSame(allImages[1][6], images[1][1]);
+    }
+  }
+
+  @Test
+  public void testViewportWrapsAround() throws IOException, PlayerKilledException {
+    for (IMaze maze : getMazes(true)) {
+      Image[][] allImages = maze.getImagesToDisplayInCells(true);
+      Image[][] images = maze.getImagesToDisplayInCells(true,
+              MazeViewport.centeredAt(new MazePoint(0, 0), 1));
+      Assert.assertEquals(3, images.length);
+      Assert.assertEquals(3, images[0].length);
+      Assert.assertSame(allImages[3][6], images[0][0]);
+      Assert.assertSame(allImages[0][0], images[1][1]);
+      Assert.assertSame(allImages[1][1], images[2][2]);
+      StringBuilder out = new StringBuilder();
+      maze.printMaze(true, MazeViewport.centeredAt(new MazePoint(0, 0), 10), out);
+      Assert.assertEquals(2 * 4 + 1, out.toString().split("\n").length);
+    }
+  }
+
+  @Test
+  public void testViewportOutsideMaze() throws PlayerKilledException {
+    IMaze maze = getMazes(false)[0];
+    expect.expect(IllegalArgumentException.class);
+    expect.expectMessage("Viewport is outside the maze");
+    maze.getImagesToDisplayInCells(true, new MazeViewport(4, 0, 2, 2));
+  }
+
+  @Test
+  public void testNegativeRadius() {
+    expect.expect(IllegalArgumentException.class);
+    expect.expectMessage("Viewport radius can't be negative");
+    MazeViewport.centeredAt(new MazePoint(0, 0), -1);
+  }
+}
@@ -0,0 +1,165 @@
+package replaytest;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import gamemodel.GameModel;
+import gamemodel.IGameModel;
+import maze.Direction;
+import maze.GeneratedMaze;
+import maze.MazeFactory;
+import maze.MazeSpec;
+import mazecreatures.CreatureType;
+import mazeexceptions.RecoverableException;
+import player.PlayerKilledException;
+import player.PlayerKillsWumpusException;
+import replay.GameLog;
+
+/**
+ * Unit tests the functionality present in {@link GameLog} class.
+ */
+public class GameLogTest {
+
+  @Rule
+  public final ExpectedException expect = ExpectedException.none();
+
+  private static MazeSpec getSpec(long seed) {
+    Map<CreatureType, Integer> percentData = new LinkedHashMap<>();
+    percentData.put(CreatureType.BAT, 20);
+    percentData.put(CreatureType.PIT, 10);
+    return new MazeSpec(8, 9, 6, 0, 2, percentData, 100, seed, ~seed, seed * 31);
+  }
+
+  private static byte[] write(GameLog log) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    log.writeTo(out);
+    return out.toByteArray();
+  }
+
+  /**
+   * Plays a game with random commands, recording the commands that are carried out the way the
+   * GUI controller does.
+   */
+  private static IGameModel playGame(GameLog log, Random random) {
+    GeneratedMaze generated = MazeFactory.generateMaze(log.getSpec());
+    IGameModel model = new GameModel(generated.getMaze());
+    for (int turn = 0; turn < 500 && !model.isGameComplete(); turn++) {
+      List<Direction> directions = model.getValidDirectionsForMovement();
+      Direction direction = random.nextBoolean() ? directions.get(random.nextInt(
+              directions.size())) : Direction.values()[random.nextInt(4)];
+      boolean shoot = random.nextInt(10) == 0;
+      int power = random.nextInt(5) == 0 ? 1000 + random.nextInt(100000) : 1 + random.nextInt(3);
+      try {
+        if (shoot) {
+          model.shootArrow(direction, power);
+        } else {
+          model.movePlayerInDirection(direction);
+        }
+      } catch (RecoverableException exception) {
+        continue;
+      } catch (PlayerKilledException | PlayerKillsWumpusException exception) {
+        // The command was carried out.
+      }
+      if (shoot) {
+        log.recordShot(direction, power);
+      } else {
+        log.recordMove(direction);
+      }
+    }
+    return model;
+  }
+
+  @Test
+  public void testReplayReachesSameGame() {
+    for (long seed = 1; seed <= 30; seed++) {
+      GameLog log = new GameLog(getSpec(seed));
+      IGameModel played = playGame(log, new Random(seed));
+      IGameModel replayed = log.replay();
+      Assert.assertEquals(played.printMaze(true), replayed.printMaze(true));
+      Assert.assertEquals(played.isGameComplete(), replayed.isGameComplete());
+      Assert.assertEquals(played.getActivePlayerIndex(), replayed.getActivePlayerIndex());
+    }
+  }
+
+  @Test
+  public void testReadWrittenLog() throws IOException {
+    GameLog log = new GameLog(getSpec(Long.MIN_VALUE + 7));
+    playGame(log, new Random(3));
+    byte[] written = write(log);
+    GameLog read = GameLog.readFrom(new ByteArrayInputStream(written));
+    Assert.assertEquals(log.getSpec(), read.getSpec());
+    Assert.assertEquals(log.getCommandCount(), read.getCommandCount());
+    Assert.assertArrayEquals(written, write(read));
+    Assert.assertEquals(log.replay().printMaze(true), read.replay().printMaze(true));
+  }
+
+  @Test
+  public void testOneBytePerCommand() throws IOException {
+    GameLog log = new GameLog(getSpec(5));
+    int emptySize = write(log).length;
+    log.recordMove(Direction.NORTH);
+    log.recordMove(Direction.WEST);
+    log.recordShot(Direction.EAST, 1);
+    log.recordShot(Direction.SOUTH, 31);
+    Assert.assertEquals(4, log.getCommandCount());
+    Assert.assertEquals(emptySize + 4, write(log).length);
+    log.recordShot(Direction.SOUTH, 32);
+    Assert.assertEquals(emptySize + 6, write(log).length);
+  }
+
+  @Test
+  public void testNotAGameLog() throws IOException {
+    expect.expect(IOException.class);
+    expect.expectMessage("Data is not a game log");
+    GameLog.readFrom(new ByteArrayInputStream(new byte[64]));
+  }
+
+  @Test
+  public void testTruncatedGameLog() throws IOException {
+    GameLog log = new GameLog(getSpec(3));
+    log.recordMove(Direction.NORTH);
+    log.recordMove(Direction.SOUTH);
+    byte[] written = write(log);
+    expect.expect(IOException.class);
+    expect.expectMessage("Game log is truncated");
+    GameLog.readFrom(new ByteArrayInputStream(Arrays.copyOf(written, written.length - 1)));
+  }
+
+  @Test
+  public void testCorruptCommandLength() throws IOException {
+    byte[] written = write(new GameLog(getSpec(3)));
+    ByteBuffer.wrap(written).putInt(written.length - 8, 1).putInt(written.length - 4,
+            Integer.MAX_VALUE);
+    expect.expect(IOException.class);
+    expect.expectMessage("Invalid command count in game log");
+    GameLog.readFrom(new ByteArrayInputStream(written));
+  }
+
+  @Test
+  public void testLogOfOtherMaze() {
+    GameLog other = new GameLog(getSpec(10));
+    for (Direction direction : Direction.values()) {
+      other.recordMove(direction);
+    }
+    expect.expect(IllegalStateException.class);
+    expect.expectMessage("Game log doesn't match its maze");
+    other.replay();
+  }
+
+  @Test
+  public void testInvalidArrowPower() {
+    expect.expect(IllegalArgumentException.class);
+    expect.expectMessage("Arrow power should be greater than zero");
+    new GameLog(getSpec(1)).recordShot(Direction.NORTH, 0);
+  }
+}
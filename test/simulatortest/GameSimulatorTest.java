@@ -0,0 +1,111 @@
+package simulatortest;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import maze.MazeSpec;
+import mazecreatures.CreatureType;
+import simulator.GameOutcome;
+import simulator.GameResult;
+import simulator.GameSimulator;
+import simulator.RandomAgentPolicy;
+import simulator.SensingAgentPolicy;
+import simulator.SimulationStats;
+
+/**
+ * Unit tests the functionality present in {@link GameSimulator} class.
+ */
+public class GameSimulatorTest {
+
+  @Rule
+  public final ExpectedException expect = ExpectedException.none();
+
+  private static MazeSpec getConfiguration(int batPercentage, int pitPercentage,
+                                           int playerCount) {
+    Map<CreatureType, Integer> percentData = new LinkedHashMap<>();
+    percentData.put(CreatureType.BAT, batPercentage);
+    percentData.put(CreatureType.PIT, pitPercentage);
+    return new MazeSpec(6, 7, 5, 0, playerCount, percentData, 3, 0, 0, 0);
+  }
+
+  private static void assertSameStats(SimulationStats expected, SimulationStats actual) {
+    Assert.assertEquals(expected.getGameCount(), actual.getGameCount());
+    for (GameOutcome outcome : GameOutcome.values()) {
+      Assert.assertEquals(expected.getOutcomeCount(outcome), actual.getOutcomeCount(outcome));
+    }
+    Assert.assertEquals(expected.getTurnCount(), actual.getTurnCount());
+    Assert.assertEquals(expected.getBatDropCount(), actual.getBatDropCount());
+  }
+
+  @Test
+  public void testSameStatsOnAnyPool() {
+    GameSimulator simulator = new GameSimulator(getConfiguration(20, 10, 1),
+        SensingAgentPolicy::new, 200);
+    ForkJoinPool singleThread = new ForkJoinPool(1);
+    ForkJoinPool fourThreads = new ForkJoinPool(4);
+    try {
+      assertSameStats(simulator.simulate(1, 1000, singleThread),
+              simulator.simulate(1, 1000, fourThreads));
+    } finally {
+      singleThread.shutdown();
+      fourThreads.shutdown();
+    }
+  }
+
+  @Test
+  public void testOutcomesAddUp() {
+    GameSimulator simulator = new GameSimulator(getConfiguration(30, 15, 1),
+        () -> new RandomAgentPolicy(10), 100);
+    SimulationStats stats = simulator.simulate(42, 600);
+    long games = 0;
+    for (GameOutcome outcome : GameOutcome.values()) {
+      games += stats.getOutcomeCount(outcome);
+    }
+    Assert.assertEquals(600, stats.getGameCount());
+    Assert.assertEquals(600, games);
+    Assert.assertTrue(stats.getBatDropCount() > 0);
+    Assert.assertTrue(stats.getOutcomeCount(GameOutcome.KILLED_BY_PIT) > 0);
+    Assert.assertTrue(stats.getGamesPerSecond() > 0);
+  }
+
+  @Test
+  public void testSameGameForSameSeed() {
+    GameSimulator simulator = new GameSimulator(getConfiguration(20, 10, 1),
+        SensingAgentPolicy::new, 200);
+    for (long seed = 0; seed < 20; seed++) {
+      GameResult first = simulator.playGame(seed);
+      GameResult second = simulator.playGame(seed);
+      Assert.assertEquals(first.getOutcome(), second.getOutcome());
+      Assert.assertEquals(first.getTurns(), second.getTurns());
+      Assert.assertEquals(first.getBatDrops(), second.getBatDrops());
+    }
+  }
+
+  @Test
+  public void testNoPitsOrBats() {
+    GameSimulator simulator = new GameSimulator(getConfiguration(0, 0, 1),
+        SensingAgentPolicy::new, 500);
+    SimulationStats stats = simulator.simulate(7, 300);
+    Assert.assertEquals(0, stats.getOutcomeCount(GameOutcome.KILLED_BY_PIT));
+    Assert.assertEquals(0, stats.getBatDropCount());
+    Assert.assertTrue(stats.getWinRate() > 0);
+  }
+
+  @Test
+  public void testMoreThanOnePlayer() {
+    expect.expect(IllegalArgumentException.class);
+    expect.expectMessage("Simulated games are played by a single player");
+    new GameSimulator(getConfiguration(20, 10, 2), SensingAgentPolicy::new, 200);
+  }
+
+  @Test
+  public void testInvalidShootPercentage() {
+    expect.expect(IllegalArgumentException.class);
+    expect.expectMessage("Shoot percentage is not between 0 and 100");
+    new RandomAgentPolicy(101);
+  }
+}
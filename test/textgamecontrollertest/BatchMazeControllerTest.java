@@ -0,0 +1,108 @@
+package textgamecontrollertest;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import gamemodel.GameModel;
+import gamemodel.IGameModel;
+import textgamecontroller.BatchMazeController;
+
+/**
+ * Unit tests the functionality present in {@link BatchMazeController} class.
+ */
+public class BatchMazeControllerTest {
+
+  private static final String SCRIPT = "seed 42   # same maze every run\n"
+          + "5 6 4 0 1\n"
+          + "10 20     # pits, bats\n"
+          + "3\n"
+          + "n\n"
+          + "m East m South x m North s West 2 m West m East m South m North\n";
+
+  @Rule
+  public final ExpectedException expect = ExpectedException.none();
+
+  private static String play(String script, StringBuilder turnLog, IGameModel model)
+          throws IOException {
+    StringBuilder output = new StringBuilder();
+    new BatchMazeController(new BufferedReader(new StringReader(script)), output, turnLog,
+            model).start();
+    return output.toString();
+  }
+
+  @Test
+  public void testSameSeedSameGame() throws IOException {
+    StringBuilder firstTurns = new StringBuilder();
+    StringBuilder secondTurns = new StringBuilder();
+    String[] first = play(SCRIPT, firstTurns, new GameModel()).split("\n");
+    String[] second = play(SCRIPT, secondTurns, new GameModel()).split("\n");
+    Assert.assertEquals(firstTurns.toString(), secondTurns.toString());
+    Assert.assertEquals(4, first.length);
+    for (int ii = 0; ii < first.length - 1; ii++) {
+      Assert.assertEquals(first[ii], second[ii]);
+    }
+    Assert.assertEquals("Seed: 42", first[1]);
+    Assert.assertTrue(first[3].startsWith("Time: "));
+  }
+
+  @Test
+  public void testTurnsWritten() throws IOException {
+    StringBuilder turnLog = new StringBuilder();
+    String summary = play(SCRIPT, turnLog, new GameModel());
+    String[] turns = turnLog.toString().split("\n");
+    Assert.assertEquals("turn,player,action,direction,power,x,y,result,message", turns[0]);
+    Assert.assertEquals(10, turns.length);
+    Assert.assertTrue(turns[3].startsWith("3,1,x,,,"));
+    Assert.assertTrue(turns[3].endsWith(",rejected,\"Unknown option entered: x\""));
+    Assert.assertTrue(turns[5].startsWith("5,1,s,West,2,"));
+    Assert.assertTrue(summary.contains("\nTurns: 9, moves: "));
+  }
+
+  @Test
+  public void testTableShownAtTheEnd() throws IOException {
+    IGameModel model = new GameModel();
+    String summary = play(SCRIPT.replace("\nn\n", "\nY\n"), null, model);
+    Assert.assertTrue(summary.contains(" ms\n" + model.printMaze(true) + "\n"));
+  }
+
+  @Test
+  public void testGameEndsWithFirstKill() throws IOException {
+    String summary = play("seed 7 4 4 0 0 1 0 0 1 n "
+            + "s North 1 s East 1 s South 1 s West 1 m North", null, new GameModel());
+    Assert.assertTrue(summary.startsWith("Player 1 "));
+    Assert.assertTrue(summary.contains(", moves: 0, shots: 1, "));
+  }
+
+  @Test
+  public void testScriptWithoutNumber() throws IOException {
+    expect.expect(IOException.class);
+    expect.expectMessage("Expected the number of columns on line 1 of the batch script, "
+            + "found three");
+    play("seed 1 3 three", null, new GameModel());
+  }
+
+  @Test
+  public void testScriptEndsEarly() throws IOException {
+    expect.expect(IOException.class);
+    expect.expectMessage("The batch script ends before the number of internal walls");
+    play("3\n3\n", null, new GameModel());
+  }
+
+  @Test
+  public void testInvalidMaze() throws IOException {
+    expect.expect(IOException.class);
+    expect.expectMessage("Invalid maze in the batch script");
+    play("3 3 100 0 1 10 10 3 n", null, new GameModel());
+  }
+
+  @Test
+  public void testNullScript() {
+    expect.expect(IllegalArgumentException.class);
+    expect.expectMessage("Script, output and model can't be null");
+    new BatchMazeController(null, new StringBuilder(), null, new GameModel());
+  }
+}